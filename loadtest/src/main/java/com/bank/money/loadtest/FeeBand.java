@@ -0,0 +1,85 @@
+package com.bank.money.loadtest;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount and schedule-date ranges matching the service's fee strategies.
+ * <p>
+ * Each band mirrors one {@code FeeStrategy} of the service, so a payload drawn from a band
+ * is priced by that strategy. The weights give the default share of each band in the
+ * generated traffic: mostly small same-day and no-fee transfers, with a tail of large
+ * transfers scheduled weeks or months ahead.
+ * </p>
+ */
+public enum FeeBand {
+
+    /** {@code SameDayFeeStrategy}: up to $1,000, same day. */
+    SAME_DAY("1.00", "1000.00", 0, 0, 25),
+
+    /** {@code ShortTermFeeStrategy}: $1,000 to $2,000, 1-10 days ahead. */
+    SHORT_TERM("1000.01", "2000.00", 1, 10, 20),
+
+    /** {@code MediumTermFeeStrategy}: over $2,000, 11-20 days ahead. */
+    MEDIUM_TERM("2000.01", "50000.00", 11, 20, 10),
+
+    /** {@code LongTermFeeStrategy}: over $2,000, 21-30 days ahead. */
+    LONG_TERM("2000.01", "50000.00", 21, 30, 10),
+
+    /** {@code ExtraLongTermFeeStrategy}: over $2,000, 31-40 days ahead. */
+    EXTRA_LONG_TERM("2000.01", "50000.00", 31, 40, 8),
+
+    /** {@code VeryLongTermFeeStrategy}: over $2,000, more than 40 days ahead. */
+    VERY_LONG_TERM("2000.01", "50000.00", 41, 365, 7),
+
+    /** {@code NoFeeStrategy}: up to $1,000 scheduled ahead, which no other rule prices. */
+    NO_FEE("1.00", "1000.00", 1, 60, 20);
+
+    private final BigDecimal minAmount;
+    private final BigDecimal maxAmount;
+    private final int minDays;
+    private final int maxDays;
+    private final int weight;
+
+    FeeBand(String minAmount, String maxAmount, int minDays, int maxDays, int weight) {
+        this.minAmount = new BigDecimal(minAmount);
+        this.maxAmount = new BigDecimal(maxAmount);
+        this.minDays = minDays;
+        this.maxDays = maxDays;
+        this.weight = weight;
+    }
+
+    /**
+     * @return the smallest amount in the band, inclusive
+     */
+    public BigDecimal minAmount() {
+        return minAmount;
+    }
+
+    /**
+     * @return the largest amount in the band, inclusive
+     */
+    public BigDecimal maxAmount() {
+        return maxAmount;
+    }
+
+    /**
+     * @return the smallest number of days ahead, inclusive
+     */
+    public int minDays() {
+        return minDays;
+    }
+
+    /**
+     * @return the largest number of days ahead, inclusive
+     */
+    public int maxDays() {
+        return maxDays;
+    }
+
+    /**
+     * @return the default share of the band in generated traffic
+     */
+    public int weight() {
+        return weight;
+    }
+}
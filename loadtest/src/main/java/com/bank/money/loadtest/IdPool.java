@@ -0,0 +1,77 @@
+package com.bank.money.loadtest;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, bounded pool of transaction IDs known to exist on the server.
+ * <p>
+ * Created IDs overwrite the oldest slot of a ring, so the pool always holds the most
+ * recent ones. Reads pick a random slot; deletes take the ID out of its slot so that
+ * it is not requested again.
+ * </p>
+ */
+public final class IdPool {
+
+    private static final long EMPTY = 0;
+    private static final int PROBES = 8;
+
+    private final AtomicLongArray slots;
+    private final AtomicLong next = new AtomicLong();
+
+    /**
+     * Constructs a new IdPool.
+     *
+     * @param capacity the number of IDs kept
+     */
+    public IdPool(int capacity) {
+        this.slots = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * Adds an ID, evicting the oldest one when the pool is full.
+     *
+     * @param id a positive transaction ID
+     */
+    public void add(long id) {
+        slots.set((int) (next.getAndIncrement() % slots.length()), id);
+    }
+
+    /**
+     * Returns a random known ID without removing it.
+     *
+     * @param random the random source
+     * @return an ID, or 0 if none was found
+     */
+    public long peek(SplittableRandom random) {
+        for (int i = 0; i < PROBES; i++) {
+            long id = slots.get(random.nextInt(filled()));
+            if (id != EMPTY) {
+                return id;
+            }
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Removes and returns a random known ID.
+     *
+     * @param random the random source
+     * @return an ID, or 0 if none was found
+     */
+    public long take(SplittableRandom random) {
+        for (int i = 0; i < PROBES; i++) {
+            int slot = random.nextInt(filled());
+            long id = slots.get(slot);
+            if (id != EMPTY && slots.compareAndSet(slot, id, EMPTY)) {
+                return id;
+            }
+        }
+        return EMPTY;
+    }
+
+    private int filled() {
+        return (int) Math.max(1, Math.min(next.get(), slots.length()));
+    }
+}
@@ -0,0 +1,191 @@
+package com.bank.money.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-model load generator for the transaction API.
+ * <p>
+ * Arrivals follow a Poisson process at the configured rate: the gap before each request
+ * is drawn from an exponential distribution and requests are sent at their intended
+ * time whether or not earlier ones have completed, as independent clients would. The
+ * operation of each arrival is drawn from the configured mix. Reads, updates and deletes
+ * target IDs returned by earlier creates (or listed before the run starts).
+ * </p>
+ * <p>
+ * All randomness comes from one seeded generator used by the dispatching thread, so two
+ * runs with the same seed send the same sequence of operations and payloads.
+ * </p>
+ */
+public final class LoadGenerator {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final String JSON = "application/json";
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final SplittableRandom random;
+    private final PayloadGenerator payloads;
+    private final IdPool ids = new IdPool(100_000);
+    private final Semaphore inFlight;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final URI transactions;
+
+    /**
+     * Constructs a new LoadGenerator.
+     *
+     * @param config the run configuration
+     */
+    public LoadGenerator(LoadTestConfig config) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.timeout())
+                .build();
+        this.random = new SplittableRandom(config.seed());
+        this.payloads = new PayloadGenerator(random.split(), config.accounts());
+        this.inFlight = new Semaphore(config.maxInFlight());
+        this.transactions = URI.create(config.baseUrl() + "/api/transactions");
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+    }
+
+    /**
+     * Runs the warm-up and the measured period, then waits for outstanding requests.
+     *
+     * @return the statistics of the measured period, per operation
+     * @throws InterruptedException if the run is interrupted
+     */
+    public Map<Operation, OperationStats> run() throws InterruptedException {
+        seedIds();
+
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        double intended = start;
+
+        while (true) {
+            intended += -Math.log(1.0 - random.nextDouble()) * meanGapNanos;
+            long sendAt = (long) intended;
+            if (sendAt >= end) {
+                break;
+            }
+            sleepUntil(sendAt);
+            dispatch(config.mix().next(random), sendAt, sendAt >= measureFrom);
+        }
+
+        if (!inFlight.tryAcquire(config.maxInFlight(), config.timeout().toMillis() * 2, TimeUnit.MILLISECONDS)) {
+            System.err.println("Some requests were still outstanding at the end of the run");
+        }
+        return stats;
+    }
+
+    /**
+     * Fills the ID pool from the current contents of the service, so that read-heavy
+     * mixes have something to read from the first request on.
+     */
+    private void seedIds() throws InterruptedException {
+        try {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(transactions).timeout(config.timeout()).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = ID.matcher(response.body());
+            while (matcher.find()) {
+                ids.add(Long.parseLong(matcher.group(1)));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Service not reachable at " + config.baseUrl(), e);
+        }
+    }
+
+    private void dispatch(Operation operation, long intendedNanos, boolean measured) {
+        OperationStats operationStats = stats.get(operation);
+        HttpRequest request = buildRequest(operation);
+        if (request == null) {
+            // No known ID yet: turn the arrival into a create so the rate is preserved.
+            dispatch(Operation.CREATE, intendedNanos, measured);
+            return;
+        }
+        if (!inFlight.tryAcquire()) {
+            if (measured) {
+                operationStats.recordRejected();
+            }
+            return;
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            try {
+                long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNanos);
+                boolean ok = error == null && response.statusCode() / 100 == 2;
+                if (ok && operation == Operation.CREATE) {
+                    Matcher matcher = ID.matcher(response.body());
+                    if (matcher.find()) {
+                        ids.add(Long.parseLong(matcher.group(1)));
+                    }
+                }
+                if (measured) {
+                    if (ok) {
+                        operationStats.recordSuccess(latencyMicros);
+                    } else {
+                        operationStats.recordFailure(latencyMicros);
+                    }
+                }
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private HttpRequest buildRequest(Operation operation) {
+        LocalDate today = LocalDate.now(config.zone());
+        return switch (operation) {
+            case CREATE -> HttpRequest.newBuilder(transactions)
+                    .timeout(config.timeout())
+                    .header("Content-Type", JSON)
+                    .POST(HttpRequest.BodyPublishers.ofString(payloads.next(today).toJson()))
+                    .build();
+            case LIST -> HttpRequest.newBuilder(transactions)
+                    .timeout(config.timeout())
+                    .GET()
+                    .build();
+            case GET -> withId(ids.peek(random), uri -> HttpRequest.newBuilder(uri)
+                    .timeout(config.timeout())
+                    .GET()
+                    .build());
+            case UPDATE -> withId(ids.peek(random), uri -> HttpRequest.newBuilder(uri)
+                    .timeout(config.timeout())
+                    .header("Content-Type", JSON)
+                    .PUT(HttpRequest.BodyPublishers.ofString(payloads.next(today).toJson()))
+                    .build());
+            case DELETE -> withId(ids.take(random), uri -> HttpRequest.newBuilder(uri)
+                    .timeout(config.timeout())
+                    .DELETE()
+                    .build());
+        };
+    }
+
+    private HttpRequest withId(long id, Function<URI, HttpRequest> builder) {
+        return id == 0 ? null : builder.apply(URI.create(transactions + "/" + id));
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
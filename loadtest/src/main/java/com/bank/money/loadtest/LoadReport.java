@@ -0,0 +1,95 @@
+package com.bank.money.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Prints and stores the results of a load test run.
+ * <p>
+ * The summary table shows throughput, error counts and latency percentiles per operation
+ * and for all operations combined. When an output directory is configured, the full
+ * percentile distribution of each operation is written in HdrHistogram's {@code .hgrm}
+ * format (in milliseconds), which can be plotted to compare two releases.
+ * </p>
+ */
+public final class LoadReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private LoadReport() {
+    }
+
+    /**
+     * Prints the summary table.
+     *
+     * @param out the stream to print to
+     * @param config the run configuration
+     * @param stats the statistics per operation
+     */
+    public static void print(PrintStream out, LoadTestConfig config, Map<Operation, OperationStats> stats) {
+        double seconds = config.duration().toMillis() / 1000.0;
+        out.printf("Target %s, %.1f req/s for %s (warm-up %s), mix %s, seed %d%n",
+                config.baseUrl(), config.rate(), config.duration(), config.warmup(), config.mix(), config.seed());
+        out.printf("%-8s %9s %9s %8s %8s %9s %9s %9s %9s %9s%n",
+                "op", "ok", "failed", "rejected", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Histogram total = new Histogram(3);
+        long ok = 0;
+        long failed = 0;
+        long rejected = 0;
+        for (OperationStats operationStats : stats.values()) {
+            Histogram latencies = operationStats.latencies();
+            if (latencies.getTotalCount() == 0 && operationStats.rejected() == 0) {
+                continue;
+            }
+            total.add(latencies);
+            ok += operationStats.succeeded();
+            failed += operationStats.failed();
+            rejected += operationStats.rejected();
+            printRow(out, operationStats.operation().key(), operationStats.succeeded(), operationStats.failed(),
+                    operationStats.rejected(), seconds, latencies);
+        }
+        printRow(out, "all", ok, failed, rejected, seconds, total);
+    }
+
+    /**
+     * Writes one {@code .hgrm} percentile distribution file per operation.
+     *
+     * @param directory the directory to write to, created if missing
+     * @param stats the statistics per operation
+     * @throws IOException if a file cannot be written
+     */
+    public static void writeHistograms(Path directory, Map<Operation, OperationStats> stats) throws IOException {
+        Files.createDirectories(directory);
+        for (OperationStats operationStats : stats.values()) {
+            Histogram latencies = operationStats.latencies();
+            if (latencies.getTotalCount() == 0) {
+                continue;
+            }
+            Path file = directory.resolve(operationStats.operation().key() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                latencies.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, long ok, long failed, long rejected,
+                                 double seconds, Histogram latencies) {
+        out.printf("%-8s %9d %9d %8d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, ok, failed, rejected, (ok + failed) / seconds,
+                millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
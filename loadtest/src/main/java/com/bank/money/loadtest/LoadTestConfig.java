@@ -0,0 +1,131 @@
+package com.bank.money.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line configuration of a load test run.
+ * <p>
+ * Options are given as {@code --name=value}; every option has a default:
+ * </p>
+ * <ul>
+ *   <li>{@code --base-url} (http://localhost:8080) - service under test</li>
+ *   <li>{@code --rate} (100) - mean arrival rate in requests per second</li>
+ *   <li>{@code --duration} (60s) - measured duration, after the warm-up</li>
+ *   <li>{@code --warmup} (10s) - initial period whose latencies are not recorded</li>
+ *   <li>{@code --mix} (create=30,get=40,update=10,delete=5,list=15) - operation weights</li>
+ *   <li>{@code --accounts} (1000) - number of distinct account numbers; the busiest one originates
+ *       about {@code 1/sqrt(accounts)} of all creates</li>
+ *   <li>{@code --max-in-flight} (1000) - requests outstanding before new arrivals are counted as rejected</li>
+ *   <li>{@code --timeout} (10s) - per-request timeout</li>
+ *   <li>{@code --seed} (42) - random seed, so two runs replay the same request sequence</li>
+ *   <li>{@code --zone} (JVM default timezone) - timezone of the business date that schedule dates are
+ *       drawn from; must match the service's {@code money.business.zone}, whose blank default is also
+ *       the JVM default timezone</li>
+ *   <li>{@code --output} (none) - directory for HdrHistogram percentile files, one per operation</li>
+ * </ul>
+ *
+ * @param baseUrl the base URL of the service
+ * @param rate the mean arrival rate in requests per second
+ * @param duration the measured duration
+ * @param warmup the warm-up duration
+ * @param mix the operation mix
+ * @param accounts the number of distinct account numbers
+ * @param maxInFlight the maximum number of outstanding requests
+ * @param timeout the per-request timeout
+ * @param seed the random seed
+ * @param zone the timezone of the service's business date
+ * @param output the directory for histogram files, or null
+ */
+public record LoadTestConfig(URI baseUrl, double rate, Duration duration, Duration warmup, OperationMix mix,
+                             int accounts, int maxInFlight, Duration timeout, long seed, ZoneId zone,
+                             Path output) {
+
+    /**
+     * Parses command-line arguments.
+     *
+     * @param args the arguments, each of the form {@code --name=value}
+     * @return the configuration
+     * @throws IllegalArgumentException if an argument is malformed or unknown
+     */
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Malformed argument '" + arg + "', expected --name=value");
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadTestConfig config = new LoadTestConfig(
+                URI.create(stripTrailingSlash(take(options, "base-url", "http://localhost:8080"))),
+                Double.parseDouble(take(options, "rate", "100")),
+                parseDuration(take(options, "duration", "60s")),
+                parseDuration(take(options, "warmup", "10s")),
+                OperationMix.parse(take(options, "mix", "create=30,get=40,update=10,delete=5,list=15")),
+                Integer.parseInt(take(options, "accounts", "1000")),
+                Integer.parseInt(take(options, "max-in-flight", "1000")),
+                parseDuration(take(options, "timeout", "10s")),
+                Long.parseLong(take(options, "seed", "42")),
+                parseZone(take(options, "zone", "")),
+                options.containsKey("output") ? Path.of(take(options, "output", null)) : null);
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + options.keySet());
+        }
+        if (config.rate() <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        return config;
+    }
+
+    /**
+     * Parses a duration such as {@code 500ms}, {@code 30s}, {@code 5m} or an ISO-8601 duration.
+     *
+     * @param text the duration text
+     * @return the parsed duration
+     */
+    static Duration parseDuration(String text) {
+        String value = text.trim().toLowerCase();
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(text.trim().toUpperCase());
+    }
+
+    /**
+     * Parses a timezone ID such as {@code UTC} or {@code Europe/Lisbon}; blank means the JVM default.
+     *
+     * @param text the timezone ID
+     * @return the parsed timezone
+     */
+    static ZoneId parseZone(String text) {
+        if (text.isBlank()) {
+            return ZoneId.systemDefault();
+        }
+        try {
+            return ZoneId.of(text.trim());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("--zone must be a timezone ID, got '" + text + "'", e);
+        }
+    }
+
+    private static String take(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
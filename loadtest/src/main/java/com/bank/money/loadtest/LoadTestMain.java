@@ -0,0 +1,40 @@
+package com.bank.money.loadtest;
+
+import java.util.Map;
+
+/**
+ * Command-line entry point of the load generator.
+ * <p>
+ * Example, against a service running locally with the {@code loadtest} Spring profile, which
+ * switches off the per-account velocity limits the busy accounts of the generator would exceed:
+ * </p>
+ * <pre>
+ * mvn spring-boot:run -Dspring-boot.run.profiles=loadtest &amp;
+ * mvn -f loadtest/pom.xml compile exec:java \
+ *     -Dexec.args="--rate=200 --duration=2m --mix=create=20,get=60,update=10,delete=5,list=5 --output=target/run-1"
+ * </pre>
+ * <p>
+ * See {@link LoadTestConfig} for all options.
+ * </p>
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    /**
+     * Runs a load test and prints its report.
+     *
+     * @param args the options, each of the form {@code --name=value}
+     * @throws Exception if the run fails
+     */
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        Map<Operation, OperationStats> stats = new LoadGenerator(config).run();
+        LoadReport.print(System.out, config, stats);
+        if (config.output() != null) {
+            LoadReport.writeHistograms(config.output(), stats);
+            System.out.println("Histograms written to " + config.output().toAbsolutePath());
+        }
+    }
+}
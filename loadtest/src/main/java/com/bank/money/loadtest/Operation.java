@@ -0,0 +1,68 @@
+package com.bank.money.loadtest;
+
+/**
+ * Requests replayed by the load generator.
+ * <p>
+ * Each operation corresponds to one request of the {@code Bruno/Money} collection and
+ * targets the same endpoint with the same kind of payload.
+ * </p>
+ */
+public enum Operation {
+
+    /** {@code POST /api/transactions} ("Create Transaction"). */
+    CREATE("create", "Create Transaction"),
+
+    /** {@code GET /api/transactions/{id}} ("Get by Id"). */
+    GET("get", "Get by Id"),
+
+    /** {@code PUT /api/transactions/{id}} ("Update a scheduled transaction"). */
+    UPDATE("update", "Update a scheduled transaction"),
+
+    /** {@code DELETE /api/transactions/{id}} ("Delete a scheduled transaction"). */
+    DELETE("delete", "Delete a scheduled transaction"),
+
+    /** {@code GET /api/transactions} ("Get All Transactions"). */
+    LIST("list", "Get All Transactions");
+
+    private final String key;
+    private final String brunoRequest;
+
+    Operation(String key, String brunoRequest) {
+        this.key = key;
+        this.brunoRequest = brunoRequest;
+    }
+
+    /**
+     * Returns the short name used on the command line and in reports.
+     *
+     * @return the operation key
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Returns the name of the Bruno request this operation replays.
+     *
+     * @return the Bruno request name
+     */
+    public String brunoRequest() {
+        return brunoRequest;
+    }
+
+    /**
+     * Looks up an operation by its short name.
+     *
+     * @param key the operation key
+     * @return the matching operation
+     * @throws IllegalArgumentException if no operation has that key
+     */
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "'");
+    }
+}
@@ -0,0 +1,82 @@
+package com.bank.money.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted mix of operations, e.g. {@code create=30,get=40,update=10,delete=5,list=15}.
+ */
+public final class OperationMix {
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        this.operations = weights.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Operation mix must have a positive total weight");
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * Parses a mix of the form {@code op=weight,op=weight}.
+     *
+     * @param spec the mix specification
+     * @return the parsed mix
+     * @throws IllegalArgumentException if the specification is malformed
+     */
+    public static OperationMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] keyValue = part.trim().split("=");
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Malformed mix entry '" + part + "', expected op=weight");
+            }
+            int weight = Integer.parseInt(keyValue[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for '" + keyValue[0] + "'");
+            }
+            weights.merge(Operation.fromKey(keyValue[0].trim()), weight, Integer::sum);
+        }
+        return new OperationMix(weights);
+    }
+
+    /**
+     * Draws the next operation.
+     *
+     * @param random the random source
+     * @return an operation, chosen with probability proportional to its weight
+     */
+    public Operation next(SplittableRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        int previous = 0;
+        for (int i = 0; i < operations.length; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(operations[i].key()).append('=').append(cumulativeWeights[i] - previous);
+            previous = cumulativeWeights[i];
+        }
+        return text.toString();
+    }
+}
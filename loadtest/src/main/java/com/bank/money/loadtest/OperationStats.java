@@ -0,0 +1,81 @@
+package com.bank.money.loadtest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histogram and outcome counters of one operation.
+ * <p>
+ * Latencies are recorded in microseconds, measured from the intended start time of the
+ * request, so that queueing delay inside the generator or the service is not hidden
+ * (no coordinated omission).
+ * </p>
+ */
+public final class OperationStats {
+
+    private final Operation operation;
+    private final ConcurrentHistogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructs new, empty statistics.
+     *
+     * @param operation the operation being measured
+     */
+    public OperationStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    void recordSuccess(long latencyMicros) {
+        latencies.recordValue(latencyMicros);
+        succeeded.increment();
+    }
+
+    void recordFailure(long latencyMicros) {
+        latencies.recordValue(latencyMicros);
+        failed.increment();
+    }
+
+    void recordRejected() {
+        rejected.increment();
+    }
+
+    /**
+     * @return the operation being measured
+     */
+    public Operation operation() {
+        return operation;
+    }
+
+    /**
+     * @return a snapshot of the latency histogram, in microseconds
+     */
+    public Histogram latencies() {
+        return latencies.copy();
+    }
+
+    /**
+     * @return the number of requests answered with a 2xx status
+     */
+    public long succeeded() {
+        return succeeded.sum();
+    }
+
+    /**
+     * @return the number of requests answered with another status or that failed
+     */
+    public long failed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return the number of arrivals not sent because too many requests were outstanding
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+}
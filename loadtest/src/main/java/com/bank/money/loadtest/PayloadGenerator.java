@@ -0,0 +1,106 @@
+package com.bank.money.loadtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Generates transaction payloads with realistic amounts, schedule dates and accounts.
+ * <p>
+ * A {@link FeeBand} is drawn first according to its weight, then the schedule date is
+ * drawn uniformly within the band's day range and the amount log-uniformly within its
+ * amount range (small amounts are more common than large ones, as in real traffic).
+ * Account numbers are skewed so that a few busy accounts originate most transfers.
+ * </p>
+ */
+public final class PayloadGenerator {
+
+    private static final FeeBand[] BANDS = FeeBand.values();
+
+    private final SplittableRandom random;
+    private final int accounts;
+    private final int totalWeight;
+
+    /**
+     * Constructs a new PayloadGenerator.
+     *
+     * @param random the random source
+     * @param accounts the number of distinct account numbers to draw from
+     */
+    public PayloadGenerator(SplittableRandom random, int accounts) {
+        this.random = random;
+        this.accounts = accounts;
+        int total = 0;
+        for (FeeBand band : BANDS) {
+            total += band.weight();
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * Draws the next payload.
+     *
+     * @param today the date the service will consider as today
+     * @return a payload targeting one of the fee bands
+     */
+    public TransactionPayload next(LocalDate today) {
+        FeeBand band = nextBand();
+        int days = band.minDays() + random.nextInt(band.maxDays() - band.minDays() + 1);
+        String origin = nextAccount();
+        String destination = nextAccount();
+        while (destination.equals(origin)) {
+            destination = nextAccount();
+        }
+        return new TransactionPayload(origin, destination, today.plusDays(days), nextAmount(band), band);
+    }
+
+    private FeeBand nextBand() {
+        int ticket = random.nextInt(totalWeight);
+        for (FeeBand band : BANDS) {
+            ticket -= band.weight();
+            if (ticket < 0) {
+                return band;
+            }
+        }
+        return BANDS[BANDS.length - 1];
+    }
+
+    private BigDecimal nextAmount(FeeBand band) {
+        double min = Math.log(band.minAmount().doubleValue());
+        double max = Math.log(band.maxAmount().doubleValue());
+        BigDecimal amount = BigDecimal.valueOf(Math.exp(min + random.nextDouble() * (max - min)))
+                .setScale(2, RoundingMode.HALF_UP);
+        return amount.max(band.minAmount()).min(band.maxAmount());
+    }
+
+    private String nextAccount() {
+        double skewed = Math.pow(random.nextDouble(), 2);
+        return String.valueOf(100_000_000 + (int) (skewed * accounts));
+    }
+
+    /**
+     * Body of a create or update request.
+     *
+     * @param accountOrigin the origin account number
+     * @param accountDestination the destination account number
+     * @param scheduleDate the schedule date
+     * @param amount the amount
+     * @param band the fee band the payload was drawn from
+     */
+    public record TransactionPayload(String accountOrigin, String accountDestination, LocalDate scheduleDate,
+                                     BigDecimal amount, FeeBand band) {
+
+        /**
+         * Renders the payload as the JSON body expected by the API.
+         *
+         * @return the JSON body
+         */
+        public String toJson() {
+            return "{\"accountOrigin\":\"" + accountOrigin
+                    + "\",\"accountDestination\":\"" + accountDestination
+                    + "\",\"scheduleDate\":\"" + scheduleDate
+                    + "\",\"amount\":" + amount.toPlainString() + "}";
+        }
+    }
+}
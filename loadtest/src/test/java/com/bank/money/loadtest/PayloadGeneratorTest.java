@@ -0,0 +1,67 @@
+package com.bank.money.loadtest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class PayloadGeneratorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 21);
+
+    @Test
+    void shouldHitEveryFeeBandWithinItsBounds() {
+        PayloadGenerator generator = new PayloadGenerator(new SplittableRandom(1), 100);
+        Set<FeeBand> seen = EnumSet.noneOf(FeeBand.class);
+
+        for (int i = 0; i < 10_000; i++) {
+            PayloadGenerator.TransactionPayload payload = generator.next(TODAY);
+            FeeBand band = payload.band();
+            long days = ChronoUnit.DAYS.between(TODAY, payload.scheduleDate());
+
+            assertTrue(days >= band.minDays() && days <= band.maxDays(), "days out of band " + band);
+            assertTrue(payload.amount().compareTo(band.minAmount()) >= 0
+                    && payload.amount().compareTo(band.maxAmount()) <= 0, "amount out of band " + band);
+            assertNotEquals(payload.accountOrigin(), payload.accountDestination());
+            seen.add(band);
+        }
+
+        assertEquals(EnumSet.allOf(FeeBand.class), seen);
+    }
+
+    @Test
+    void shouldReplaySameSequenceForSameSeed() {
+        PayloadGenerator first = new PayloadGenerator(new SplittableRandom(7), 100);
+        PayloadGenerator second = new PayloadGenerator(new SplittableRandom(7), 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.next(TODAY), second.next(TODAY));
+        }
+    }
+
+    @Test
+    void shouldRenderJsonBody() {
+        PayloadGenerator.TransactionPayload payload = new PayloadGenerator.TransactionPayload(
+                "123456789", "987654321", TODAY, new BigDecimal("500.00"), FeeBand.SAME_DAY);
+
+        assertEquals("{\"accountOrigin\":\"123456789\",\"accountDestination\":\"987654321\","
+                + "\"scheduleDate\":\"2026-01-21\",\"amount\":500.00}", payload.toJson());
+    }
+
+    @Test
+    void shouldParseOperationMix() {
+        OperationMix mix = OperationMix.parse("create=1,list=0");
+        SplittableRandom random = new SplittableRandom(3);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Operation.CREATE, mix.next(random));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+#!/usr/bin/env bash
+#
+# Measures cold-start time and first-request latency of the Money service in
+# three configurations:
+#
+#   baseline   java -jar on the regular build
+#   aot        Spring AOT + fast-start profile (lazy init, quiet SQL logging)
+#   aot-cds    as above, plus an AppCDS archive trained on the same artifact
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+#
+# Requires JDK 21, curl and unzip. Set MVN to use a Maven other than ./mvnw.
+# Results are printed as a table and written to target/startup-benchmark.csv.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+# Outside target/ because each build runs "mvn clean".
+WORK="$(mktemp -d)"
+trap 'rm -rf "$WORK"' EXIT
+URL="http://localhost:$PORT/api/transactions"
+MVN="${MVN:-./mvnw}"
+
+cd "$ROOT"
+
+build() {
+    local name="$1"; shift
+    "$MVN" -B -q -DskipTests "$@" clean package
+    mkdir -p "$WORK/$name"
+    cp target/money-*.jar "$WORK/$name/app.jar"
+    # Explode the jar so the JVM sees a plain classpath, which AppCDS needs. CDS
+    # only archives classes loaded from jars, so the application classes are
+    # repacked into one.
+    (cd "$WORK/$name" && unzip -q app.jar -d app && jar cf app/application.jar -C app/BOOT-INF/classes .)
+}
+
+classpath() {
+    local dir="$1"
+    # Sorted so the classpath is identical between the training and measured runs.
+    echo -n "$dir/app/application.jar"
+    find "$dir/app/BOOT-INF/lib" -name '*.jar' | sort | while read -r jar; do echo -n ":$jar"; done
+}
+
+# Starts the application, waits for the first successful response and prints
+# "<startup seconds> <first request seconds>".
+measure() {
+    local log="$1"; shift
+    local start end first
+    start=$(date +%s.%N)
+    java "$@" --server.port="$PORT" > "$log" 2>&1 &
+    local pid=$!
+    until curl -s -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "application exited during startup, see $log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    end=$(date +%s.%N)
+    first=$(grep -o 'Started MoneyApplication in [0-9.]* seconds' "$log" | grep -o '[0-9.]*' | head -1)
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$first $(awk -v s="$start" -v e="$end" 'BEGIN { printf "%.3f", e - s }')"
+}
+
+# The first request is timed separately so its latency is not hidden by the
+# polling loop above.
+first_request() {
+    local log="$1"; shift
+    java "$@" --server.port="$PORT" > "$log" 2>&1 &
+    local pid=$!
+    until grep -q 'Started MoneyApplication' "$log"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "application exited during startup, see $log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    local latency
+    latency=$(curl -s -o /dev/null -w '%{time_total}' "$URL")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$latency"
+}
+
+echo "Building baseline artifact..."
+build baseline
+echo "Building AOT artifact..."
+build aot -Pfast-start
+
+BASELINE_CP=$(classpath "$WORK/baseline")
+AOT_CP=$(classpath "$WORK/aot")
+MAIN=com.bank.money.MoneyApplication
+AOT_ARGS=(-Dspring.aot.enabled=true -cp "$AOT_CP" "$MAIN" --spring.profiles.active=fast-start)
+
+echo "Training AppCDS archive..."
+java -XX:ArchiveClassesAtExit="$WORK/aot/app.jsa" -Dspring.context.exit=onRefresh \
+    "${AOT_ARGS[@]}" > "$WORK/aot/training.log" 2>&1
+
+declare -A CONFIGS=(
+    [baseline]="-cp $BASELINE_CP $MAIN"
+    [aot]="${AOT_ARGS[*]}"
+    [aot-cds]="-XX:SharedArchiveFile=$WORK/aot/app.jsa ${AOT_ARGS[*]}"
+)
+
+echo "config,run,spring_startup_s,until_first_response_s,first_request_s" > "$WORK/results.csv"
+for config in baseline aot aot-cds; do
+    read -r -a args <<< "${CONFIGS[$config]}"
+    for run in $(seq 1 "$RUNS"); do
+        read -r startup ready <<< "$(measure "$WORK/$config-$run.log" "${args[@]}")"
+        latency=$(first_request "$WORK/$config-$run-request.log" "${args[@]}")
+        echo "$config,$run,$startup,$ready,$latency" >> "$WORK/results.csv"
+    done
+done
+
+echo
+printf '%-10s %18s %24s %18s\n' config 'spring startup (s)' 'until first response (s)' 'first request (s)'
+awk -F, 'NR > 1 { s[$1] += $3; r[$1] += $4; l[$1] += $5; n[$1]++ }
+         END { for (c in n) printf "%-10s %18.3f %24.3f %18.3f\n", c, s[c] / n[c], r[c] / n[c], l[c] / n[c] }' \
+    "$WORK/results.csv" | sort
+cp "$WORK/results.csv" "$ROOT/target/startup-benchmark.csv"
+echo
+echo "Raw results: target/startup-benchmark.csv"
@@ -0,0 +1,30 @@
+package com.bank.money.config;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the clock used for business dates.
+ * <p>
+ * The timezone is taken from {@code money.business.zone}; when it is blank the JVM's
+ * default timezone is used.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class ClockConfig {
+
+    /**
+     * Creates the system clock in the business timezone.
+     *
+     * @param zone the business timezone ID, or blank for the system default
+     * @return the clock backing {@link com.bank.money.service.clock.BusinessClock}
+     */
+    @Bean
+    public Clock clock(@Value("${money.business.zone:}") String zone) {
+        return zone.isBlank() ? Clock.systemDefaultZone() : Clock.system(ZoneId.of(zone));
+    }
+}
@@ -0,0 +1,32 @@
+package com.bank.money.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Configuration that keeps the persistence stack eager when lazy initialization is enabled.
+ * <p>
+ * The {@code fast-start} profile turns on {@code spring.main.lazy-initialization} so that
+ * web and service beans are only created when first used. Creating the datasource and the
+ * Hibernate {@link EntityManagerFactory} lazily would move their cost onto the first
+ * {@code /api/transactions} request, so they are excluded and still built during startup.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class LazyInitializationConfig {
+
+    /**
+     * Excludes the datasource and entity manager factory from lazy initialization.
+     *
+     * @return the filter matching the persistence infrastructure beans
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerPersistenceInfrastructure() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class);
+    }
+}
@@ -0,0 +1,29 @@
+package com.bank.money.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.bank.money.service.profiling.RepositoryEventPostProcessor;
+
+/**
+ * Configuration of the Java Flight Recorder instrumentation.
+ * <p>
+ * The application events are always instrumented. As long as no recording is running they
+ * are disabled in the JVM and cost little more than an allocation that is usually optimized
+ * away. Recordings can be started on demand through
+ * {@link com.bank.money.controller.ProfilingController} or externally with {@code jcmd}.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class ProfilingConfig {
+
+    /**
+     * Instruments repository calls with {@link com.bank.money.service.profiling.RepositoryCallEvent}.
+     *
+     * @return the post-processor wrapping repository beans
+     */
+    @Bean
+    static RepositoryEventPostProcessor repositoryEventPostProcessor() {
+        return new RepositoryEventPostProcessor();
+    }
+}
@@ -0,0 +1,39 @@
+package com.bank.money.config;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.bank.money.service.profiling.RequestEvent;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Servlet filter that records a {@link RequestEvent} for every HTTP request.
+ * <p>
+ * The path is the matched handler pattern, e.g. {@code /api/transactions/{id}}, so that
+ * events for the same endpoint can be aggregated.
+ * </p>
+ */
+@Component
+public class RequestEventFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestEvent event = new RequestEvent();
+        event.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            event.commit(request.getMethod(), pattern != null ? pattern.toString() : request.getRequestURI(),
+                    response.getStatus());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.bank.money.controller;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bank.money.dto.BulkCancelRequestDTO;
+import com.bank.money.dto.BulkOperationResultDTO;
+import com.bank.money.dto.BulkRescheduleRequestDTO;
+import com.bank.money.service.bulk.BulkTransactionService;
+
+import jakarta.validation.Valid;
+
+/**
+ * REST controller for bulk operations on the pending transactions of an account.
+ * <p>
+ * Supported operations:
+ * </p>
+ * <ul>
+ *   <li>POST /api/transactions/bulk/reschedule - Shift or set the schedule date of all matching transactions</li>
+ *   <li>POST /api/transactions/bulk/cancel - Cancel all matching transactions</li>
+ * </ul>
+ *
+ */
+@RestController
+@RequestMapping("/api/transactions/bulk")
+public class BulkTransactionController {
+
+    private final BulkTransactionService service;
+
+    /**
+     * Constructs a new BulkTransactionController with the specified service.
+     *
+     * @param service the bulk transaction service
+     */
+    public BulkTransactionController(BulkTransactionService service) {
+        this.service = service;
+    }
+
+    /**
+     * Reschedules the pending transactions of an account within a date range.
+     * <p>
+     * Fees are recalculated for the new schedule dates.
+     * </p>
+     *
+     * @param dto the selection and either the number of days to shift by or the new date
+     * @return the report of the operation
+     */
+    @PostMapping("/reschedule")
+    public BulkOperationResultDTO reschedule(@Valid @RequestBody BulkRescheduleRequestDTO dto) {
+        if (dto.getShiftDays() != null) {
+            return service.shift(dto.getAccountOrigin(), dto.getFrom(), dto.getTo(), dto.getShiftDays());
+        }
+        return service.moveTo(dto.getAccountOrigin(), dto.getFrom(), dto.getTo(), dto.getScheduleDate());
+    }
+
+    /**
+     * Cancels the pending transactions of an account within a date range.
+     *
+     * @param dto the selection
+     * @return the report of the operation
+     */
+    @PostMapping("/cancel")
+    public BulkOperationResultDTO cancel(@Valid @RequestBody BulkCancelRequestDTO dto) {
+        return service.cancel(dto.getAccountOrigin(), dto.getFrom(), dto.getTo());
+    }
+}
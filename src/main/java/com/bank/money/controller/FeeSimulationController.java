@@ -0,0 +1,51 @@
+package com.bank.money.controller;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bank.money.dto.FeeSimulationRequestDTO;
+import com.bank.money.dto.FeeSimulationResultDTO;
+import com.bank.money.service.simulation.FeeRuleSet;
+import com.bank.money.service.simulation.FeeSimulator;
+
+import jakarta.validation.Valid;
+
+/**
+ * REST controller for simulating candidate fee rules over historical transactions.
+ * <p>
+ * Supported operations:
+ * </p>
+ * <ul>
+ *   <li>POST /api/fees/simulations - Price the transactions scheduled in a date range with each candidate rule set</li>
+ * </ul>
+ *
+ */
+@RestController
+@RequestMapping("/api/fees/simulations")
+public class FeeSimulationController {
+
+    private final FeeSimulator simulator;
+
+    /**
+     * Constructs a new FeeSimulationController with the specified simulator.
+     *
+     * @param simulator the fee simulator
+     */
+    public FeeSimulationController(FeeSimulator simulator) {
+        this.simulator = simulator;
+    }
+
+    /**
+     * Runs a fee simulation.
+     *
+     * @param request the date range and the candidate rule sets
+     * @return the revenue of each candidate compared with the fees actually charged
+     */
+    @PostMapping
+    public FeeSimulationResultDTO simulate(@Valid @RequestBody FeeSimulationRequestDTO request) {
+        return simulator.simulate(request.getFrom(), request.getTo(),
+                request.getCandidates().stream().map(FeeRuleSet::of).toList());
+    }
+}
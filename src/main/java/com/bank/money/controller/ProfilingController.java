@@ -0,0 +1,87 @@
+package com.bank.money.controller;
+
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bank.money.dto.RecordingStatusDTO;
+import com.bank.money.service.profiling.ProfilingService;
+import com.bank.money.service.profiling.ProfilingService.Settings;
+
+/**
+ * REST controller for on-demand Java Flight Recorder profiling.
+ * <p>
+ * Only available with {@code money.profiling.enabled=true}. Supported operations:
+ * </p>
+ * <ul>
+ *   <li>GET /api/admin/profiling - Get the state of the current or last recording</li>
+ *   <li>POST /api/admin/profiling/start - Start a bounded recording</li>
+ *   <li>POST /api/admin/profiling/dump - Write the data recorded so far to a file</li>
+ *   <li>POST /api/admin/profiling/stop - Stop the recording and write it to a file</li>
+ * </ul>
+ *
+ */
+@RestController
+@RequestMapping("/api/admin/profiling")
+@ConditionalOnProperty(prefix = "money.profiling", name = "enabled", havingValue = "true")
+public class ProfilingController {
+
+    private final ProfilingService service;
+
+    /**
+     * Constructs a new ProfilingController with the specified service.
+     *
+     * @param service the profiling service
+     */
+    public ProfilingController(ProfilingService service) {
+        this.service = service;
+    }
+
+    /**
+     * Retrieves the state of the current or last recording.
+     *
+     * @return the state of the recording
+     */
+    @GetMapping
+    public RecordingStatusDTO status() {
+        return service.status();
+    }
+
+    /**
+     * Starts a recording.
+     *
+     * @param settings the JFR settings, {@code DEFAULT} or {@code PROFILE}
+     * @param duration the ISO-8601 duration after which the recording stops, e.g. {@code PT2M}
+     * @return the state of the started recording
+     */
+    @PostMapping("/start")
+    public RecordingStatusDTO start(@RequestParam(defaultValue = "DEFAULT") Settings settings,
+                                    @RequestParam(required = false) Duration duration) {
+        return service.start(settings, duration);
+    }
+
+    /**
+     * Writes the data recorded so far to a file, leaving the recording running.
+     *
+     * @return the state of the recording, with the path of the dump
+     */
+    @PostMapping("/dump")
+    public RecordingStatusDTO dump() {
+        return service.dump();
+    }
+
+    /**
+     * Stops the recording and writes it to a file.
+     *
+     * @return the state of the stopped recording
+     */
+    @PostMapping("/stop")
+    public RecordingStatusDTO stop() {
+        return service.stop();
+    }
+}
@@ -0,0 +1,61 @@
+package com.bank.money.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bank.money.dto.PurgeStatusDTO;
+import com.bank.money.service.purge.TransactionPurger;
+
+/**
+ * REST controller for the purger of deleted transactions.
+ * <p>
+ * Available unless {@code money.purge.enabled=false}. Supported operations:
+ * </p>
+ * <ul>
+ *   <li>GET /api/admin/purge - Get the tombstone backlog and the progress of the purger</li>
+ *   <li>POST /api/admin/purge - Start a run of the purger now, outside its schedule</li>
+ * </ul>
+ *
+ */
+@RestController
+@RequestMapping("/api/admin/purge")
+@ConditionalOnProperty(prefix = "money.purge", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PurgeController {
+
+    private final TransactionPurger purger;
+
+    /**
+     * Constructs a new PurgeController with the specified purger.
+     *
+     * @param purger the tombstone purger
+     */
+    public PurgeController(TransactionPurger purger) {
+        this.purger = purger;
+    }
+
+    /**
+     * Retrieves the tombstone backlog and the progress of the purger.
+     *
+     * @return the current purge status
+     */
+    @GetMapping
+    public PurgeStatusDTO status() {
+        return purger.status();
+    }
+
+    /**
+     * Starts a run of the purger in the background.
+     *
+     * @return a ResponseEntity with status 202 Accepted and the purge status, or 409 Conflict if
+     *         a run is already active
+     */
+    @PostMapping
+    public ResponseEntity<PurgeStatusDTO> run() {
+        purger.startPurge();
+        return ResponseEntity.accepted().body(purger.status());
+    }
+}
@@ -0,0 +1,49 @@
+package com.bank.money.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bank.money.dto.SettlementSummaryDTO;
+import com.bank.money.service.settlement.SettlementService;
+
+/**
+ * REST controller for running the daily net settlement.
+ * <p>
+ * Supported operations:
+ * </p>
+ * <ul>
+ *   <li>POST /api/settlements/{date} - Settle the transactions scheduled on the given ISO date</li>
+ * </ul>
+ *
+ */
+@RestController
+@RequestMapping("/api/settlements")
+public class SettlementController {
+
+    private final SettlementService service;
+
+    /**
+     * Constructs a new SettlementController with the specified service.
+     *
+     * @param service the settlement service
+     */
+    public SettlementController(SettlementService service) {
+        this.service = service;
+    }
+
+    /**
+     * Settles the transactions scheduled on the given date.
+     *
+     * @param date the schedule date, in ISO format ({@code yyyy-MM-dd})
+     * @return the summary of the settlement run
+     */
+    @PostMapping("/{date}")
+    public SettlementSummaryDTO settle(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return service.settle(date);
+    }
+}
@@ -1,7 +1,9 @@
 package com.bank.money.controller;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,11 +12,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.bank.money.domain.Transaction;
 import com.bank.money.dto.TransactionRequestDTO;
-import com.bank.money.exception.BusinessException;
+import com.bank.money.dto.TransactionResponseDTO;
+import com.bank.money.dto.VersionStampDTO;
 import com.bank.money.service.TransactionService;
 
 import jakarta.validation.Valid;
@@ -30,17 +35,29 @@ import jakarta.validation.Valid;
  * </p>
  * <ul>
  *   <li>GET /api/transactions - Retrieve all transactions</li>
+ *   <li>GET /api/transactions?after={id}&amp;limit={n} - Retrieve one page of transactions</li>
  *   <li>GET /api/transactions/{id} - Retrieve a specific transaction by ID</li>
  *   <li>POST /api/transactions - Create a new scheduled transaction</li>
  *   <li>PUT /api/transactions/{id} - Update an existing transaction</li>
  *   <li>DELETE /api/transactions/{id} - Delete a transaction</li>
  * </ul>
+ * <p>
+ * Responses are rendered from {@link TransactionResponseDTO} records rather than from the
+ * JPA entity.
+ * </p>
+ * <p>
+ * The read endpoints support conditional requests: they send a weak {@code ETag} derived
+ * from the transaction versions and answer {@code If-None-Match} with
+ * {@code 304 Not Modified}, checked with a version query before any response is loaded.
+ * </p>
  *
  */
 @RestController
 @RequestMapping("/api/transactions")
 public class TransactionController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final TransactionService service;
 
     /**
@@ -54,23 +71,80 @@ public class TransactionController {
 
     /**
      * Retrieves all transactions in the system.
+     * <p>
+     * Answers {@code 304 Not Modified} without loading the list when the client's
+     * {@code If-None-Match} header matches the current ETag.
+     * </p>
      *
-     * @return a list of all transactions
+     * @param request the current request, used to evaluate {@code If-None-Match}
+     * @return a list of all transactions, or null if the response is {@code 304 Not Modified}
      */
     @GetMapping
-    public List<Transaction> getAll() {
-        return service.findAll();
+    public List<TransactionResponseDTO> getAll(WebRequest request) {
+        if (request.checkNotModified(etag(service.findVersionStamp()))) {
+            return null;
+        }
+        return service.findAllResponses();
+    }
+
+    /**
+     * Retrieves one page of transactions, ordered by ID.
+     * <p>
+     * Keyset pagination: the next page starts after the last ID of the current one, which a
+     * full page links to in its {@code Link} header with {@code rel="next"}.
+     * </p>
+     * <p>
+     * A page carries the ETag of the whole list: a page has no cheaper version of its own,
+     * since a row inserted into or removed from its ID range changes it as well. The tag may
+     * therefore change although the page did not, but never the other way round.
+     * </p>
+     *
+     * @param after the exclusive lower bound for the ID, 0 for the first page
+     * @param limit the maximum number of transactions to return, between 1 and 1000
+     * @param request the current request, used to evaluate {@code If-None-Match}
+     * @return a ResponseEntity containing the page, null if the response is {@code 304 Not Modified},
+     *         or 400 Bad Request if the limit is out of range
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<TransactionResponseDTO>> getPage(@RequestParam(defaultValue = "0") long after,
+                                                                @RequestParam int limit, WebRequest request) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (request.checkNotModified(etag(service.findVersionStamp()))) {
+            return null;
+        }
+        List<TransactionResponseDTO> page = service.findResponsesAfter(after, limit);
+        if (page.size() < limit) {
+            return ResponseEntity.ok(page);
+        }
+        long last = page.get(page.size() - 1).id();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "</api/transactions?after=" + last + "&limit=" + limit + ">; rel=\"next\"")
+                .body(page);
     }
 
     /**
      * Retrieves a specific transaction by its ID.
+     * <p>
+     * Answers {@code 304 Not Modified} without loading the transaction when the client's
+     * {@code If-None-Match} header matches the ETag derived from its version.
+     * </p>
      *
      * @param id the unique identifier of the transaction
+     * @param request the current request, used to evaluate {@code If-None-Match}
      * @return a ResponseEntity containing the transaction if found, or 404 Not Found if not found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Transaction> getById(@PathVariable Long id) {
-        return service.findById(id)
+    public ResponseEntity<TransactionResponseDTO> getById(@PathVariable Long id, WebRequest request) {
+        Optional<Long> version = service.findVersionById(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(etag(id + "-" + version.get()))) {
+            return null;
+        }
+        return service.findResponseById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -86,7 +160,7 @@ public class TransactionController {
      * @return a ResponseEntity containing the created transaction with calculated fee
      */
     @PostMapping
-    public ResponseEntity<Transaction> create(@Valid @RequestBody TransactionRequestDTO dto) {
+    public ResponseEntity<TransactionResponseDTO> create(@Valid @RequestBody TransactionRequestDTO dto) {
         Transaction transaction = new Transaction();
         transaction.setAccountOrigin(dto.getAccountOrigin());
         transaction.setAccountDestination(dto.getAccountDestination());
@@ -94,7 +168,7 @@ public class TransactionController {
         transaction.setAmount(dto.getAmount());
 
         Transaction saved = service.save(transaction);
-        return ResponseEntity.ok(saved);
+        return ResponseEntity.ok(TransactionResponseDTO.from(saved));
     }
 
     /**
@@ -106,33 +180,46 @@ public class TransactionController {
      *
      * @param id the unique identifier of the transaction to update
      * @param dto the transaction data transfer object containing updated details
-     * @return a ResponseEntity containing the updated transaction, or 404 Not Found if the transaction doesn't exist
+     * @return a ResponseEntity containing the updated transaction; 404 Not Found if the transaction doesn't
+     *         exist, or 409 Conflict if it was changed or removed while being updated
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Transaction> update(@PathVariable Long id, @Valid @RequestBody TransactionRequestDTO dto) {
+    public ResponseEntity<TransactionResponseDTO> update(@PathVariable Long id, @Valid @RequestBody TransactionRequestDTO dto) {
         Transaction transaction = new Transaction();
         transaction.setAccountOrigin(dto.getAccountOrigin());
         transaction.setAccountDestination(dto.getAccountDestination());
         transaction.setScheduleDate(dto.getScheduleDate());
         transaction.setAmount(dto.getAmount());
 
-        try {
-            Transaction updated = service.update(id, transaction);
-            return ResponseEntity.ok(updated);
-        } catch (BusinessException e) {
-            return ResponseEntity.notFound().build();
-        }
+        Transaction updated = service.update(id, transaction);
+        return ResponseEntity.ok(TransactionResponseDTO.from(updated));
     }
 
     /**
      * Deletes a transaction by its ID.
      *
      * @param id the unique identifier of the transaction to delete
-     * @return a ResponseEntity with status 204 No Content
+     * @return a ResponseEntity with status 204 No Content; 404 Not Found if the transaction doesn't
+     *         exist, or 409 Conflict if it has been archived
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Builds the weak ETag of the list from its version stamp.
+     */
+    private static String etag(VersionStampDTO stamp) {
+        return etag(stamp.count() + "-" + Long.toHexString(stamp.checksum()));
+    }
+
+    /**
+     * Builds a weak ETag. Weak tags stay valid when the response is compressed, and Tomcat
+     * only compresses responses without a strong ETag.
+     */
+    private static String etag(String value) {
+        return "W/\"" + value + "\"";
+    }
 }
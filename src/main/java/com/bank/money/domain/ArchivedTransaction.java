@@ -0,0 +1,175 @@
+package com.bank.money.domain;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Entity representing a transaction moved out of the hot {@code transactions} table.
+ * <p>
+ * Transactions whose schedule date is past the retention horizon are copied here by the
+ * archiver and removed from the hot table, which keeps the working set of pending
+ * transactions small. Archived rows keep their original ID, so lookups by ID can fall
+ * through to this table transparently, and they are never modified again.
+ * </p>
+ * <p>
+ * Rows are keyed by {@code archivePartition}, the year and month of the schedule date
+ * ({@code yyyyMM}). The column is indexed so that a month can be read or dropped as a
+ * unit, and it is the partition key on databases with native table partitioning.
+ * </p>
+ * <p>
+ * The ID is assigned, not generated, so Spring Data cannot tell a new row from a stored one by
+ * its ID and would merge every archived row, with one select each. Rows built by
+ * {@link #from} therefore report themselves as new and are inserted directly.
+ * </p>
+ *
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "transactions_archive", indexes = {
+        @Index(name = "idx_transactions_archive_partition", columnList = "archive_partition, id")
+})
+public class ArchivedTransaction implements Persistable<Long> {
+
+    /**
+     * Unique identifier, carried over from the hot table.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * Account number from which the money was transferred.
+     */
+    @NotNull
+    private String accountOrigin;
+
+    /**
+     * Account number to which the money was transferred.
+     */
+    @NotNull
+    private String accountDestination;
+
+    /**
+     * Date when the transaction was created in the system.
+     */
+    @NotNull
+    private LocalDate creationDate;
+
+    /**
+     * Date when the transaction was scheduled to be executed.
+     */
+    @NotNull
+    private LocalDate scheduleDate;
+
+    /**
+     * Amount of money transferred (excluding fees).
+     */
+    @NotNull
+    private BigDecimal amount;
+
+    /**
+     * Transaction fee calculated when the transaction was created or last updated.
+     */
+    private BigDecimal fee;
+
+    /**
+     * Version of the transaction when it was archived. Archived rows are never modified, so
+     * it stays the same and the row keeps its ETag.
+     */
+    private Long version;
+
+    /**
+     * Archive partition of the row: year and month of the schedule date as {@code yyyyMM}.
+     */
+    @NotNull
+    private Integer archivePartition;
+
+    /**
+     * Instant when the transaction was moved to the archive.
+     */
+    @NotNull
+    private Instant archivedAt;
+
+    /**
+     * Whether the row has not been stored yet. Cleared once it is persisted or loaded.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean fresh;
+
+    /**
+     * Creates an archive row from a hot transaction.
+     *
+     * @param transaction the transaction to archive
+     * @param archivedAt the instant of the archival
+     * @return the archive row
+     */
+    public static ArchivedTransaction from(Transaction transaction, Instant archivedAt) {
+        return new ArchivedTransaction(
+                transaction.getId(),
+                transaction.getAccountOrigin(),
+                transaction.getAccountDestination(),
+                transaction.getCreationDate(),
+                transaction.getScheduleDate(),
+                transaction.getAmount(),
+                transaction.getFee(),
+                transaction.getVersion(),
+                partitionOf(transaction.getScheduleDate()),
+                archivedAt,
+                true);
+    }
+
+    /**
+     * Returns the archive partition for a schedule date.
+     *
+     * @param scheduleDate the schedule date
+     * @return the partition key as {@code yyyyMM}
+     */
+    public static int partitionOf(LocalDate scheduleDate) {
+        return scheduleDate.getYear() * 100 + scheduleDate.getMonthValue();
+    }
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        fresh = false;
+    }
+
+    /**
+     * Converts this archive row back into a (detached) transaction.
+     *
+     * @return a transaction holding the archived values
+     */
+    public Transaction toTransaction() {
+        return new Transaction(id, accountOrigin, accountDestination, creationDate, scheduleDate, amount, fee, version, null);
+    }
+}
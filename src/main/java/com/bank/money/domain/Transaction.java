@@ -1,13 +1,18 @@
 package com.bank.money.domain;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 
+import org.hibernate.annotations.SQLRestriction;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -33,13 +38,39 @@ import lombok.NoArgsConstructor;
  *   <li>Amount > $2,000 and 31-40 days: 4.7%</li>
  *   <li>Amount > $2,000 and 40+ days: 1.7%</li>
  * </ul>
+ * <p>
+ * Two composite indexes back the repository's date-driven queries:
+ * {@code (deleted_at, schedule_date, id)} for due-date scans and
+ * {@code (deleted_at, account_origin, schedule_date)} for per-account date ranges.
+ * </p>
+ * <p>
+ * The {@code version} column is maintained by JPA optimistic locking: it starts at 0 and
+ * is incremented by every update. The read API derives its ETags from it.
+ * </p>
+ * <p>
+ * Deleting a transaction only sets {@code deleted_at}. The restriction on this class hides
+ * such tombstones from every query and lookup, and {@code TransactionPurger} removes them
+ * in the background once they are old enough.
+ * </p>
+ * <p>
+ * Both indexes lead with {@code deleted_at}, so the restriction is part of the index
+ * condition of every live-row query, and the purger finds the oldest tombstones by range.
+ * H2 has no partial indexes, and a separate {@code deleted_at} index would be chosen for
+ * {@code deleted_at is null} alone. The indexes are named {@code live} to tell them apart
+ * from their predecessors without {@code deleted_at}, which a schema update does not replace
+ * and which can be dropped.
+ * </p>
  *
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_live_schedule_date_id", columnList = "deleted_at, schedule_date, id"),
+        @Index(name = "idx_transactions_live_origin_schedule_date", columnList = "deleted_at, account_origin, schedule_date")
+})
+@SQLRestriction("\"deleted_at\" is null")
 public class Transaction {
 
     /**
@@ -86,4 +117,17 @@ public class Transaction {
      * This value is automatically calculated and set by the service layer.
      */
     private BigDecimal fee;
+
+    /**
+     * Optimistic locking version, incremented by every update.
+     * This value is managed by the persistence layer.
+     */
+    @Version
+    private Long version;
+
+    /**
+     * When the transaction was deleted, or null if it has not been.
+     * A deleted transaction is kept as a tombstone until it is purged.
+     */
+    private Instant deletedAt;
 }
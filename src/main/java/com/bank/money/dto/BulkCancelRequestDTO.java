@@ -0,0 +1,45 @@
+package com.bank.money.dto;
+
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * Data Transfer Object selecting the pending transactions to cancel in bulk.
+ * <p>
+ * Selects the transactions of one origin account scheduled within a date range. Transactions
+ * scheduled before the current business date are never touched.
+ * </p>
+ *
+ */
+@Data
+public class BulkCancelRequestDTO {
+
+    /**
+     * Constructs a new empty BulkCancelRequestDTO.
+     */
+    public BulkCancelRequestDTO() {
+    }
+
+    /**
+     * Account number whose transactions are cancelled.
+     * Must not be null.
+     */
+    @NotNull
+    private String accountOrigin;
+
+    /**
+     * Inclusive lower bound of the schedule dates to cancel.
+     * Must not be null.
+     */
+    @NotNull
+    private LocalDate from;
+
+    /**
+     * Inclusive upper bound of the schedule dates to cancel.
+     * Must not be null.
+     */
+    @NotNull
+    private LocalDate to;
+}
@@ -0,0 +1,29 @@
+package com.bank.money.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Report of a bulk reschedule or cancel operation.
+ *
+ * @param operation the operation, {@code reschedule} or {@code cancel}
+ * @param accountOrigin the origin account the operation applied to
+ * @param from the first schedule date considered; never before the business date of the run
+ * @param to the last schedule date considered
+ * @param matched the number of transactions selected
+ * @param affected the number of transactions rescheduled or cancelled
+ * @param skipped the number of selected transactions left unchanged, because they changed
+ *        concurrently or their new schedule date would be in the past
+ * @param chunks the number of chunks, i.e. of database transactions, the work was split into
+ * @param elapsedMillis the duration of the operation in milliseconds
+ */
+public record BulkOperationResultDTO(
+        String operation,
+        String accountOrigin,
+        LocalDate from,
+        LocalDate to,
+        int matched,
+        int affected,
+        int skipped,
+        int chunks,
+        long elapsedMillis) {
+}
@@ -0,0 +1,71 @@
+package com.bank.money.dto;
+
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * Data Transfer Object for moving pending transactions to another schedule date in bulk.
+ * <p>
+ * Selects the transactions of one origin account scheduled within a date range, like
+ * {@link BulkCancelRequestDTO}, and either shifts their schedule dates by a number of days or
+ * sets them all to the same date. Exactly one of {@code shiftDays} and {@code scheduleDate}
+ * must be given.
+ * </p>
+ *
+ */
+@Data
+public class BulkRescheduleRequestDTO {
+
+    /**
+     * Constructs a new empty BulkRescheduleRequestDTO.
+     */
+    public BulkRescheduleRequestDTO() {
+    }
+
+    /**
+     * Account number whose transactions are rescheduled.
+     * Must not be null.
+     */
+    @NotNull
+    private String accountOrigin;
+
+    /**
+     * Inclusive lower bound of the schedule dates to reschedule.
+     * Must not be null.
+     */
+    @NotNull
+    private LocalDate from;
+
+    /**
+     * Inclusive upper bound of the schedule dates to reschedule.
+     * Must not be null.
+     */
+    @NotNull
+    private LocalDate to;
+
+    /**
+     * Number of days to move each schedule date by; may be negative.
+     */
+    private Integer shiftDays;
+
+    /**
+     * Date to move all selected transactions to.
+     */
+    private LocalDate scheduleDate;
+
+    /**
+     * Checks that exactly one way of computing the new schedule date is given.
+     *
+     * @return true if exactly one of {@code shiftDays} and {@code scheduleDate} is set
+     */
+    @JsonIgnore
+    @AssertTrue(message = "exactly one of shiftDays and scheduleDate must be set")
+    public boolean isTargetSpecified() {
+        return (shiftDays == null) != (scheduleDate == null);
+    }
+}
@@ -0,0 +1,136 @@
+package com.bank.money.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * Data Transfer Object describing a fee what-if simulation.
+ * <p>
+ * The simulation prices every transaction scheduled between {@code from} and {@code to}, both
+ * in the hot table and in the archive, with each candidate rule set and compares the result
+ * with the fee that was actually charged.
+ * </p>
+ *
+ */
+@Data
+public class FeeSimulationRequestDTO {
+
+    /**
+     * Constructs a new empty FeeSimulationRequestDTO.
+     */
+    public FeeSimulationRequestDTO() {
+    }
+
+    /**
+     * Inclusive lower bound of the schedule dates to simulate over.
+     * Must not be null.
+     */
+    @NotNull
+    private LocalDate from;
+
+    /**
+     * Inclusive upper bound of the schedule dates to simulate over.
+     * Must not be null.
+     */
+    @NotNull
+    private LocalDate to;
+
+    /**
+     * Candidate rule sets, evaluated together in a single pass.
+     * Must contain between 1 and 16 entries.
+     */
+    @NotEmpty
+    @Size(max = 16)
+    @Valid
+    private List<RuleSet> candidates;
+
+    /**
+     * Checks that the date range is not reversed.
+     *
+     * @return true if {@code from} is not after {@code to}, or if either is missing
+     */
+    @JsonIgnore
+    @AssertTrue(message = "from must not be after to")
+    public boolean isRangeValid() {
+        return from == null || to == null || !from.isAfter(to);
+    }
+
+    /**
+     * A named, ordered list of fee rules. As with the built-in strategies, the first
+     * applicable rule prices a transaction; if none applies, the fee is zero.
+     */
+    @Data
+    public static class RuleSet {
+
+        /**
+         * Name of the rule set, repeated in the result.
+         * Must not be null.
+         */
+        @NotNull
+        private String name;
+
+        /**
+         * Rules of the set, in order of precedence.
+         * Must not be empty.
+         */
+        @NotEmpty
+        @Valid
+        private List<Rule> rules;
+    }
+
+    /**
+     * A fee band and its rates. A missing bound is open.
+     */
+    @Data
+    public static class Rule {
+
+        /**
+         * Exclusive lower bound of the amount.
+         */
+        private BigDecimal amountAbove;
+
+        /**
+         * Inclusive upper bound of the amount.
+         */
+        private BigDecimal amountUpTo;
+
+        /**
+         * Inclusive lower bound of the days between creation and schedule date.
+         */
+        private Long minDays;
+
+        /**
+         * Inclusive upper bound of the days between creation and schedule date.
+         */
+        private Long maxDays;
+
+        /**
+         * Share of the amount charged, e.g. 0.03 for 3%.
+         * Must not be null and must be between 0 and 1.
+         */
+        @NotNull
+        @DecimalMin("0")
+        @DecimalMax("1")
+        private BigDecimal percentage;
+
+        /**
+         * Fixed amount added to the fee.
+         * Must be between 0 and 1,000,000.
+         */
+        @DecimalMin("0")
+        @DecimalMax("1000000")
+        private BigDecimal flatFee;
+    }
+}
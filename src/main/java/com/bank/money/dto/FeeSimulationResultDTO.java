@@ -0,0 +1,74 @@
+package com.bank.money.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Result of a fee what-if simulation.
+ * <p>
+ * Revenues are the sums of the fees, rounded half-even to four decimal places per transaction.
+ * The baseline is the fee actually charged, as stored on each transaction. Buckets group the
+ * transactions by the built-in fee strategy that prices them today.
+ * </p>
+ *
+ * @param from the first simulated schedule date
+ * @param to the last simulated schedule date
+ * @param transactions the number of transactions simulated
+ * @param baselineRevenue the sum of the fees actually charged
+ * @param candidates the outcome of each candidate rule set, in request order
+ * @param elapsedMillis the duration of the simulation in milliseconds
+ */
+public record FeeSimulationResultDTO(
+        LocalDate from,
+        LocalDate to,
+        long transactions,
+        BigDecimal baselineRevenue,
+        List<Candidate> candidates,
+        long elapsedMillis) {
+
+    /**
+     * Outcome of one candidate rule set.
+     *
+     * @param name the name of the rule set
+     * @param revenue the sum of the fees under the candidate rules
+     * @param delta the revenue change against the baseline
+     * @param buckets the revenue change per fee bucket
+     * @param deltaHistogram the distribution of the per-transaction fee change
+     */
+    public record Candidate(
+            String name,
+            BigDecimal revenue,
+            BigDecimal delta,
+            List<Bucket> buckets,
+            List<HistogramBin> deltaHistogram) {
+    }
+
+    /**
+     * Revenue change of the transactions of one fee bucket.
+     *
+     * @param bucket the name of the built-in fee strategy of the bucket
+     * @param transactions the number of transactions in the bucket
+     * @param baselineRevenue the sum of the fees actually charged
+     * @param revenue the sum of the fees under the candidate rules
+     * @param delta the revenue change against the baseline
+     */
+    public record Bucket(
+            String bucket,
+            long transactions,
+            BigDecimal baselineRevenue,
+            BigDecimal revenue,
+            BigDecimal delta) {
+    }
+
+    /**
+     * Number of transactions whose fee changed by an amount within a range.
+     *
+     * @param range the range of the per-transaction fee change, e.g. {@code [1, 10)}
+     * @param transactions the number of transactions in the range
+     */
+    public record HistogramBin(
+            String range,
+            long transactions) {
+    }
+}
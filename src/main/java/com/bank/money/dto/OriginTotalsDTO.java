@@ -0,0 +1,19 @@
+package com.bank.money.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Number and total amount of the transactions of one origin account.
+ * <p>
+ * Built by a JPQL constructor expression over a {@code group by} on the origin account.
+ * </p>
+ *
+ * @param accountOrigin the origin account number
+ * @param count the number of transactions
+ * @param amount the sum of their amounts
+ */
+public record OriginTotalsDTO(
+        String accountOrigin,
+        Long count,
+        BigDecimal amount) {
+}
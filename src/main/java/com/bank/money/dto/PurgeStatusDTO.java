@@ -0,0 +1,25 @@
+package com.bank.money.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Backlog and progress of the tombstone purger returned by the purge API.
+ *
+ * @param running whether a run is active right now
+ * @param backlog the number of deleted transactions still stored
+ * @param due the part of the backlog past the retention period, removed by the next runs
+ * @param retention how long a deleted transaction is kept before it is purged
+ * @param lastRunAt the time the last run finished, or null if none has run yet
+ * @param lastRunPurged the number of transactions removed by the last run
+ * @param totalPurged the number of transactions removed since startup
+ */
+public record PurgeStatusDTO(
+        boolean running,
+        long backlog,
+        long due,
+        Duration retention,
+        Instant lastRunAt,
+        long lastRunPurged,
+        long totalPurged) {
+}
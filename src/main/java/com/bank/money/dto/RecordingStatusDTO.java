@@ -0,0 +1,29 @@
+package com.bank.money.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * State of a flight recording returned by the profiling API.
+ *
+ * @param id the recording ID
+ * @param state the recording state, e.g. {@code RUNNING}, or {@code CLOSED} once stopped and written
+ * @param settings the name of the event settings in use
+ * @param startTime the time the recording was started
+ * @param duration the time after which the recording stops by itself
+ * @param maxAge the maximum age of the data kept by the recording
+ * @param maxSize the maximum size in bytes of the data kept by the recording
+ * @param size the current size in bytes of the recorded data
+ * @param file the path of the file written by this operation, or of the file written when the recording stops
+ */
+public record RecordingStatusDTO(
+        long id,
+        String state,
+        String settings,
+        Instant startTime,
+        Duration duration,
+        Duration maxAge,
+        long maxSize,
+        long size,
+        String file) {
+}
@@ -0,0 +1,29 @@
+package com.bank.money.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Summary of a settlement run returned by the settlement API.
+ *
+ * @param scheduleDate the settled schedule date
+ * @param transfers the number of gross transfers netted
+ * @param accounts the number of distinct accounts involved
+ * @param positions the number of bilateral net positions written to the settlement file
+ * @param grossAmount the sum of all transfer amounts
+ * @param netAmount the sum of all net amounts, i.e. the value that actually has to move
+ * @param fees the sum of all transfer fees
+ * @param file the path of the settlement file
+ * @param elapsedMillis the duration of the run in milliseconds
+ */
+public record SettlementSummaryDTO(
+        LocalDate scheduleDate,
+        long transfers,
+        int accounts,
+        int positions,
+        BigDecimal grossAmount,
+        BigDecimal netAmount,
+        BigDecimal fees,
+        String file,
+        long elapsedMillis) {
+}
@@ -0,0 +1,50 @@
+package com.bank.money.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.bank.money.domain.Transaction;
+
+/**
+ * Data Transfer Object returned by the transaction API.
+ * <p>
+ * This record mirrors the fields of the {@link Transaction} entity that are exposed to
+ * clients. Read endpoints obtain it straight from JPQL constructor expressions, so no
+ * managed entity is loaded just to render a response, and it is written to JSON by
+ * {@link TransactionResponseSerializer} without going through bean introspection.
+ * </p>
+ *
+ * @param id the unique identifier of the transaction
+ * @param accountOrigin the account from which the money will be transferred
+ * @param accountDestination the account to which the money will be transferred
+ * @param creationDate the date when the transaction was created in the system
+ * @param scheduleDate the date when the transaction is scheduled to be executed
+ * @param amount the amount of money to be transferred (excluding fees)
+ * @param fee the calculated transaction fee
+ */
+public record TransactionResponseDTO(
+        Long id,
+        String accountOrigin,
+        String accountDestination,
+        LocalDate creationDate,
+        LocalDate scheduleDate,
+        BigDecimal amount,
+        BigDecimal fee) {
+
+    /**
+     * Creates a response from a transaction entity, typically one that was just saved.
+     *
+     * @param transaction the transaction entity
+     * @return the response holding the entity's exposed fields
+     */
+    public static TransactionResponseDTO from(Transaction transaction) {
+        return new TransactionResponseDTO(
+                transaction.getId(),
+                transaction.getAccountOrigin(),
+                transaction.getAccountDestination(),
+                transaction.getCreationDate(),
+                transaction.getScheduleDate(),
+                transaction.getAmount(),
+                transaction.getFee());
+    }
+}
@@ -0,0 +1,99 @@
+package com.bank.money.dto;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import org.springframework.boot.jackson.JsonComponent;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Hand-written Jackson serializer for {@link TransactionResponseDTO}.
+ * <p>
+ * Field names are encoded once into {@link SerializedString} constants and values are
+ * written directly to the generator, so rendering a response involves no reflection,
+ * no per-property serializer lookup and no intermediate objects. The produced JSON has
+ * the same shape as the one previously generated from the {@code Transaction} entity,
+ * with dates written in ISO-8601 format.
+ * </p>
+ */
+@JsonComponent
+public class TransactionResponseSerializer extends StdSerializer<TransactionResponseDTO> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString ACCOUNT_ORIGIN = new SerializedString("accountOrigin");
+    private static final SerializedString ACCOUNT_DESTINATION = new SerializedString("accountDestination");
+    private static final SerializedString CREATION_DATE = new SerializedString("creationDate");
+    private static final SerializedString SCHEDULE_DATE = new SerializedString("scheduleDate");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString FEE = new SerializedString("fee");
+
+    /**
+     * Constructs a new TransactionResponseSerializer.
+     */
+    public TransactionResponseSerializer() {
+        super(TransactionResponseDTO.class);
+    }
+
+    @Override
+    public void serialize(TransactionResponseDTO value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject(value);
+
+        gen.writeFieldName(ID);
+        if (value.id() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.id());
+        }
+
+        gen.writeFieldName(ACCOUNT_ORIGIN);
+        gen.writeString(value.accountOrigin());
+
+        gen.writeFieldName(ACCOUNT_DESTINATION);
+        gen.writeString(value.accountDestination());
+
+        gen.writeFieldName(CREATION_DATE);
+        writeDate(gen, value.creationDate());
+
+        gen.writeFieldName(SCHEDULE_DATE);
+        writeDate(gen, value.scheduleDate());
+
+        gen.writeFieldName(AMOUNT);
+        gen.writeNumber(value.amount());
+
+        gen.writeFieldName(FEE);
+        gen.writeNumber(value.fee());
+
+        gen.writeEndObject();
+    }
+
+    private static void writeDate(JsonGenerator gen, LocalDate date) throws IOException {
+        if (date == null) {
+            gen.writeNull();
+            return;
+        }
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            gen.writeString(date.toString());
+            return;
+        }
+        char[] text = new char[10];
+        writeDigits(text, 0, year, 4);
+        text[4] = '-';
+        writeDigits(text, 5, date.getMonthValue(), 2);
+        text[7] = '-';
+        writeDigits(text, 8, date.getDayOfMonth(), 2);
+        gen.writeString(text, 0, text.length);
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
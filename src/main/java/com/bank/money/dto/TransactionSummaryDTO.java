@@ -0,0 +1,27 @@
+package com.bank.money.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of a transaction used by the repository's date-driven queries.
+ * <p>
+ * Instances are built directly by JPQL constructor expressions, so Hibernate never
+ * materialises or tracks a managed {@code Transaction} entity for these results.
+ * </p>
+ *
+ * @param id the unique identifier of the transaction
+ * @param accountOrigin the account from which the money will be transferred
+ * @param accountDestination the account to which the money will be transferred
+ * @param scheduleDate the date when the transaction is scheduled to be executed
+ * @param amount the amount of money to be transferred (excluding fees)
+ * @param fee the calculated transaction fee
+ */
+public record TransactionSummaryDTO(
+        Long id,
+        String accountOrigin,
+        String accountDestination,
+        LocalDate scheduleDate,
+        BigDecimal amount,
+        BigDecimal fee) {
+}
@@ -0,0 +1,55 @@
+package com.bank.money.dto;
+
+/**
+ * Aggregate version of a set of transactions, used to build the ETag of the list endpoint.
+ * <p>
+ * {@code checksum} is the sum of {@link #hash} over the ID and version of every transaction.
+ * A create, update or delete adds or removes one term, so the stamp changes whenever the
+ * content of the list does, whichever ID the transaction has. The highest ID is not enough for
+ * that: under the {@code sharded} profile IDs interleave by shard, and a new transaction may get
+ * a lower ID than an existing one.
+ * </p>
+ * <p>
+ * The sum does not depend on the order of the rows, so the stamps of disjoint sets, such as the
+ * shards or the hot table and the archive, add up to the stamp of their union. Moving a
+ * transaction to the archive leaves the combined stamp, like the list itself, unchanged.
+ * </p>
+ *
+ * @param count the number of transactions
+ * @param checksum the sum of the hashes of their IDs and versions
+ */
+public record VersionStampDTO(Long count, Long checksum) {
+
+    /** Modulus reducing the ID and version to a value whose square fits in a {@code long}. */
+    public static final long KEY_MODULUS = 2_147_483_647L;
+
+    /** Modulus of the hash, keeping each term below 2^31 so that the sum cannot overflow. */
+    public static final long HASH_MODULUS = 2_147_483_629L;
+
+    /**
+     * Hashes the ID and version of one transaction.
+     * <p>
+     * Squaring makes the hash non-linear, so that removing some transactions and adding others
+     * only leaves the checksum unchanged by coincidence. The repositories compute the same
+     * function in their queries, with arithmetic every database supports.
+     * </p>
+     *
+     * @param id the transaction ID
+     * @param version the transaction version
+     * @return the hash, between 0 and {@link #HASH_MODULUS} (exclusive)
+     */
+    public static long hash(long id, long version) {
+        long key = Math.floorMod(id * 31 + version, KEY_MODULUS);
+        return Math.floorMod(key * key, HASH_MODULUS);
+    }
+
+    /**
+     * Combines the stamps of two disjoint sets of transactions.
+     *
+     * @param other the stamp of the other set
+     * @return the stamp of the union
+     */
+    public VersionStampDTO plus(VersionStampDTO other) {
+        return new VersionStampDTO(count + other.count, checksum + other.checksum);
+    }
+}
@@ -0,0 +1,25 @@
+package com.bank.money.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a fee simulation produces a fee or a revenue total too large to be summed.
+ * <p>
+ * Only candidate rules with extreme rates or flat fees can get there, so the exception is
+ * rendered as {@code 400 Bad Request}.
+ * </p>
+ *
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class FeeSimulationOverflowException extends BusinessException {
+
+    /**
+     * Constructs a new FeeSimulationOverflowException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public FeeSimulationOverflowException(String message) {
+        super(message);
+    }
+}
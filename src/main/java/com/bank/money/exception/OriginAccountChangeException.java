@@ -0,0 +1,27 @@
+package com.bank.money.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an update would change the origin account of a stored transaction while the
+ * storage backend cannot move it, as under the {@code sharded} profile where the origin
+ * account decides the shard of the transaction and its ID.
+ * <p>
+ * The request itself is well-formed, so the exception is rendered as
+ * {@code 422 Unprocessable Entity}.
+ * </p>
+ *
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class OriginAccountChangeException extends BusinessException {
+
+    /**
+     * Constructs a new OriginAccountChangeException with the specified detail message.
+     *
+     * @param message the detail message naming the transaction
+     */
+    public OriginAccountChangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.bank.money.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a purge of deleted transactions is requested while another run is still active.
+ * <p>
+ * The exception is rendered as {@code 409 Conflict}.
+ * </p>
+ *
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class PurgeInProgressException extends BusinessException {
+
+    /**
+     * Constructs a new PurgeInProgressException with the specified detail message.
+     *
+     * @param message the detail message describing the active run
+     */
+    public PurgeInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.bank.money.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a profiling operation does not fit the state of the flight recording, e.g.
+ * starting a recording while one is already running.
+ * <p>
+ * The exception is rendered as {@code 409 Conflict}.
+ * </p>
+ *
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class RecordingStateException extends BusinessException {
+
+    /**
+     * Constructs a new RecordingStateException with the specified detail message.
+     *
+     * @param message the detail message describing the current state
+     */
+    public RecordingStateException(String message) {
+        super(message);
+    }
+}
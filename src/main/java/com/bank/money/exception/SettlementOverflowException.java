@@ -0,0 +1,26 @@
+package com.bank.money.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the transfers of a schedule date have amounts, fees or totals too large to be
+ * netted.
+ * <p>
+ * The request itself is valid but the day cannot be settled as stored, so the exception is
+ * rendered as {@code 422 Unprocessable Entity}.
+ * </p>
+ *
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class SettlementOverflowException extends BusinessException {
+
+    /**
+     * Constructs a new SettlementOverflowException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public SettlementOverflowException(String message) {
+        super(message);
+    }
+}
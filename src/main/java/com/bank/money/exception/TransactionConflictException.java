@@ -0,0 +1,26 @@
+package com.bank.money.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a transaction was changed, deleted or archived by someone else between being
+ * loaded and being written back, so the write was based on a stale version.
+ * <p>
+ * The client may reload the transaction and retry, so the exception is rendered as
+ * {@code 409 Conflict}.
+ * </p>
+ *
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class TransactionConflictException extends BusinessException {
+
+    /**
+     * Constructs a new TransactionConflictException with the specified detail message.
+     *
+     * @param message the detail message naming the transaction
+     */
+    public TransactionConflictException(String message) {
+        super(message);
+    }
+}
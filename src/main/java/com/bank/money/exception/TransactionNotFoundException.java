@@ -0,0 +1,25 @@
+package com.bank.money.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an operation targets a transaction that does not exist, or that can no longer be
+ * changed because it was deleted or moved to the archive.
+ * <p>
+ * The exception is rendered as {@code 404 Not Found}.
+ * </p>
+ *
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class TransactionNotFoundException extends BusinessException {
+
+    /**
+     * Constructs a new TransactionNotFoundException with the specified detail message.
+     *
+     * @param message the detail message naming the transaction
+     */
+    public TransactionNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package com.bank.money.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when creating a transaction would exceed a velocity limit of its origin account.
+ * <p>
+ * Velocity limits cap the number and the total amount of transactions an account may
+ * create within a sliding minute, hour and day. The request itself is well-formed, so the
+ * exception is rendered as {@code 422 Unprocessable Entity}.
+ * </p>
+ *
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class VelocityLimitExceededException extends BusinessException {
+
+    /**
+     * Constructs a new VelocityLimitExceededException with the specified detail message.
+     *
+     * @param message the detail message naming the account and the exceeded limit
+     */
+    public VelocityLimitExceededException(String message) {
+        super(message);
+    }
+}
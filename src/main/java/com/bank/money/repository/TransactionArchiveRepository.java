@@ -0,0 +1,166 @@
+package com.bank.money.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bank.money.domain.ArchivedTransaction;
+import com.bank.money.dto.TransactionResponseDTO;
+import com.bank.money.dto.TransactionSummaryDTO;
+import com.bank.money.dto.VersionStampDTO;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repository interface for the archive tier of transactions.
+ * <p>
+ * Provides the same response projections as {@link TransactionRepository} so that reads
+ * can fall through from the hot table to the archive without loading managed entities.
+ * </p>
+ *
+ */
+@Repository
+public interface TransactionArchiveRepository extends JpaRepository<ArchivedTransaction, Long> {
+
+    /**
+     * Retrieves all archived transactions as API responses, ordered by ID.
+     *
+     * @return a list of all archived transactions as response projections
+     */
+    @Query("""
+            select new com.bank.money.dto.TransactionResponseDTO(
+                t.id, t.accountOrigin, t.accountDestination, t.creationDate, t.scheduleDate, t.amount, t.fee)
+            from ArchivedTransaction t
+            order by t.id
+            """)
+    List<TransactionResponseDTO> findAllResponses();
+
+    /**
+     * Retrieves one page of archived transactions as API responses, continuing after the given ID.
+     *
+     * @param afterId the exclusive lower bound for the ID, 0 for the first page
+     * @param limit the maximum number of transactions to return
+     * @return the next archived transactions ordered by ID
+     */
+    @Query("""
+            select new com.bank.money.dto.TransactionResponseDTO(
+                t.id, t.accountOrigin, t.accountDestination, t.creationDate, t.scheduleDate, t.amount, t.fee)
+            from ArchivedTransaction t
+            where t.id > :afterId
+            order by t.id
+            """)
+    List<TransactionResponseDTO> findResponsesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Finds an archived transaction by its ID as an API response.
+     *
+     * @param id the transaction ID
+     * @return an Optional containing the response projection if found, or empty if not found
+     */
+    @Query("""
+            select new com.bank.money.dto.TransactionResponseDTO(
+                t.id, t.accountOrigin, t.accountDestination, t.creationDate, t.scheduleDate, t.amount, t.fee)
+            from ArchivedTransaction t
+            where t.id = :id
+            """)
+    Optional<TransactionResponseDTO> findResponseById(@Param("id") Long id);
+
+    /**
+     * Finds which of the given transactions are already archived.
+     *
+     * @param ids the transaction IDs
+     * @return the IDs of the archived ones
+     */
+    @Query("select t.id from ArchivedTransaction t where t.id in :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the version of an archived transaction without loading it.
+     *
+     * @param id the transaction ID
+     * @return an Optional containing the version if found, or empty if not found
+     */
+    @Query("select t.version from ArchivedTransaction t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Computes the version stamp of the archive, like {@link TransactionRepository#findVersionStamp()}.
+     *
+     * @return the row count and the checksum of all IDs and versions
+     */
+    @Query("""
+            select new com.bank.money.dto.VersionStampDTO(count(t), coalesce(sum(mod(
+                mod(t.id * 31 + t.version, 2147483647L) * mod(t.id * 31 + t.version, 2147483647L),
+                2147483629L)), 0))
+            from ArchivedTransaction t
+            """)
+    VersionStampDTO findVersionStamp();
+
+    /**
+     * Streams the archived transactions scheduled within a date range, in no particular order.
+     * <p>
+     * The partition bounds let the database skip whole months through the
+     * {@code (archive_partition, id)} index. They must be the partitions of {@code from}
+     * and {@code to}. The stream must be consumed inside a transaction and closed afterwards.
+     * </p>
+     *
+     * @param fromPartition the partition of {@code from}
+     * @param toPartition the partition of {@code to}
+     * @param from the inclusive lower bound for the schedule date
+     * @param to the inclusive upper bound for the schedule date
+     * @return the matching archived transactions as response projections
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.bank.money.dto.TransactionResponseDTO(
+                t.id, t.accountOrigin, t.accountDestination, t.creationDate, t.scheduleDate, t.amount, t.fee)
+            from ArchivedTransaction t
+            where t.archivePartition between :fromPartition and :toPartition
+              and t.scheduleDate between :from and :to
+            """)
+    Stream<TransactionResponseDTO> streamResponsesScheduledBetween(@Param("fromPartition") Integer fromPartition,
+                                                                   @Param("toPartition") Integer toPartition,
+                                                                   @Param("from") LocalDate from,
+                                                                   @Param("to") LocalDate to);
+
+    /**
+     * Streams the archived transactions scheduled on a date, like
+     * {@link TransactionRepository#streamByScheduleDate(LocalDate)}.
+     * <p>
+     * The partition must be the partition of {@code date}. The stream must be consumed inside
+     * a transaction and closed afterwards.
+     * </p>
+     *
+     * @param archivePartition the partition of {@code date}
+     * @param date the schedule date
+     * @return the archived transactions scheduled on that date
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.bank.money.dto.TransactionSummaryDTO(
+                t.id, t.accountOrigin, t.accountDestination, t.scheduleDate, t.amount, t.fee)
+            from ArchivedTransaction t
+            where t.archivePartition = :archivePartition
+              and t.scheduleDate = :date
+            """)
+    Stream<TransactionSummaryDTO> streamByScheduleDate(@Param("archivePartition") Integer archivePartition,
+                                                       @Param("date") LocalDate date);
+
+    /**
+     * Counts the archived transactions of a partition.
+     *
+     * @param archivePartition the partition key as {@code yyyyMM}
+     * @return the number of archived transactions in the partition
+     */
+    long countByArchivePartition(Integer archivePartition);
+}
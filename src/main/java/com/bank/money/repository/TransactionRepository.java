@@ -1,19 +1,395 @@
 package com.bank.money.repository;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.bank.money.domain.Transaction;
+import com.bank.money.dto.OriginTotalsDTO;
+import com.bank.money.dto.TransactionResponseDTO;
+import com.bank.money.dto.TransactionSummaryDTO;
+import com.bank.money.dto.VersionStampDTO;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for Transaction entity persistence operations.
  * <p>
  * This interface extends Spring Data JPA's JpaRepository, providing standard
  * CRUD operations and query methods for the Transaction entity.
- * No custom query methods are currently defined.
+ * </p>
+ * <p>
+ * The read-side queries return {@link TransactionResponseDTO} and {@link TransactionSummaryDTO}
+ * projections instead of managed entities. The date-driven ones are written so that they can
+ * be answered from the composite indexes declared on {@link Transaction}.
+ * </p>
+ * <p>
+ * Deleted transactions are tombstones, filtered out of every JPQL query by the restriction on
+ * {@link Transaction}. Only the purge-related native queries see them.
  * </p>
  *
  */
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+
+    /**
+     * Retrieves all transactions as API responses, ordered by ID.
+     *
+     * @return a list of all transactions as response projections
+     */
+    @Query("""
+            select new com.bank.money.dto.TransactionResponseDTO(
+                t.id, t.accountOrigin, t.accountDestination, t.creationDate, t.scheduleDate, t.amount, t.fee)
+            from Transaction t
+            order by t.id
+            """)
+    List<TransactionResponseDTO> findAllResponses();
+
+    /**
+     * Retrieves one page of transactions as API responses, continuing after the given ID.
+     * <p>
+     * Keyset pagination: the page is read from the primary key index starting at
+     * {@code afterId}, so later pages cost the same as the first one.
+     * </p>
+     *
+     * @param afterId the exclusive lower bound for the ID, 0 for the first page
+     * @param limit the maximum number of transactions to return
+     * @return the next transactions ordered by ID
+     */
+    @Query("""
+            select new com.bank.money.dto.TransactionResponseDTO(
+                t.id, t.accountOrigin, t.accountDestination, t.creationDate, t.scheduleDate, t.amount, t.fee)
+            from Transaction t
+            where t.id > :afterId
+            order by t.id
+            """)
+    List<TransactionResponseDTO> findResponsesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Finds a transaction by its ID as an API response.
+     *
+     * @param id the transaction ID
+     * @return an Optional containing the response projection if found, or empty if not found
+     */
+    @Query("""
+            select new com.bank.money.dto.TransactionResponseDTO(
+                t.id, t.accountOrigin, t.accountDestination, t.creationDate, t.scheduleDate, t.amount, t.fee)
+            from Transaction t
+            where t.id = :id
+            """)
+    Optional<TransactionResponseDTO> findResponseById(@Param("id") Long id);
+
+    /**
+     * Finds the version of a transaction without loading it.
+     *
+     * @param id the transaction ID
+     * @return an Optional containing the version if found, or empty if not found
+     */
+    @Query("select t.version from Transaction t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Computes the version stamp of the whole table, from which the ETag of the list endpoint
+     * is derived. The checksum is {@link VersionStampDTO#hash} summed in SQL.
+     *
+     * @return the row count and the checksum of all IDs and versions
+     */
+    @Query("""
+            select new com.bank.money.dto.VersionStampDTO(count(t), coalesce(sum(mod(
+                mod(t.id * 31 + t.version, 2147483647L) * mod(t.id * 31 + t.version, 2147483647L),
+                2147483629L)), 0))
+            from Transaction t
+            """)
+    VersionStampDTO findVersionStamp();
+
+    /**
+     * Finds all transactions scheduled on or before the given date, oldest first.
+     * <p>
+     * Served by the {@code (deleted_at, schedule_date, id)} index.
+     * </p>
+     *
+     * @param date the inclusive upper bound for the schedule date
+     * @return the due transactions ordered by schedule date and ID
+     */
+    @Query("""
+            select new com.bank.money.dto.TransactionSummaryDTO(
+                t.id, t.accountOrigin, t.accountDestination, t.scheduleDate, t.amount, t.fee)
+            from Transaction t
+            where t.scheduleDate <= :date
+            order by t.scheduleDate, t.id
+            """)
+    List<TransactionSummaryDTO> findDueOnOrBefore(@Param("date") LocalDate date);
+
+    /**
+     * Counts the transactions scheduled on or before the given date.
+     *
+     * @param date the inclusive upper bound for the schedule date
+     * @return the number of due transactions
+     */
+    @Query("select count(t) from Transaction t where t.scheduleDate <= :date")
+    long countDueOnOrBefore(@Param("date") LocalDate date);
+
+    /**
+     * Finds the transactions of an origin account scheduled within a date range.
+     * <p>
+     * Served by the {@code (deleted_at, account_origin, schedule_date)} index.
+     * </p>
+     *
+     * @param accountOrigin the origin account number
+     * @param from the inclusive lower bound for the schedule date
+     * @param to the inclusive upper bound for the schedule date
+     * @return the matching transactions ordered by schedule date and ID
+     */
+    @Query("""
+            select new com.bank.money.dto.TransactionSummaryDTO(
+                t.id, t.accountOrigin, t.accountDestination, t.scheduleDate, t.amount, t.fee)
+            from Transaction t
+            where t.accountOrigin = :accountOrigin
+              and t.scheduleDate between :from and :to
+            order by t.scheduleDate, t.id
+            """)
+    List<TransactionSummaryDTO> findByOriginInDateRange(@Param("accountOrigin") String accountOrigin,
+                                                        @Param("from") LocalDate from,
+                                                        @Param("to") LocalDate to);
+
+    /**
+     * Counts the transactions of an origin account scheduled within a date range.
+     *
+     * @param accountOrigin the origin account number
+     * @param from the inclusive lower bound for the schedule date
+     * @param to the inclusive upper bound for the schedule date
+     * @return the number of matching transactions
+     */
+    @Query("""
+            select count(t) from Transaction t
+            where t.accountOrigin = :accountOrigin
+              and t.scheduleDate between :from and :to
+            """)
+    long countByOriginInDateRange(@Param("accountOrigin") String accountOrigin,
+                                  @Param("from") LocalDate from,
+                                  @Param("to") LocalDate to);
+
+    /**
+     * Finds the IDs of the transactions of an origin account scheduled within a date range.
+     * <p>
+     * Bulk operations take this list up front and then work through it in chunks, so rows
+     * they move within the range are not picked up a second time. Answered from the
+     * {@code (deleted_at, account_origin, schedule_date)} index alone.
+     * </p>
+     *
+     * @param accountOrigin the origin account number
+     * @param from the inclusive lower bound for the schedule date
+     * @param to the inclusive upper bound for the schedule date
+     * @return the matching IDs in ascending order
+     */
+    @Query("""
+            select t.id from Transaction t
+            where t.accountOrigin = :accountOrigin
+              and t.scheduleDate between :from and :to
+            order by t.id
+            """)
+    List<Long> findIdsByOriginInDateRange(@Param("accountOrigin") String accountOrigin,
+                                          @Param("from") LocalDate from,
+                                          @Param("to") LocalDate to);
+
+    /**
+     * Marks the given transactions as deleted in a single statement, provided they still belong
+     * to the origin account and date range.
+     * <p>
+     * The range is checked again so that transactions changed since their IDs were read
+     * are left alone. The rows stay in place as tombstones until they are purged.
+     * </p>
+     *
+     * @param ids the IDs of the transactions to delete
+     * @param accountOrigin the origin account number
+     * @param from the inclusive lower bound for the schedule date
+     * @param to the inclusive upper bound for the schedule date
+     * @param deletedAt the deletion timestamp
+     * @return the number of transactions deleted
+     */
+    @Modifying
+    @Query("""
+            update Transaction t
+            set t.deletedAt = :deletedAt, t.version = t.version + 1
+            where t.id in :ids
+              and t.accountOrigin = :accountOrigin
+              and t.scheduleDate between :from and :to
+              and t.deletedAt is null
+            """)
+    int markDeletedByIdInOriginDateRange(@Param("ids") Collection<Long> ids,
+                                         @Param("accountOrigin") String accountOrigin,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to,
+                                         @Param("deletedAt") Instant deletedAt);
+
+    /**
+     * Marks a transaction as deleted.
+     * <p>
+     * The row stays in place as a tombstone, hidden from all other queries, until it is purged.
+     * Its version is incremented, so concurrent updates of the same transaction fail. The
+     * persistence context is cleared afterwards, so a copy loaded earlier is not returned again.
+     * </p>
+     *
+     * @param id the transaction ID
+     * @param deletedAt the deletion timestamp
+     * @return 1 if the transaction was deleted, 0 if it did not exist or was already deleted
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Transaction t
+            set t.deletedAt = :deletedAt, t.version = t.version + 1
+            where t.id = :id
+              and t.deletedAt is null
+            """)
+    int markDeleted(@Param("id") Long id, @Param("deletedAt") Instant deletedAt);
+
+    /**
+     * Counts the tombstones waiting to be purged.
+     * <p>
+     * A native query, since the tombstones are hidden from JPQL. Both indexes lead with
+     * {@code deleted_at}, so this reads an index rather than the table.
+     * </p>
+     *
+     * @return the number of deleted transactions still stored
+     */
+    @Query(value = "select count(*) from \"transactions\" where \"deleted_at\" is not null", nativeQuery = true)
+    long countDeleted();
+
+    /**
+     * Counts the tombstones deleted before the given instant.
+     *
+     * @param cutoff the exclusive upper bound for the deletion timestamp
+     * @return the number of deleted transactions old enough to be purged
+     */
+    @Query(value = "select count(*) from \"transactions\" where \"deleted_at\" < :cutoff", nativeQuery = true)
+    long countDeletedBefore(@Param("cutoff") Instant cutoff);
+
+    /**
+     * Physically removes the oldest tombstones deleted before the given instant, in one statement.
+     * <p>
+     * Used by the purger, which calls it in batches. The oldest tombstones are found by a range
+     * scan on {@code deleted_at}, the leading column of both indexes.
+     * </p>
+     *
+     * @param cutoff the exclusive upper bound for the deletion timestamp
+     * @param limit the maximum number of rows to remove
+     * @return the number of rows removed
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from "transactions"
+            where "id" in (
+                select "id" from "transactions"
+                where "deleted_at" < :cutoff
+                order by "deleted_at", "id"
+                fetch first :limit rows only)
+            """, nativeQuery = true)
+    int purgeDeletedBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    /**
+     * Finds the oldest transactions scheduled strictly before the given date.
+     * <p>
+     * Used by the archiver to move transactions past the retention horizon in batches.
+     * Served by the {@code (deleted_at, schedule_date, id)} index.
+     * </p>
+     *
+     * @param horizon the exclusive upper bound for the schedule date
+     * @param limit the maximum number of transactions to return
+     * @return the matching transactions ordered by schedule date and ID
+     */
+    @Query("select t from Transaction t where t.scheduleDate < :horizon order by t.scheduleDate, t.id")
+    List<Transaction> findScheduledBefore(@Param("horizon") LocalDate horizon, Limit limit);
+
+    /**
+     * Removes a transaction that was copied to the archive, provided it is still the version
+     * that was copied.
+     * <p>
+     * Used by the archiver once the copy is committed. A transaction updated or deleted since
+     * it was read is left in place, so neither the update nor the tombstone is lost.
+     * </p>
+     *
+     * @param id the transaction ID
+     * @param version the version that was copied to the archive
+     * @return 1 if the transaction was removed, 0 if it changed or no longer exists
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Transaction t where t.id = :id and t.version = :version and t.deletedAt is null")
+    int deleteIfUnchanged(@Param("id") Long id, @Param("version") Long version);
+
+    /**
+     * Counts and sums the transactions created on the given date, per origin account.
+     * <p>
+     * Used once on startup to warm up the velocity limits. There is no index on the
+     * creation date, so this reads the whole table.
+     * </p>
+     *
+     * @param creationDate the creation date
+     * @return the number and total amount of transactions of each origin account
+     */
+    @Query("""
+            select new com.bank.money.dto.OriginTotalsDTO(t.accountOrigin, count(t), sum(t.amount))
+            from Transaction t
+            where t.creationDate = :creationDate
+            group by t.accountOrigin
+            """)
+    List<OriginTotalsDTO> findCreationTotalsByOrigin(@Param("creationDate") LocalDate creationDate);
+
+    /**
+     * Streams the transactions scheduled within a date range, in no particular order.
+     * <p>
+     * Used by the fee simulator to read a large history without materializing it. The
+     * stream must be consumed inside a transaction and closed afterwards.
+     * </p>
+     *
+     * @param from the inclusive lower bound for the schedule date
+     * @param to the inclusive upper bound for the schedule date
+     * @return the matching transactions as response projections
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.bank.money.dto.TransactionResponseDTO(
+                t.id, t.accountOrigin, t.accountDestination, t.creationDate, t.scheduleDate, t.amount, t.fee)
+            from Transaction t
+            where t.scheduleDate between :from and :to
+            """)
+    Stream<TransactionResponseDTO> streamResponsesScheduledBetween(@Param("from") LocalDate from,
+                                                                   @Param("to") LocalDate to);
+
+    /**
+     * Streams the transactions scheduled on the given date, ordered by ID.
+     * <p>
+     * Used by the settlement run, which reads a whole day of transactions: rows are fetched
+     * from the database in chunks instead of being collected into a list. The stream must be
+     * consumed inside a transaction and closed afterwards. Served by the
+     * {@code (deleted_at, schedule_date, id)} index.
+     * </p>
+     *
+     * @param date the schedule date
+     * @return the transactions scheduled on that date
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.bank.money.dto.TransactionSummaryDTO(
+                t.id, t.accountOrigin, t.accountDestination, t.scheduleDate, t.amount, t.fee)
+            from Transaction t
+            where t.scheduleDate = :date
+            order by t.id
+            """)
+    Stream<TransactionSummaryDTO> streamByScheduleDate(@Param("date") LocalDate date);
 }
@@ -0,0 +1,778 @@
+package com.bank.money.repository.memory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import com.bank.money.domain.Transaction;
+import com.bank.money.dto.OriginTotalsDTO;
+import com.bank.money.dto.TransactionResponseDTO;
+import com.bank.money.dto.TransactionSummaryDTO;
+import com.bank.money.dto.VersionStampDTO;
+import com.bank.money.repository.TransactionRepository;
+import com.bank.money.repository.support.ListFluentQuery;
+import com.bank.money.repository.support.TransactionProperties;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Concurrent in-memory implementation of {@link TransactionRepository}.
+ * <p>
+ * Active under the {@code memory} profile, which also switches off the datasource and
+ * JPA auto-configuration, so {@code TransactionService} runs without a relational database.
+ * Transactions are kept as detached copies in a hash map keyed by ID, and two sorted
+ * concurrent indexes mirror the composite database indexes declared on {@link Transaction}:
+ * {@code (scheduleDate, id)} and {@code (accountOrigin, scheduleDate, id)}. They hold live
+ * transactions only, which is what the {@code deleted_at} prefix of the database indexes
+ * achieves.
+ * </p>
+ * <p>
+ * Writes for a given ID are serialized through {@link ConcurrentHashMap#compute}, which also
+ * keeps the secondary indexes in step with the stored copy. Readers never lock; index hits
+ * are re-checked against the stored copy so a concurrent reschedule cannot leak stale rows.
+ * </p>
+ * <p>
+ * When {@code money.store.memory.snapshot-file} is set, the store is loaded from that file on
+ * startup and written back to it on shutdown.
+ * </p>
+ * <p>
+ * Versions follow JPA optimistic locking: a new transaction is stored with version 0, each
+ * save of an existing one increments it, and saving a stale copy fails with
+ * {@link ObjectOptimisticLockingFailureException}.
+ * </p>
+ * <p>
+ * Deleted transactions stay in the map as tombstones, like the rows of the relational backend:
+ * they are dropped from the secondary indexes, skipped by every read and removed by
+ * {@link #purgeDeletedBefore}. Snapshots include them.
+ * </p>
+ * <p>
+ * Sorted reads and query by example scan all transactions and sort or match them with
+ * {@link TransactionProperties}, in the same order as the relational backend.
+ * </p>
+ */
+@Repository
+@Profile("memory")
+public class InMemoryTransactionRepository implements TransactionRepository {
+
+    private static final int SNAPSHOT_VERSION = 3;
+
+    private final ConcurrentHashMap<Long, Transaction> transactions = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<ScheduleKey> scheduleIndex = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<OriginKey> originIndex = new ConcurrentSkipListSet<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Path snapshotFile;
+
+    /**
+     * Constructs a new InMemoryTransactionRepository.
+     *
+     * @param snapshotFile the file used to persist the store between runs, or blank to keep it purely in memory
+     */
+    public InMemoryTransactionRepository(@Value("${money.store.memory.snapshot-file:}") String snapshotFile) {
+        this.snapshotFile = snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+    }
+
+    // ---------------------------------------------------------------------
+    // Query methods
+    // ---------------------------------------------------------------------
+
+    @Override
+    public List<TransactionResponseDTO> findAllResponses() {
+        return sortedById().stream().map(TransactionResponseDTO::from).toList();
+    }
+
+    @Override
+    public List<TransactionResponseDTO> findResponsesAfter(Long afterId, Limit limit) {
+        Stream<TransactionResponseDTO> after = transactions.values().stream()
+                .filter(t -> t.getDeletedAt() == null && t.getId() > afterId)
+                .sorted(Comparator.comparing(Transaction::getId))
+                .map(TransactionResponseDTO::from);
+        return (limit.isLimited() ? after.limit(limit.max()) : after).toList();
+    }
+
+    @Override
+    public Optional<TransactionResponseDTO> findResponseById(Long id) {
+        return Optional.ofNullable(live(id)).map(TransactionResponseDTO::from);
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return Optional.ofNullable(live(id)).map(Transaction::getVersion);
+    }
+
+    @Override
+    public VersionStampDTO findVersionStamp() {
+        long count = 0;
+        long checksum = 0;
+        for (Transaction transaction : transactions.values()) {
+            if (transaction.getDeletedAt() != null) {
+                continue;
+            }
+            count++;
+            checksum += VersionStampDTO.hash(transaction.getId(), transaction.getVersion());
+        }
+        return new VersionStampDTO(count, checksum);
+    }
+
+    @Override
+    public List<TransactionSummaryDTO> findDueOnOrBefore(LocalDate date) {
+        return dueOnOrBefore(date).map(InMemoryTransactionRepository::toSummary).toList();
+    }
+
+    @Override
+    public long countDueOnOrBefore(LocalDate date) {
+        return dueOnOrBefore(date).count();
+    }
+
+    @Override
+    public List<TransactionSummaryDTO> findByOriginInDateRange(String accountOrigin, LocalDate from, LocalDate to) {
+        return originInDateRange(accountOrigin, from, to).map(InMemoryTransactionRepository::toSummary).toList();
+    }
+
+    @Override
+    public long countByOriginInDateRange(String accountOrigin, LocalDate from, LocalDate to) {
+        return originInDateRange(accountOrigin, from, to).count();
+    }
+
+    @Override
+    public List<Long> findIdsByOriginInDateRange(String accountOrigin, LocalDate from, LocalDate to) {
+        return originInDateRange(accountOrigin, from, to).map(Transaction::getId).sorted().toList();
+    }
+
+    @Override
+    public int markDeletedByIdInOriginDateRange(Collection<Long> ids, String accountOrigin, LocalDate from,
+                                                LocalDate to, Instant deletedAt) {
+        int[] deleted = new int[1];
+        for (Long id : ids) {
+            transactions.computeIfPresent(id, (key, previous) -> {
+                if (previous.getDeletedAt() != null
+                        || !accountOrigin.equals(previous.getAccountOrigin())
+                        || previous.getScheduleDate().isBefore(from)
+                        || previous.getScheduleDate().isAfter(to)) {
+                    return previous;
+                }
+                deleted[0]++;
+                return tombstone(previous, deletedAt);
+            });
+        }
+        return deleted[0];
+    }
+
+    @Override
+    public int markDeleted(Long id, Instant deletedAt) {
+        int[] deleted = new int[1];
+        transactions.computeIfPresent(id, (key, previous) -> {
+            if (previous.getDeletedAt() != null) {
+                return previous;
+            }
+            deleted[0]++;
+            return tombstone(previous, deletedAt);
+        });
+        return deleted[0];
+    }
+
+    @Override
+    public long countDeleted() {
+        return transactions.values().stream().filter(t -> t.getDeletedAt() != null).count();
+    }
+
+    @Override
+    public long countDeletedBefore(Instant cutoff) {
+        return deletedBefore(cutoff).count();
+    }
+
+    @Override
+    public int purgeDeletedBefore(Instant cutoff, int limit) {
+        List<Transaction> due = deletedBefore(cutoff)
+                .sorted(Comparator.comparing(Transaction::getDeletedAt).thenComparing(Transaction::getId))
+                .limit(limit)
+                .toList();
+        int purged = 0;
+        for (Transaction tombstone : due) {
+            if (transactions.remove(tombstone.getId(), tombstone)) {
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    @Override
+    public List<Transaction> findScheduledBefore(LocalDate horizon, Limit limit) {
+        Stream<Transaction> before = scheduleIndex.headSet(ScheduleKey.lowerBound(horizon), false).stream()
+                .map(key -> live(key.id()))
+                .filter(t -> t != null && t.getScheduleDate().isBefore(horizon))
+                .map(InMemoryTransactionRepository::copy);
+        return (limit.isLimited() ? before.limit(limit.max()) : before).toList();
+    }
+
+    @Override
+    public int deleteIfUnchanged(Long id, Long version) {
+        int[] deleted = new int[1];
+        transactions.computeIfPresent(id, (key, previous) -> {
+            if (previous.getDeletedAt() != null || !previous.getVersion().equals(version)) {
+                return previous;
+            }
+            deleted[0]++;
+            unindex(previous);
+            return null;
+        });
+        return deleted[0];
+    }
+
+    @Override
+    public List<OriginTotalsDTO> findCreationTotalsByOrigin(LocalDate creationDate) {
+        Map<String, OriginTotalsDTO> totals = new HashMap<>();
+        for (Transaction transaction : transactions.values()) {
+            if (transaction.getDeletedAt() == null && creationDate.equals(transaction.getCreationDate())) {
+                totals.merge(transaction.getAccountOrigin(),
+                        new OriginTotalsDTO(transaction.getAccountOrigin(), 1L, transaction.getAmount()),
+                        (a, b) -> new OriginTotalsDTO(a.accountOrigin(), a.count() + b.count(), a.amount().add(b.amount())));
+            }
+        }
+        return new ArrayList<>(totals.values());
+    }
+
+    @Override
+    public Stream<TransactionResponseDTO> streamResponsesScheduledBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return Stream.empty();
+        }
+        return scheduleIndex.subSet(ScheduleKey.lowerBound(from), true, ScheduleKey.upperBound(to), true).stream()
+                .map(key -> live(key.id()))
+                .filter(t -> t != null && !t.getScheduleDate().isBefore(from) && !t.getScheduleDate().isAfter(to))
+                .map(TransactionResponseDTO::from);
+    }
+
+    @Override
+    public Stream<TransactionSummaryDTO> streamByScheduleDate(LocalDate date) {
+        return scheduleIndex.subSet(ScheduleKey.lowerBound(date), true, ScheduleKey.upperBound(date), true).stream()
+                .map(key -> live(key.id()))
+                .filter(t -> t != null && date.equals(t.getScheduleDate()))
+                .map(InMemoryTransactionRepository::toSummary);
+    }
+
+    private Stream<Transaction> deletedBefore(Instant cutoff) {
+        return transactions.values().stream().filter(t -> t.getDeletedAt() != null && t.getDeletedAt().isBefore(cutoff));
+    }
+
+    private Stream<Transaction> dueOnOrBefore(LocalDate date) {
+        return scheduleIndex.headSet(ScheduleKey.upperBound(date), true).stream()
+                .map(key -> live(key.id()))
+                .filter(t -> t != null && !t.getScheduleDate().isAfter(date));
+    }
+
+    private Stream<Transaction> originInDateRange(String accountOrigin, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return Stream.empty();
+        }
+        return originIndex.subSet(OriginKey.lowerBound(accountOrigin, from), true,
+                        OriginKey.upperBound(accountOrigin, to), true).stream()
+                .map(key -> live(key.id()))
+                .filter(t -> t != null
+                        && accountOrigin.equals(t.getAccountOrigin())
+                        && !t.getScheduleDate().isBefore(from)
+                        && !t.getScheduleDate().isAfter(to));
+    }
+
+    // ---------------------------------------------------------------------
+    // CRUD
+    // ---------------------------------------------------------------------
+
+    @Override
+    public <S extends Transaction> S save(S entity) {
+        if (entity.getAccountOrigin() == null || entity.getScheduleDate() == null) {
+            throw new IllegalArgumentException("Transaction must have an origin account and a schedule date");
+        }
+        if (entity.getId() == null) {
+            entity.setId(sequence.incrementAndGet());
+        } else {
+            sequence.accumulateAndGet(entity.getId(), Math::max);
+        }
+        Transaction stored = copy(entity);
+        transactions.compute(stored.getId(), (id, previous) -> {
+            if (previous != null) {
+                if (previous.getDeletedAt() != null
+                        || entity.getVersion() != null && !entity.getVersion().equals(previous.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Transaction.class, id);
+                }
+                unindex(previous);
+                stored.setVersion(previous.getVersion() + 1);
+            } else if (stored.getVersion() == null) {
+                stored.setVersion(0L);
+            }
+            if (stored.getDeletedAt() == null) {
+                index(stored);
+            }
+            return stored;
+        });
+        entity.setVersion(stored.getVersion());
+        return entity;
+    }
+
+    @Override
+    public <S extends Transaction> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public Optional<Transaction> findById(Long id) {
+        return Optional.ofNullable(live(id)).map(InMemoryTransactionRepository::copy);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return live(id) != null;
+    }
+
+    @Override
+    public List<Transaction> findAll() {
+        return sortedById().stream().map(InMemoryTransactionRepository::copy).toList();
+    }
+
+    @Override
+    public List<Transaction> findAllById(Iterable<Long> ids) {
+        List<Transaction> found = new ArrayList<>();
+        ids.forEach(id -> findById(id).ifPresent(found::add));
+        return found;
+    }
+
+    @Override
+    public long count() {
+        return transactions.values().stream().filter(t -> t.getDeletedAt() == null).count();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        transactions.computeIfPresent(id, (key, previous) -> {
+            unindex(previous);
+            return null;
+        });
+    }
+
+    @Override
+    public void delete(Transaction entity) {
+        if (entity.getId() != null) {
+            deleteById(entity.getId());
+        }
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Transaction> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        transactions.keySet().forEach(this::deleteById);
+    }
+
+    @Override
+    public List<Transaction> findAll(Sort sort) {
+        return sorted(matching(t -> true), sort);
+    }
+
+    @Override
+    public Page<Transaction> findAll(Pageable pageable) {
+        return page(matching(t -> true), pageable);
+    }
+
+    // ---------------------------------------------------------------------
+    // JPA-specific operations
+    // ---------------------------------------------------------------------
+
+    @Override
+    public void flush() {
+        // Writes are applied immediately; nothing to flush.
+    }
+
+    @Override
+    public <S extends Transaction> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends Transaction> List<S> saveAllAndFlush(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<Transaction> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    @Deprecated
+    public Transaction getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public Transaction getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public Transaction getReferenceById(Long id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException("Transaction not found: " + id));
+    }
+
+    @Override
+    public <S extends Transaction> Optional<S> findOne(Example<S> example) {
+        List<S> found = findAll(example);
+        if (found.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, found.size());
+        }
+        return found.stream().findFirst();
+    }
+
+    @Override
+    public <S extends Transaction> List<S> findAll(Example<S> example) {
+        return matching(example);
+    }
+
+    @Override
+    public <S extends Transaction> List<S> findAll(Example<S> example, Sort sort) {
+        return sorted(matching(example), sort);
+    }
+
+    @Override
+    public <S extends Transaction> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return page(matching(example), pageable);
+    }
+
+    @Override
+    public <S extends Transaction> long count(Example<S> example) {
+        Predicate<Transaction> matcher = TransactionProperties.matcher(example);
+        return transactions.values().stream().filter(t -> t.getDeletedAt() == null && matcher.test(t)).count();
+    }
+
+    @Override
+    public <S extends Transaction> boolean exists(Example<S> example) {
+        Predicate<Transaction> matcher = TransactionProperties.matcher(example);
+        return transactions.values().stream().anyMatch(t -> t.getDeletedAt() == null && matcher.test(t));
+    }
+
+    @Override
+    public <S extends Transaction, R> R findBy(Example<S> example,
+                                               Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        return queryFunction.apply(ListFluentQuery.of(() -> matching(example)));
+    }
+
+    private <S extends Transaction> List<S> matching(Example<S> example) {
+        return matching(TransactionProperties.matcher(example));
+    }
+
+    /**
+     * Copies of the live transactions accepted by the predicate, ordered by ID.
+     */
+    @SuppressWarnings("unchecked")
+    private <S extends Transaction> List<S> matching(Predicate<Transaction> predicate) {
+        return transactions.values().stream()
+                .filter(t -> t.getDeletedAt() == null && predicate.test(t))
+                .sorted(Comparator.comparing(Transaction::getId))
+                .map(t -> (S) copy(t))
+                .toList();
+    }
+
+    private static <S extends Transaction> List<S> sorted(List<S> byId, Sort sort) {
+        if (sort.isUnsorted()) {
+            return byId;
+        }
+        return byId.stream().sorted(TransactionProperties.comparator(TransactionProperties.withIdTieBreak(sort))).toList();
+    }
+
+    private static <S extends Transaction> Page<S> page(List<S> byId, Pageable pageable) {
+        List<S> all = sorted(byId, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+        List<S> content = all.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return new PageImpl<>(content, pageable, all.size());
+    }
+
+    // ---------------------------------------------------------------------
+    // Snapshots
+    // ---------------------------------------------------------------------
+
+    /**
+     * Loads the snapshot file, if one is configured and present.
+     */
+    @PostConstruct
+    void loadSnapshot() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            int version = in.readInt();
+            if (version < 1 || version > SNAPSHOT_VERSION) {
+                throw new IllegalStateException("Unsupported snapshot version " + version + " in " + snapshotFile);
+            }
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                save(readTransaction(in, version));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load snapshot " + snapshotFile, e);
+        }
+    }
+
+    /**
+     * Writes the current contents to the snapshot file, if one is configured.
+     * <p>
+     * The snapshot is written to a temporary file first and then moved into place, so a
+     * crash while writing never leaves a truncated snapshot behind.
+     * </p>
+     */
+    @PreDestroy
+    void writeSnapshot() {
+        if (snapshotFile == null) {
+            return;
+        }
+        List<Transaction> all = new ArrayList<>(transactions.values());
+        all.sort(Comparator.comparing(Transaction::getId));
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, snapshotFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(all.size());
+                for (Transaction transaction : all) {
+                    writeTransaction(out, transaction);
+                }
+            }
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write snapshot " + snapshotFile, e);
+        }
+    }
+
+    private static void writeTransaction(DataOutputStream out, Transaction transaction) throws IOException {
+        out.writeLong(transaction.getId());
+        writeString(out, transaction.getAccountOrigin());
+        writeString(out, transaction.getAccountDestination());
+        writeDate(out, transaction.getCreationDate());
+        writeDate(out, transaction.getScheduleDate());
+        writeDecimal(out, transaction.getAmount());
+        writeDecimal(out, transaction.getFee());
+        out.writeLong(transaction.getVersion());
+        writeInstant(out, transaction.getDeletedAt());
+    }
+
+    private static Transaction readTransaction(DataInputStream in, int snapshotVersion) throws IOException {
+        Transaction transaction = new Transaction();
+        transaction.setId(in.readLong());
+        transaction.setAccountOrigin(readString(in));
+        transaction.setAccountDestination(readString(in));
+        transaction.setCreationDate(readDate(in));
+        transaction.setScheduleDate(readDate(in));
+        transaction.setAmount(readDecimal(in));
+        transaction.setFee(readDecimal(in));
+        // Version 1 snapshots predate the version column
+        transaction.setVersion(snapshotVersion >= 2 ? in.readLong() : 0L);
+        // Version 2 snapshots predate tombstones
+        transaction.setDeletedAt(snapshotVersion >= 3 ? readInstant(in) : null);
+        return transaction;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDate value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochDay());
+        }
+    }
+
+    private static LocalDate readDate(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null;
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getEpochSecond());
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        writeString(out, value == null ? null : value.toString());
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        String value = readString(in);
+        return value == null ? null : new BigDecimal(value);
+    }
+
+    // ---------------------------------------------------------------------
+    // Internals
+    // ---------------------------------------------------------------------
+
+    private Transaction live(Long id) {
+        Transaction transaction = transactions.get(id);
+        return transaction == null || transaction.getDeletedAt() != null ? null : transaction;
+    }
+
+    private Transaction tombstone(Transaction previous, Instant deletedAt) {
+        unindex(previous);
+        Transaction tombstone = copy(previous);
+        tombstone.setDeletedAt(deletedAt);
+        tombstone.setVersion(previous.getVersion() + 1);
+        return tombstone;
+    }
+
+    private List<Transaction> sortedById() {
+        List<Transaction> all = new ArrayList<>(transactions.values());
+        all.removeIf(t -> t.getDeletedAt() != null);
+        all.sort(Comparator.comparing(Transaction::getId));
+        return all;
+    }
+
+    private void index(Transaction transaction) {
+        scheduleIndex.add(new ScheduleKey(transaction.getScheduleDate(), transaction.getId()));
+        originIndex.add(new OriginKey(transaction.getAccountOrigin(), transaction.getScheduleDate(), transaction.getId()));
+    }
+
+    private void unindex(Transaction transaction) {
+        scheduleIndex.remove(new ScheduleKey(transaction.getScheduleDate(), transaction.getId()));
+        originIndex.remove(new OriginKey(transaction.getAccountOrigin(), transaction.getScheduleDate(), transaction.getId()));
+    }
+
+    private static Transaction copy(Transaction source) {
+        return new Transaction(
+                source.getId(),
+                source.getAccountOrigin(),
+                source.getAccountDestination(),
+                source.getCreationDate(),
+                source.getScheduleDate(),
+                source.getAmount(),
+                source.getFee(),
+                source.getVersion(),
+                source.getDeletedAt());
+    }
+
+    private static TransactionSummaryDTO toSummary(Transaction transaction) {
+        return new TransactionSummaryDTO(
+                transaction.getId(),
+                transaction.getAccountOrigin(),
+                transaction.getAccountDestination(),
+                transaction.getScheduleDate(),
+                transaction.getAmount(),
+                transaction.getFee());
+    }
+
+    /**
+     * Entry of the {@code (scheduleDate, id)} index.
+     */
+    private record ScheduleKey(LocalDate scheduleDate, long id) implements Comparable<ScheduleKey> {
+
+        static ScheduleKey lowerBound(LocalDate scheduleDate) {
+            return new ScheduleKey(scheduleDate, Long.MIN_VALUE);
+        }
+
+        static ScheduleKey upperBound(LocalDate scheduleDate) {
+            return new ScheduleKey(scheduleDate, Long.MAX_VALUE);
+        }
+
+        @Override
+        public int compareTo(ScheduleKey other) {
+            int byDate = scheduleDate.compareTo(other.scheduleDate);
+            return byDate != 0 ? byDate : Long.compare(id, other.id);
+        }
+    }
+
+    /**
+     * Entry of the {@code (accountOrigin, scheduleDate, id)} index.
+     */
+    private record OriginKey(String accountOrigin, LocalDate scheduleDate, long id) implements Comparable<OriginKey> {
+
+        static OriginKey lowerBound(String accountOrigin, LocalDate scheduleDate) {
+            return new OriginKey(accountOrigin, scheduleDate, Long.MIN_VALUE);
+        }
+
+        static OriginKey upperBound(String accountOrigin, LocalDate scheduleDate) {
+            return new OriginKey(accountOrigin, scheduleDate, Long.MAX_VALUE);
+        }
+
+        @Override
+        public int compareTo(OriginKey other) {
+            int byAccount = accountOrigin.compareTo(other.accountOrigin);
+            if (byAccount != 0) {
+                return byAccount;
+            }
+            int byDate = scheduleDate.compareTo(other.scheduleDate);
+            return byDate != 0 ? byDate : Long.compare(id, other.id);
+        }
+    }
+}
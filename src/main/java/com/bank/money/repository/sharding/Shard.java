@@ -0,0 +1,188 @@
+package com.bank.money.repository.sharding;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bank.money.domain.Transaction;
+import com.bank.money.repository.TransactionRepository;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * One shard of the transactions table: its own datasource, persistence unit, transaction
+ * manager and {@link TransactionRepository}.
+ * <p>
+ * Every call runs in a transaction of its own on this shard. IDs are generated by the shard's
+ * identity column, which is set up to hand out only values congruent to the shard index
+ * modulo the shard count, so the shard of a transaction can be told from its ID alone.
+ * </p>
+ * <p>
+ * JPA exceptions are translated to Spring's {@code DataAccessException} hierarchy, as the
+ * repository proxies of the primary persistence unit do; a stale update, for instance, fails
+ * with an {@code ObjectOptimisticLockingFailureException}.
+ * </p>
+ */
+final class Shard implements AutoCloseable {
+
+    private static final TransactionDefinition READ_ONLY = readOnly();
+
+    private final int index;
+    private final HikariDataSource dataSource;
+    private final LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private final JpaTransactionManager transactionManager;
+    private final TransactionTemplate reads;
+    private final TransactionTemplate writes;
+    private final TransactionRepository repository;
+    private final PersistenceExceptionTranslator exceptionTranslator;
+
+    private Shard(int index, HikariDataSource dataSource, LocalContainerEntityManagerFactoryBean entityManagerFactory,
+                  PersistenceExceptionTranslator exceptionTranslator) {
+        EntityManagerFactory emf = entityManagerFactory.getObject();
+        this.index = index;
+        this.exceptionTranslator = exceptionTranslator;
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionManager = new JpaTransactionManager(emf);
+        this.reads = new TransactionTemplate(transactionManager, READ_ONLY);
+        this.writes = new TransactionTemplate(transactionManager);
+        this.repository = new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(emf))
+                .getRepository(TransactionRepository.class);
+    }
+
+    /**
+     * Connects to a shard, creates or updates its schema and aligns its ID sequence.
+     *
+     * @param index the index of the shard
+     * @param shards the total number of shards
+     * @param url the JDBC URL of the shard
+     * @param username the database user
+     * @param password the database password
+     * @param jpaProperties the JPA properties of the persistence unit, including the schema mode
+     * @param vendorAdapter the JPA vendor adapter
+     * @return the open shard
+     */
+    static Shard open(int index, int shards, String url, String username, String password,
+                      Map<String, Object> jpaProperties, HibernateJpaVendorAdapter vendorAdapter) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("shard-" + index);
+        try {
+            LocalContainerEntityManagerFactoryBean entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+            entityManagerFactory.setPersistenceUnitName("shard-" + index);
+            entityManagerFactory.setDataSource(dataSource);
+            entityManagerFactory.setJpaVendorAdapter(vendorAdapter);
+            entityManagerFactory.setManagedTypes(PersistenceManagedTypes.of(Transaction.class.getName()));
+            entityManagerFactory.setJpaPropertyMap(jpaProperties);
+            entityManagerFactory.afterPropertiesSet();
+            alignIdSequence(new JdbcTemplate(dataSource), index, shards);
+            return new Shard(index, dataSource, entityManagerFactory, vendorAdapter.getJpaDialect());
+        } catch (RuntimeException e) {
+            dataSource.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Restarts the identity column at the first free value congruent to the shard index and
+     * makes it step by the shard count. The statement is H2 syntax.
+     */
+    private static void alignIdSequence(JdbcTemplate jdbcTemplate, int index, int shards) {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(\"id\"), 0) from \"transactions\"", Long.class);
+        long next = maxId + 1;
+        next += Math.floorMod(index - next, shards);
+        jdbcTemplate.execute("alter table \"transactions\" alter column \"id\" set increment by " + shards
+                + " restart with " + next);
+    }
+
+    int index() {
+        return index;
+    }
+
+    /**
+     * Runs a query in a read-only transaction on this shard.
+     *
+     * @param query the query to run against the shard's repository
+     * @param <T> the result type
+     * @return the result of the query
+     */
+    <T> T read(Function<TransactionRepository, T> query) {
+        try {
+            return reads.execute(status -> query.apply(repository));
+        } catch (RuntimeException e) {
+            throw DataAccessUtils.translateIfNecessary(e, exceptionTranslator);
+        }
+    }
+
+    /**
+     * Runs a write in a transaction on this shard, committed before this method returns.
+     *
+     * @param write the write to run against the shard's repository
+     * @param <T> the result type
+     * @return the result of the write
+     */
+    <T> T write(Function<TransactionRepository, T> write) {
+        try {
+            return writes.execute(status -> write.apply(repository));
+        } catch (RuntimeException e) {
+            throw DataAccessUtils.translateIfNecessary(e, exceptionTranslator);
+        }
+    }
+
+    /**
+     * Opens a stream in a read-only transaction on this shard, which stays open on the
+     * calling thread until the stream is closed.
+     * <p>
+     * Shards streamed at the same time must be closed in the reverse order of opening, as
+     * each transaction suspends the transaction state of the ones opened before it.
+     * </p>
+     *
+     * @param query the query returning the stream
+     * @param <T> the element type
+     * @return the stream, committing the shard transaction when closed
+     */
+    <T> Stream<T> stream(Function<TransactionRepository, Stream<T>> query) {
+        TransactionStatus status = transactionManager.getTransaction(READ_ONLY);
+        try {
+            return query.apply(repository).onClose(() -> transactionManager.commit(status));
+        } catch (RuntimeException e) {
+            transactionManager.rollback(status);
+            throw DataAccessUtils.translateIfNecessary(e, exceptionTranslator);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            entityManagerFactory.destroy();
+        } finally {
+            dataSource.close();
+        }
+    }
+
+    private static TransactionDefinition readOnly() {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        return definition;
+    }
+}
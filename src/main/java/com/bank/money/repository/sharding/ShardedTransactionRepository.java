@@ -0,0 +1,679 @@
+package com.bank.money.repository.sharding;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.stereotype.Repository;
+
+import com.bank.money.domain.Transaction;
+import com.bank.money.dto.OriginTotalsDTO;
+import com.bank.money.dto.TransactionResponseDTO;
+import com.bank.money.dto.TransactionSummaryDTO;
+import com.bank.money.dto.VersionStampDTO;
+import com.bank.money.exception.OriginAccountChangeException;
+import com.bank.money.repository.TransactionRepository;
+import com.bank.money.repository.support.ListFluentQuery;
+import com.bank.money.repository.support.TransactionProperties;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Implementation of {@link TransactionRepository} that spreads the transactions table over
+ * several databases by origin account.
+ * <p>
+ * Active under the {@code sharded} profile. Each of the {@code money.sharding.shards} shards has
+ * its own datasource and persistence unit holding only {@link Transaction}; the primary
+ * datasource keeps the archive. A transaction lives on the shard given by the hash of its origin
+ * account, and its ID is generated so that {@code id mod shards} is that same shard:
+ * </p>
+ * <ul>
+ *   <li>Lookups and writes by ID, and every query on one origin account, go to a single shard.</li>
+ *   <li>Other queries are sent to all shards in parallel and their results are merged in the
+ *       order the single-database query would have returned, so pagination by ID or by
+ *       schedule date works across shards.</li>
+ *   <li>Streams are merged lazily and hold one open transaction per shard until closed.</li>
+ * </ul>
+ * <p>
+ * Each call runs in a transaction of its own on its shard, committed before the call returns,
+ * so unlike on a single database, a service transaction spanning several calls is not atomic.
+ * The origin account is the shard key and cannot be changed once a transaction is stored: such
+ * an update fails with {@link OriginAccountChangeException}.
+ * </p>
+ * <p>
+ * Sorted reads and query by example are run on every shard and merged with the comparators of
+ * {@link TransactionProperties}, which order rows the way H2 does.
+ * </p>
+ */
+@Repository
+@Primary
+@Profile("sharded")
+public class ShardedTransactionRepository implements TransactionRepository {
+
+    private static final Comparator<Transaction> ENTITY_BY_SCHEDULE =
+            Comparator.comparing(Transaction::getScheduleDate).thenComparing(Transaction::getId);
+    private static final Comparator<TransactionResponseDTO> RESPONSE_BY_ID =
+            Comparator.comparing(TransactionResponseDTO::id);
+    private static final Comparator<TransactionSummaryDTO> SUMMARY_BY_ID =
+            Comparator.comparing(TransactionSummaryDTO::id);
+    private static final Comparator<TransactionSummaryDTO> SUMMARY_BY_SCHEDULE =
+            Comparator.comparing(TransactionSummaryDTO::scheduleDate).thenComparing(TransactionSummaryDTO::id);
+
+    private final List<Shard> shards;
+    private final ExecutorService fanOut;
+
+    /**
+     * Constructs a new ShardedTransactionRepository and opens all shards.
+     * <p>
+     * The shards use the same Hibernate settings as the primary persistence unit. Their schema
+     * is created or updated unless {@code spring.jpa.hibernate.ddl-auto} says otherwise.
+     * </p>
+     *
+     * @param shardCount the number of shards; must not change while data is kept
+     * @param url the JDBC URL of the shards, with {@code {index}} standing for the shard index
+     * @param username the database user of the shards
+     * @param password the database password of the shards
+     * @param jpaProperties the JPA settings of the application
+     * @param hibernateProperties the Hibernate settings of the application
+     */
+    public ShardedTransactionRepository(@Value("${money.sharding.shards}") int shardCount,
+                                        @Value("${money.sharding.url}") String url,
+                                        @Value("${money.sharding.username:sa}") String username,
+                                        @Value("${money.sharding.password:}") String password,
+                                        JpaProperties jpaProperties,
+                                        HibernateProperties hibernateProperties) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("money.sharding.shards must be at least 1");
+        }
+        Map<String, Object> properties = hibernateProperties.determineHibernateProperties(
+                jpaProperties.getProperties(), new HibernateSettings().ddlAuto(() -> "update"));
+        HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
+        vendorAdapter.setShowSql(jpaProperties.isShowSql());
+        vendorAdapter.setDatabasePlatform(jpaProperties.getDatabasePlatform());
+
+        List<Shard> opened = new ArrayList<>(shardCount);
+        try {
+            for (int i = 0; i < shardCount; i++) {
+                opened.add(Shard.open(i, shardCount, url.replace("{index}", String.valueOf(i)),
+                        username, password, properties, vendorAdapter));
+            }
+        } catch (RuntimeException e) {
+            opened.forEach(Shard::close);
+            throw e;
+        }
+        this.shards = List.copyOf(opened);
+        this.fanOut = Executors.newFixedThreadPool(shardCount,
+                Thread.ofPlatform().name("shard-fan-out-", 0).daemon().factory());
+    }
+
+    /**
+     * Closes all shards.
+     */
+    @PreDestroy
+    void shutdown() {
+        fanOut.shutdownNow();
+        shards.forEach(Shard::close);
+    }
+
+    // ---------------------------------------------------------------------
+    // Query methods
+    // ---------------------------------------------------------------------
+
+    @Override
+    public List<TransactionResponseDTO> findAllResponses() {
+        return merge(readAll(TransactionRepository::findAllResponses), RESPONSE_BY_ID, Limit.unlimited());
+    }
+
+    @Override
+    public List<TransactionResponseDTO> findResponsesAfter(Long afterId, Limit limit) {
+        // Each shard returns up to a full page, of which the merge keeps the lowest IDs
+        return merge(readAll(r -> r.findResponsesAfter(afterId, limit)), RESPONSE_BY_ID, limit);
+    }
+
+    @Override
+    public Optional<TransactionResponseDTO> findResponseById(Long id) {
+        return shardOf(id).read(r -> r.findResponseById(id));
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return shardOf(id).read(r -> r.findVersionById(id));
+    }
+
+    @Override
+    public VersionStampDTO findVersionStamp() {
+        // Checksums add up, so this is the stamp a single database with all rows would compute
+        return readAll(TransactionRepository::findVersionStamp).stream()
+                .reduce(new VersionStampDTO(0L, 0L), VersionStampDTO::plus);
+    }
+
+    @Override
+    public List<TransactionSummaryDTO> findDueOnOrBefore(LocalDate date) {
+        return merge(readAll(r -> r.findDueOnOrBefore(date)), SUMMARY_BY_SCHEDULE, Limit.unlimited());
+    }
+
+    @Override
+    public long countDueOnOrBefore(LocalDate date) {
+        return readAll(r -> r.countDueOnOrBefore(date)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public List<TransactionSummaryDTO> findByOriginInDateRange(String accountOrigin, LocalDate from, LocalDate to) {
+        return shardOf(accountOrigin).read(r -> r.findByOriginInDateRange(accountOrigin, from, to));
+    }
+
+    @Override
+    public long countByOriginInDateRange(String accountOrigin, LocalDate from, LocalDate to) {
+        return shardOf(accountOrigin).read(r -> r.countByOriginInDateRange(accountOrigin, from, to));
+    }
+
+    @Override
+    public List<Long> findIdsByOriginInDateRange(String accountOrigin, LocalDate from, LocalDate to) {
+        return shardOf(accountOrigin).read(r -> r.findIdsByOriginInDateRange(accountOrigin, from, to));
+    }
+
+    @Override
+    public int markDeletedByIdInOriginDateRange(Collection<Long> ids, String accountOrigin, LocalDate from,
+                                                LocalDate to, Instant deletedAt) {
+        return shardOf(accountOrigin).write(
+                r -> r.markDeletedByIdInOriginDateRange(ids, accountOrigin, from, to, deletedAt));
+    }
+
+    @Override
+    public int markDeleted(Long id, Instant deletedAt) {
+        return shardOf(id).write(r -> r.markDeleted(id, deletedAt));
+    }
+
+    @Override
+    public long countDeleted() {
+        return readAll(TransactionRepository::countDeleted).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public long countDeletedBefore(Instant cutoff) {
+        return readAll(r -> r.countDeletedBefore(cutoff)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public int purgeDeletedBefore(Instant cutoff, int limit) {
+        // Up to limit rows per shard, one shard after the other to keep the purge gentle
+        int purged = 0;
+        for (Shard shard : shards) {
+            purged += shard.write(r -> r.purgeDeletedBefore(cutoff, limit));
+        }
+        return purged;
+    }
+
+    @Override
+    public List<Transaction> findScheduledBefore(LocalDate horizon, Limit limit) {
+        return merge(readAll(r -> r.findScheduledBefore(horizon, limit)), ENTITY_BY_SCHEDULE, limit);
+    }
+
+    @Override
+    public int deleteIfUnchanged(Long id, Long version) {
+        return shardOf(id).write(r -> r.deleteIfUnchanged(id, version));
+    }
+
+    @Override
+    public List<OriginTotalsDTO> findCreationTotalsByOrigin(LocalDate creationDate) {
+        // An origin account lives on one shard only, so the groups never overlap
+        return readAll(r -> r.findCreationTotalsByOrigin(creationDate)).stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    @Override
+    public Stream<TransactionResponseDTO> streamResponsesScheduledBetween(LocalDate from, LocalDate to) {
+        // No order to keep, so the shards are read one after the other
+        return shards.stream().flatMap(shard -> shard.stream(r -> r.streamResponsesScheduledBetween(from, to)));
+    }
+
+    @Override
+    public Stream<TransactionSummaryDTO> streamByScheduleDate(LocalDate date) {
+        return mergeStreams(r -> r.streamByScheduleDate(date), SUMMARY_BY_ID);
+    }
+
+    // ---------------------------------------------------------------------
+    // CRUD
+    // ---------------------------------------------------------------------
+
+    @Override
+    public <S extends Transaction> S save(S entity) {
+        return shardOf(entity).write(r -> r.save(entity));
+    }
+
+    @Override
+    public <S extends Transaction> List<S> saveAll(Iterable<S> entities) {
+        List<S> all = new ArrayList<>();
+        entities.forEach(all::add);
+        Map<Shard, List<Integer>> positions = new LinkedHashMap<>();
+        for (int i = 0; i < all.size(); i++) {
+            positions.computeIfAbsent(shardOf(all.get(i)), shard -> new ArrayList<>()).add(i);
+        }
+        // One transaction per shard; the saved entities are returned in the order they were given
+        List<S> saved = new ArrayList<>(all);
+        positions.forEach((shard, indexes) -> {
+            List<S> group = indexes.stream().map(all::get).toList();
+            List<S> result = shard.write(r -> r.saveAll(group));
+            for (int i = 0; i < indexes.size(); i++) {
+                saved.set(indexes.get(i), result.get(i));
+            }
+        });
+        return saved;
+    }
+
+    @Override
+    public Optional<Transaction> findById(Long id) {
+        return shardOf(id).read(r -> r.findById(id));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return shardOf(id).read(r -> r.existsById(id));
+    }
+
+    @Override
+    public List<Transaction> findAll() {
+        return findAll(Sort.unsorted());
+    }
+
+    @Override
+    public List<Transaction> findAllById(Iterable<Long> ids) {
+        return byShard(ids).entrySet().stream()
+                .map(group -> group.getKey().read(r -> r.findAllById(group.getValue())))
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    @Override
+    public long count() {
+        return readAll(TransactionRepository::count).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        shardOf(id).write(r -> {
+            r.deleteById(id);
+            return null;
+        });
+    }
+
+    @Override
+    public void delete(Transaction entity) {
+        if (entity.getId() != null) {
+            deleteById(entity.getId());
+        }
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        byShard(ids).forEach((shard, group) -> shard.write(r -> {
+            r.deleteAllById(group);
+            return null;
+        }));
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Transaction> entities) {
+        deleteAllById(ids(entities));
+    }
+
+    @Override
+    public void deleteAll() {
+        shards.forEach(shard -> shard.write(r -> {
+            r.deleteAll();
+            return null;
+        }));
+    }
+
+    @Override
+    public List<Transaction> findAll(Sort sort) {
+        Sort order = TransactionProperties.withIdTieBreak(sort);
+        return merge(readAll(r -> r.findAll(order)), TransactionProperties.comparator(order), Limit.unlimited());
+    }
+
+    @Override
+    public Page<Transaction> findAll(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(findAll(pageable.getSort()));
+        }
+        return mergePages(pageable, (r, head) -> r.findAll(head), count());
+    }
+
+    // ---------------------------------------------------------------------
+    // JPA-specific operations
+    // ---------------------------------------------------------------------
+
+    @Override
+    public void flush() {
+        // Every call commits on its shard; nothing to flush.
+    }
+
+    @Override
+    public <S extends Transaction> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends Transaction> List<S> saveAllAndFlush(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<Transaction> entities) {
+        deleteAllByIdInBatch(ids(entities));
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        byShard(ids).forEach((shard, group) -> shard.write(r -> {
+            r.deleteAllByIdInBatch(group);
+            return null;
+        }));
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        shards.forEach(shard -> shard.write(r -> {
+            r.deleteAllInBatch();
+            return null;
+        }));
+    }
+
+    @Override
+    @Deprecated
+    public Transaction getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public Transaction getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public Transaction getReferenceById(Long id) {
+        // A lazy reference would outlive its shard transaction, so the transaction is loaded
+        return findById(id).orElseThrow(() -> new EntityNotFoundException("Transaction not found: " + id));
+    }
+
+    @Override
+    public <S extends Transaction> Optional<S> findOne(Example<S> example) {
+        List<S> found = readAll(r -> r.findOne(example)).stream().flatMap(Optional::stream).toList();
+        if (found.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, found.size());
+        }
+        return found.stream().findFirst();
+    }
+
+    @Override
+    public <S extends Transaction> List<S> findAll(Example<S> example) {
+        return findAll(example, Sort.unsorted());
+    }
+
+    @Override
+    public <S extends Transaction> List<S> findAll(Example<S> example, Sort sort) {
+        Sort order = TransactionProperties.withIdTieBreak(sort);
+        return merge(readAll(r -> r.findAll(example, order)), TransactionProperties.comparator(order), Limit.unlimited());
+    }
+
+    @Override
+    public <S extends Transaction> Page<S> findAll(Example<S> example, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(findAll(example, pageable.getSort()));
+        }
+        return mergePages(pageable, (r, head) -> r.findAll(example, head), count(example));
+    }
+
+    @Override
+    public <S extends Transaction> long count(Example<S> example) {
+        return readAll(r -> r.count(example)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public <S extends Transaction> boolean exists(Example<S> example) {
+        return readAll(r -> r.exists(example)).contains(true);
+    }
+
+    @Override
+    public <S extends Transaction, R> R findBy(Example<S> example,
+                                               Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        // The matches are gathered from all shards first; sorting and paging are applied to them
+        return queryFunction.apply(ListFluentQuery.of(() -> findAll(example)));
+    }
+
+    // ---------------------------------------------------------------------
+    // Routing
+    // ---------------------------------------------------------------------
+
+    /**
+     * Returns the index of the shard holding the transactions of an origin account.
+     *
+     * @param accountOrigin the origin account number
+     * @return the shard index
+     */
+    public int shardIndexOf(String accountOrigin) {
+        return Math.floorMod(accountOrigin.hashCode(), shards.size());
+    }
+
+    /**
+     * Returns the index of the shard holding a transaction, derived from its ID.
+     *
+     * @param id the transaction ID
+     * @return the shard index
+     */
+    public int shardIndexOf(long id) {
+        return Math.floorMod(id, shards.size());
+    }
+
+    private Shard shardOf(String accountOrigin) {
+        return shards.get(shardIndexOf(accountOrigin));
+    }
+
+    private Shard shardOf(Long id) {
+        return shards.get(shardIndexOf(id));
+    }
+
+    private Shard shardOf(Transaction transaction) {
+        if (transaction.getAccountOrigin() == null) {
+            throw new IllegalArgumentException("Transaction must have an origin account");
+        }
+        Shard shard = shardOf(transaction.getAccountOrigin());
+        if (transaction.getId() != null && shardIndexOf(transaction.getId()) != shard.index()) {
+            throw new OriginAccountChangeException("The origin account of transaction " + transaction.getId()
+                    + " cannot be changed: it would move to another shard");
+        }
+        return shard;
+    }
+
+    private Map<Shard, List<Long>> byShard(Iterable<? extends Long> ids) {
+        Map<Shard, List<Long>> groups = new LinkedHashMap<>();
+        for (Long id : ids) {
+            groups.computeIfAbsent(shardOf(id), shard -> new ArrayList<>()).add(id);
+        }
+        return groups;
+    }
+
+    private static List<Long> ids(Iterable<? extends Transaction> entities) {
+        List<Long> ids = new ArrayList<>();
+        for (Transaction entity : entities) {
+            if (entity.getId() != null) {
+                ids.add(entity.getId());
+            }
+        }
+        return ids;
+    }
+
+    // ---------------------------------------------------------------------
+    // Scatter-gather
+    // ---------------------------------------------------------------------
+
+    /**
+     * Runs a read on every shard in parallel.
+     *
+     * @return the result of each shard, in shard order
+     */
+    private <T> List<T> readAll(Function<TransactionRepository, T> query) {
+        if (shards.size() == 1) {
+            return List.of(shards.get(0).read(query));
+        }
+        List<CompletableFuture<T>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> shard.read(query), fanOut))
+                .toList();
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Merges lists that are each sorted by the given order into one sorted list.
+     */
+    private static <T> List<T> merge(List<List<T>> sorted, Comparator<? super T> order, Limit limit) {
+        List<T> merged = new ArrayList<>();
+        Iterator<T> iterator = new MergingIterator<>(sorted.stream().map(List::iterator).toList(), order);
+        while (iterator.hasNext() && (limit.isUnlimited() || merged.size() < limit.max())) {
+            merged.add(iterator.next());
+        }
+        return merged;
+    }
+
+    /**
+     * Reads one page in the given order from all shards. Any shard may hold the whole page, so
+     * each one is asked for everything up to its end, and the merge skips to its start.
+     */
+    private <S extends Transaction> Page<S> mergePages(Pageable pageable,
+                                                       BiFunction<TransactionRepository, Pageable, Page<S>> query,
+                                                       long total) {
+        Sort order = TransactionProperties.withIdTieBreak(pageable.getSort());
+        int end = Math.toIntExact(pageable.getOffset() + pageable.getPageSize());
+        PageRequest head = PageRequest.of(0, end, order);
+        List<S> content = merge(readAll(r -> query.apply(r, head).getContent()), TransactionProperties.comparator(order),
+                Limit.of(end))
+                .stream()
+                .skip(pageable.getOffset())
+                .toList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Opens the stream on every shard and merges them into one stream sorted by the given order.
+     * <p>
+     * Closing the merged stream closes the shard streams in the reverse order of opening.
+     * </p>
+     */
+    private <T> Stream<T> mergeStreams(Function<TransactionRepository, Stream<T>> query, Comparator<? super T> order) {
+        List<Stream<T>> opened = new ArrayList<>(shards.size());
+        try {
+            for (Shard shard : shards) {
+                opened.add(shard.stream(query));
+            }
+        } catch (RuntimeException e) {
+            closeInReverse(opened);
+            throw e;
+        }
+        Iterator<T> merged = new MergingIterator<>(opened.stream().map(Stream::iterator).toList(), order);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> closeInReverse(opened));
+    }
+
+    private static void closeInReverse(List<? extends Stream<?>> streams) {
+        RuntimeException failure = null;
+        for (int i = streams.size() - 1; i >= 0; i--) {
+            try {
+                streams.get(i).close();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * K-way merge of iterators that are each sorted by the same order.
+     */
+    private static final class MergingIterator<T> implements Iterator<T> {
+
+        private final PriorityQueue<Head<T>> heads;
+
+        MergingIterator(List<Iterator<T>> sources, Comparator<? super T> order) {
+            this.heads = new PriorityQueue<>(Math.max(1, sources.size()), (a, b) -> order.compare(a.value(), b.value()));
+            for (Iterator<T> source : sources) {
+                if (source.hasNext()) {
+                    heads.add(new Head<>(source.next(), source));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            Head<T> head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            if (head.source().hasNext()) {
+                heads.add(new Head<>(head.source().next(), head.source()));
+            }
+            return head.value();
+        }
+
+        private record Head<T>(T value, Iterator<T> source) {
+        }
+    }
+}
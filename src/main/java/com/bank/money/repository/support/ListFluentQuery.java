@@ -0,0 +1,157 @@
+package com.bank.money.repository.support;
+
+import java.lang.reflect.Constructor;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.FluentQuery;
+
+import com.bank.money.domain.Transaction;
+
+/**
+ * {@link FluentQuery.FetchableFluentQuery} over transactions that were already matched in memory,
+ * backing {@code findBy(Example, Function)} of the repositories that do not run SQL themselves.
+ * <p>
+ * Sorting, limits and pages are applied to the matched list. Results are projected to
+ * {@link Transaction} itself, to interfaces through a projection proxy, or to classes such as
+ * records through the constructor whose parameter names are transaction properties. Property
+ * selections with {@link #project} are only a fetch hint and do not change the result.
+ * </p>
+ *
+ * @param <T> the result type
+ */
+public final class ListFluentQuery<T> implements FluentQuery.FetchableFluentQuery<T> {
+
+    private static final SpelAwareProxyProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    private final Supplier<List<? extends Transaction>> matches;
+    private final Sort sort;
+    private final int limit;
+    private final Function<Transaction, T> projection;
+
+    private ListFluentQuery(Supplier<List<? extends Transaction>> matches, Sort sort, int limit,
+                            Function<Transaction, T> projection) {
+        this.matches = matches;
+        this.sort = sort;
+        this.limit = limit;
+        this.projection = projection;
+    }
+
+    /**
+     * Creates a query over the given matches, which are loaded only once a result is requested.
+     *
+     * @param matches the transactions matching the example, ordered by ID
+     * @param <S> the example type
+     * @return the query
+     */
+    @SuppressWarnings("unchecked")
+    public static <S extends Transaction> ListFluentQuery<S> of(Supplier<List<? extends Transaction>> matches) {
+        return new ListFluentQuery<>(matches, Sort.unsorted(), 0, transaction -> (S) transaction);
+    }
+
+    @Override
+    public FetchableFluentQuery<T> sortBy(Sort sort) {
+        return new ListFluentQuery<>(matches, this.sort.and(sort), limit, projection);
+    }
+
+    @Override
+    public FetchableFluentQuery<T> limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative");
+        }
+        return new ListFluentQuery<>(matches, sort, limit, projection);
+    }
+
+    @Override
+    public <R> FetchableFluentQuery<R> as(Class<R> resultType) {
+        return new ListFluentQuery<>(matches, sort, limit, projectionTo(resultType));
+    }
+
+    @Override
+    public FetchableFluentQuery<T> project(Collection<String> properties) {
+        properties.forEach(TransactionProperties::property);
+        return this;
+    }
+
+    @Override
+    public T oneValue() {
+        List<T> results = all();
+        if (results.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, results.size());
+        }
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    @Override
+    public T firstValue() {
+        return stream().findFirst().orElse(null);
+    }
+
+    @Override
+    public List<T> all() {
+        return stream().toList();
+    }
+
+    @Override
+    public Page<T> page(Pageable pageable) {
+        List<? extends Transaction> sorted = sorted(pageable.getSort().isSorted() ? sort.and(pageable.getSort()) : sort);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(sorted.stream().map(projection).toList());
+        }
+        List<T> content = sorted.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(projection)
+                .toList();
+        return new PageImpl<>(content, pageable, sorted.size());
+    }
+
+    @Override
+    public Stream<T> stream() {
+        Stream<? extends Transaction> sorted = sorted(sort).stream();
+        return (limit > 0 ? sorted.limit(limit) : sorted).map(projection);
+    }
+
+    @Override
+    public long count() {
+        return matches.get().size();
+    }
+
+    @Override
+    public boolean exists() {
+        return !matches.get().isEmpty();
+    }
+
+    private List<? extends Transaction> sorted(Sort order) {
+        List<? extends Transaction> all = matches.get();
+        if (order.isUnsorted()) {
+            return all;
+        }
+        return all.stream().sorted(TransactionProperties.comparator(TransactionProperties.withIdTieBreak(order))).toList();
+    }
+
+    private static <R> Function<Transaction, R> projectionTo(Class<R> resultType) {
+        if (resultType.isAssignableFrom(Transaction.class)) {
+            return resultType::cast;
+        }
+        if (resultType.isInterface()) {
+            return transaction -> PROJECTIONS.createProjection(resultType, transaction);
+        }
+        Constructor<R> constructor = BeanUtils.getResolvableConstructor(resultType);
+        List<Function<Transaction, Object>> arguments = Stream.of(BeanUtils.getParameterNames(constructor))
+                .map(TransactionProperties::property)
+                .toList();
+        return transaction -> BeanUtils.instantiateClass(constructor,
+                arguments.stream().map(argument -> argument.apply(transaction)).toArray());
+    }
+}
@@ -0,0 +1,176 @@
+package com.bank.money.repository.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.support.ExampleMatcherAccessor;
+import org.springframework.data.util.TypeInformation;
+
+import com.bank.money.domain.Transaction;
+
+/**
+ * Sorting and query by example over the properties of {@link Transaction}, for repositories
+ * that evaluate them in memory instead of in SQL.
+ * <p>
+ * The results follow what the JPA repository returns on H2: without an explicit null
+ * handling, nulls sort before other values in ascending order and after them in descending
+ * order, {@code ignoreCase} compares lower-cased strings and amounts compare by value, not
+ * by scale.
+ * </p>
+ */
+public final class TransactionProperties {
+
+    private static final Map<String, Function<Transaction, Object>> PROPERTIES = properties();
+
+    private TransactionProperties() {
+    }
+
+    /**
+     * Returns the given sort with the ID appended as the last order, unless it already sorts by
+     * ID, so that the order of transactions with equal sort keys is well defined.
+     *
+     * @param sort the requested sort, possibly unsorted
+     * @return the sort ending with the ID
+     */
+    public static Sort withIdTieBreak(Sort sort) {
+        return sort.getOrderFor("id") == null ? sort.and(Sort.by("id")) : sort;
+    }
+
+    /**
+     * Builds a comparator ordering transactions like the given sort.
+     *
+     * @param sort the sort
+     * @return the comparator; equal for all transactions if the sort is unsorted
+     * @throws PropertyReferenceException if the sort names a property {@link Transaction} does not have
+     */
+    public static Comparator<Transaction> comparator(Sort sort) {
+        Comparator<Transaction> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Function<Transaction, Object> property = property(order.getProperty());
+            Comparator<Object> values = order.isIgnoreCase() ? TransactionProperties::compareIgnoreCase
+                    : TransactionProperties::compare;
+            if (order.isDescending()) {
+                values = values.reversed();
+            }
+            boolean nullsFirst = switch (order.getNullHandling()) {
+                case NULLS_FIRST -> true;
+                case NULLS_LAST -> false;
+                case NATIVE -> order.isAscending();
+            };
+            comparator = comparator.thenComparing(property,
+                    nullsFirst ? Comparator.nullsFirst(values) : Comparator.nullsLast(values));
+        }
+        return comparator;
+    }
+
+    /**
+     * Builds a predicate matching the transactions described by an example.
+     * <p>
+     * Honours the ignored paths, null handling, string matchers, case sensitivity, value
+     * transformers and the all/any mode of the example's matcher.
+     * </p>
+     *
+     * @param example the example
+     * @return the predicate
+     */
+    public static Predicate<Transaction> matcher(Example<? extends Transaction> example) {
+        ExampleMatcherAccessor accessor = new ExampleMatcherAccessor(example.getMatcher());
+        Transaction probe = example.getProbe();
+        List<Predicate<Transaction>> predicates = new ArrayList<>();
+        PROPERTIES.forEach((path, property) -> {
+            if (accessor.isIgnoredPath(path)) {
+                return;
+            }
+            Optional<Object> expected = accessor.getValueTransformerForPath(path)
+                    .apply(Optional.ofNullable(property.apply(probe)));
+            if (expected.isEmpty()) {
+                if (accessor.getNullHandler() == ExampleMatcher.NullHandler.INCLUDE) {
+                    predicates.add(transaction -> property.apply(transaction) == null);
+                }
+                return;
+            }
+            Predicate<Object> value = expected.get() instanceof String string
+                    ? stringMatcher(string, accessor.getStringMatcherForPath(path), accessor.isIgnoreCaseForPath(path))
+                    : actual -> compare(expected.get(), actual) == 0;
+            predicates.add(transaction -> {
+                Object actual = property.apply(transaction);
+                return actual != null && value.test(actual);
+            });
+        });
+        if (example.getMatcher().isAllMatching()) {
+            return transaction -> predicates.stream().allMatch(predicate -> predicate.test(transaction));
+        }
+        return transaction -> predicates.isEmpty() || predicates.stream().anyMatch(predicate -> predicate.test(transaction));
+    }
+
+    /**
+     * Returns the getter of a property.
+     *
+     * @param name the property name
+     * @return the getter
+     * @throws PropertyReferenceException if {@link Transaction} has no such property
+     */
+    public static Function<Transaction, Object> property(String name) {
+        Function<Transaction, Object> property = PROPERTIES.get(name);
+        if (property == null) {
+            throw new PropertyReferenceException(name, TypeInformation.of(Transaction.class), List.of());
+        }
+        return property;
+    }
+
+    private static Predicate<Object> stringMatcher(String expected, ExampleMatcher.StringMatcher matcher, boolean ignoreCase) {
+        if (matcher == ExampleMatcher.StringMatcher.REGEX) {
+            Pattern pattern = Pattern.compile(expected, ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0);
+            return actual -> pattern.matcher(actual.toString()).matches();
+        }
+        String wanted = ignoreCase ? expected.toLowerCase(Locale.ROOT) : expected;
+        return actual -> {
+            String value = ignoreCase ? actual.toString().toLowerCase(Locale.ROOT) : actual.toString();
+            return switch (matcher) {
+                case STARTING -> value.startsWith(wanted);
+                case ENDING -> value.endsWith(wanted);
+                case CONTAINING -> value.contains(wanted);
+                default -> value.equals(wanted);
+            };
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object a, Object b) {
+        return ((Comparable) a).compareTo(b);
+    }
+
+    private static int compareIgnoreCase(Object a, Object b) {
+        if (a instanceof String x && b instanceof String y) {
+            return x.toLowerCase(Locale.ROOT).compareTo(y.toLowerCase(Locale.ROOT));
+        }
+        return compare(a, b);
+    }
+
+    private static Map<String, Function<Transaction, Object>> properties() {
+        Map<String, Function<Transaction, Object>> properties = new LinkedHashMap<>();
+        properties.put("id", Transaction::getId);
+        properties.put("accountOrigin", Transaction::getAccountOrigin);
+        properties.put("accountDestination", Transaction::getAccountDestination);
+        properties.put("creationDate", Transaction::getCreationDate);
+        properties.put("scheduleDate", Transaction::getScheduleDate);
+        properties.put("amount", Transaction::getAmount);
+        properties.put("fee", Transaction::getFee);
+        properties.put("version", Transaction::getVersion);
+        properties.put("deletedAt", Transaction::getDeletedAt);
+        return Collections.unmodifiableMap(properties);
+    }
+}
@@ -3,16 +3,28 @@ package com.bank.money.service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import com.bank.money.domain.ArchivedTransaction;
 import com.bank.money.domain.Transaction;
-import com.bank.money.exception.BusinessException;
+import com.bank.money.dto.TransactionResponseDTO;
+import com.bank.money.dto.VersionStampDTO;
+import com.bank.money.exception.TransactionConflictException;
+import com.bank.money.exception.TransactionNotFoundException;
+import com.bank.money.repository.TransactionArchiveRepository;
 import com.bank.money.repository.TransactionRepository;
+import com.bank.money.service.clock.BusinessClock;
 import com.bank.money.service.strategy.FeeStrategy;
 import com.bank.money.service.strategy.FeeStrategyFactory;
+import com.bank.money.service.velocity.VelocityLimiter;
 
 /**
  * Service layer for managing transaction business logic.
@@ -32,61 +44,168 @@ import com.bank.money.service.strategy.FeeStrategyFactory;
  *   <li>For amounts over $2,000 scheduled more than 40 days ahead: 1.7%</li>
  *   <li>If no condition matches, fee is $0</li>
  * </ul>
+ * <p>
+ * Reads fall through to the archive tier when it is available: transactions moved out of
+ * the hot table by the archiver are still returned by ID and in the full listing, but they
+ * can no longer be updated or deleted.
+ * </p>
+ * <p>
+ * New transactions are subject to the per-account velocity limits of {@link VelocityLimiter}
+ * when it is enabled.
+ * </p>
  *
  */
 @Service
 public class TransactionService {
 
+    private static final Logger log = LoggerFactory.getLogger(TransactionService.class);
+
     private final TransactionRepository repository;
     private final FeeStrategyFactory feeStrategyFactory;
+    private final BusinessClock businessClock;
+    private final Optional<TransactionArchiveRepository> archiveRepository;
+    private final Optional<VelocityLimiter> velocityLimiter;
 
     /**
-     * Constructs a new TransactionService with the specified repository and fee strategy factory.
+     * Constructs a new TransactionService with the specified repositories, fee strategy factory and clock.
      * 
      * @param repository the transaction repository for data access
      * @param feeStrategyFactory the factory for creating fee calculation strategies
+     * @param businessClock the source of the current business date
+     * @param archiveRepository the archive tier, or empty when the storage backend has none
+     * @param velocityLimiter the velocity limits applied to new transactions, or empty when disabled
      */
-    public TransactionService(TransactionRepository repository, FeeStrategyFactory feeStrategyFactory) {
+    public TransactionService(TransactionRepository repository, FeeStrategyFactory feeStrategyFactory,
+                              BusinessClock businessClock, Optional<TransactionArchiveRepository> archiveRepository,
+                              Optional<VelocityLimiter> velocityLimiter) {
         this.repository = repository;
         this.feeStrategyFactory = feeStrategyFactory;
+        this.businessClock = businessClock;
+        this.archiveRepository = archiveRepository;
+        this.velocityLimiter = velocityLimiter;
     }
 
     /**
-     * Retrieves all transactions from the database.
+     * Retrieves all transactions from the hot table.
      *
-     * @return a list of all transactions
+     * @return a list of all transactions that have not been archived
      */
     public List<Transaction> findAll() {
         return repository.findAll();
     }
 
     /**
-     * Finds a transaction by its unique identifier.
+     * Finds a transaction by its unique identifier, falling through to the archive.
      *
      * @param id the transaction ID
      * @return an Optional containing the transaction if found, or empty if not found
      */
     public Optional<Transaction> findById(Long id) {
-        return repository.findById(id);
+        return repository.findById(id)
+                .or(() -> archiveRepository.flatMap(archive -> archive.findById(id))
+                        .map(ArchivedTransaction::toTransaction));
+    }
+
+    /**
+     * Retrieves all transactions as API responses.
+     * <p>
+     * The responses are projected directly by the query, so no managed entities are loaded.
+     * </p>
+     *
+     * @return a list of all transactions, including archived ones, as responses ordered by ID
+     */
+    public List<TransactionResponseDTO> findAllResponses() {
+        List<TransactionResponseDTO> hot = repository.findAllResponses();
+        return archiveRepository
+                .map(archive -> mergeById(archive.findAllResponses(), hot))
+                .orElse(hot);
+    }
+
+    /**
+     * Retrieves one page of transactions as API responses, continuing after the given ID.
+     * <p>
+     * The hot table and the archive are each asked for a full page and the lowest IDs of
+     * both are kept.
+     * </p>
+     *
+     * @param afterId the exclusive lower bound for the ID, 0 for the first page
+     * @param limit the maximum number of transactions to return
+     * @return the next transactions, including archived ones, ordered by ID
+     */
+    public List<TransactionResponseDTO> findResponsesAfter(long afterId, int limit) {
+        List<TransactionResponseDTO> hot = repository.findResponsesAfter(afterId, Limit.of(limit));
+        return archiveRepository
+                .map(archive -> mergeById(archive.findResponsesAfter(afterId, Limit.of(limit)), hot))
+                .map(merged -> merged.size() > limit ? merged.subList(0, limit) : merged)
+                .orElse(hot);
+    }
+
+    /**
+     * Finds a transaction by its unique identifier as an API response.
+     *
+     * @param id the transaction ID
+     * @return an Optional containing the response if found, or empty if not found
+     */
+    public Optional<TransactionResponseDTO> findResponseById(Long id) {
+        return repository.findResponseById(id)
+                .or(() -> archiveRepository.flatMap(archive -> archive.findResponseById(id)));
+    }
+
+    /**
+     * Finds the version of a transaction without loading it.
+     *
+     * @param id the transaction ID
+     * @return an Optional containing the version if found, or empty if not found
+     */
+    public Optional<Long> findVersionById(Long id) {
+        return repository.findVersionById(id)
+                .or(() -> archiveRepository.flatMap(archive -> archive.findVersionById(id)));
+    }
+
+    /**
+     * Computes the version stamp of all transactions, including archived ones.
+     *
+     * @return the version stamp of the list returned by {@link #findAllResponses()}
+     */
+    public VersionStampDTO findVersionStamp() {
+        VersionStampDTO hot = repository.findVersionStamp();
+        return archiveRepository
+                .map(archive -> hot.plus(archive.findVersionStamp()))
+                .orElse(hot);
     }
 
     /**
      * Saves a new transaction to the database.
      * <p>
-     * This method automatically sets the creation date to the current date
-     * and calculates the transaction fee based on the amount and schedule date.
+     * This method automatically sets the creation date to the current business date
+     * and calculates the transaction fee based on the amount and schedule date. The
+     * business date is read once, so the creation date and the fee always refer to the same day.
+     * </p>
+     * <p>
+     * The transaction is counted against the velocity limits of its origin account before it
+     * is saved, and taken back out if saving fails.
      * </p>
      *
      * @param transaction the transaction to save
      * @return the saved transaction with ID, creation date, and calculated fee
+     * @throws com.bank.money.exception.VelocityLimitExceededException if the origin account exceeded a velocity limit
      */
     public Transaction save(Transaction transaction) {
-        transaction.setCreationDate(LocalDate.now());
+        LocalDate today = businessClock.today();
+        transaction.setCreationDate(today);
 
-        BigDecimal fee = calculateFee(transaction.getAmount(), transaction.getScheduleDate());
-        System.out.println("This is the calculated fee = " + fee);
+        BigDecimal fee = calculateFee(transaction.getAmount(), transaction.getScheduleDate(), today);
+        log.debug("Calculated fee {} for amount {} scheduled on {}", fee, transaction.getAmount(), transaction.getScheduleDate());
         transaction.setFee(fee);
-        return repository.save(transaction);
+
+        Optional<VelocityLimiter.Permit> permit = velocityLimiter
+                .map(limiter -> limiter.acquire(transaction.getAccountOrigin(), transaction.getAmount()));
+        try {
+            return repository.save(transaction);
+        } catch (RuntimeException e) {
+            permit.ifPresent(VelocityLimiter.Permit::release);
+            throw e;
+        }
     }
 
     /**
@@ -95,49 +214,105 @@ public class TransactionService {
      * This method updates the modifiable fields of the transaction and recalculates
      * the fee based on the new amount and schedule date. The creation date is preserved.
      * </p>
+     * <p>
+     * The write is checked against the version that was loaded, so an update racing another
+     * update, a delete or the archiver fails instead of silently overwriting the other change.
+     * </p>
      *
      * @param id the ID of the transaction to update
      * @param transaction the transaction object containing the updated values
      * @return the updated transaction
-     * @throws BusinessException if the transaction with the specified ID is not found
+     * @throws TransactionNotFoundException if the transaction with the specified ID is not found
+     * @throws TransactionConflictException if the transaction was changed or removed concurrently
      */
     public Transaction update(Long id, Transaction transaction) {
-        return repository.findById(id).map(existing -> {
-            existing.setAccountOrigin(transaction.getAccountOrigin());
-            existing.setAccountDestination(transaction.getAccountDestination());
-            existing.setScheduleDate(transaction.getScheduleDate());
-            existing.setAmount(transaction.getAmount());
-            existing.setFee(calculateFee(transaction.getAmount(), transaction.getScheduleDate()));
+        LocalDate today = businessClock.today();
+        Transaction existing = repository.findById(id)
+                .orElseThrow(() -> new TransactionNotFoundException("Transaction not found"));
+        existing.setAccountOrigin(transaction.getAccountOrigin());
+        existing.setAccountDestination(transaction.getAccountDestination());
+        existing.setScheduleDate(transaction.getScheduleDate());
+        existing.setAmount(transaction.getAmount());
+        existing.setFee(calculateFee(transaction.getAmount(), transaction.getScheduleDate(), today));
+        try {
             return repository.save(existing);
-        }).orElseThrow(() -> new BusinessException("Transaction not found"));
+        } catch (OptimisticLockingFailureException e) {
+            throw new TransactionConflictException("Transaction " + id + " was changed concurrently");
+        }
     }
 
     /**
      * Deletes a transaction by its ID.
+     * <p>
+     * The transaction is only marked as deleted: it disappears from all reads at once, and the
+     * row is removed later by the background purger.
+     * </p>
      *
      * @param id the ID of the transaction to delete
+     * @throws TransactionNotFoundException if no transaction with the specified ID exists
+     * @throws TransactionConflictException if the transaction has been archived
      */
     public void delete(Long id) {
-        repository.deleteById(id);
+        if (repository.markDeleted(id, businessClock.instant()) > 0) {
+            return;
+        }
+        if (archiveRepository.flatMap(archive -> archive.findVersionById(id)).isPresent()) {
+            throw new TransactionConflictException("Transaction " + id + " is archived and can no longer be deleted");
+        }
+        throw new TransactionNotFoundException("Transaction not found");
     }
 
     /**
      * Calculates the transaction fee based on the amount and schedule date.
      * <p>
-     * The fee is determined by the amount and the number of days between the current
+     * The fee is determined by the amount and the number of days between the given business
      * date and the scheduled date according to the business rules defined in the class documentation.
      * Uses the Strategy pattern with a Factory to select the appropriate fee calculation strategy.
      * </p>
      *
      * @param amount the transaction amount
      * @param scheduleDate the date when the transaction is scheduled to occur
+     * @param today the current business date
      * @return the calculated fee, or BigDecimal.ZERO if no fee rules apply
      */
-    private BigDecimal calculateFee(BigDecimal amount, LocalDate scheduleDate) {
-        long daysBetween = ChronoUnit.DAYS.between(LocalDate.now(), scheduleDate);
-        System.out.println("Days between today and scheduleDate: " + daysBetween);
+    private BigDecimal calculateFee(BigDecimal amount, LocalDate scheduleDate, LocalDate today) {
+        long daysBetween = ChronoUnit.DAYS.between(today, scheduleDate);
+        log.debug("Days between today and schedule date: {}", daysBetween);
 
         FeeStrategy strategy = feeStrategyFactory.getStrategy(amount, daysBetween);
         return strategy.calculateFee(amount);
     }
+
+    /**
+     * Merges two lists of responses that are each ordered by ID into one ordered list.
+     * <p>
+     * A transaction present in both lists is kept once, from the second list. This happens for
+     * a moment while the archiver moves it: the archive copy is committed before the hot row
+     * is deleted.
+     * </p>
+     */
+    private static List<TransactionResponseDTO> mergeById(List<TransactionResponseDTO> first,
+                                                          List<TransactionResponseDTO> second) {
+        if (first.isEmpty()) {
+            return second;
+        }
+        List<TransactionResponseDTO> merged = new ArrayList<>(first.size() + second.size());
+        int i = 0;
+        int j = 0;
+        while (i < first.size() && j < second.size()) {
+            long a = first.get(i).id();
+            long b = second.get(j).id();
+            if (a < b) {
+                merged.add(first.get(i++));
+            } else {
+                if (a == b) {
+                    i++;
+                }
+                merged.add(second.get(j++));
+            }
+        }
+        merged.addAll(first.subList(i, first.size()));
+        merged.addAll(second.subList(j, second.size()));
+        return merged;
+    }
 }
@@ -0,0 +1,188 @@
+package com.bank.money.service.archive;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bank.money.domain.ArchivedTransaction;
+import com.bank.money.domain.Transaction;
+import com.bank.money.repository.TransactionArchiveRepository;
+import com.bank.money.repository.TransactionRepository;
+import com.bank.money.service.clock.BusinessClock;
+import com.bank.money.service.profiling.BatchJobEvent;
+
+/**
+ * Background job that moves old transactions from the hot table to the archive.
+ * <p>
+ * Transactions scheduled before the retention horizon ({@code money.archive.retention-days}
+ * before the current business date) are copied to {@code transactions_archive} and deleted
+ * from {@code transactions}. The work is done in batches of {@code money.archive.batch-size}
+ * rows, oldest first, with a pause of
+ * {@code money.archive.batch-pause} between batches so that a large backlog does not starve
+ * the request path. A single run moves at most {@code money.archive.max-batches-per-run}
+ * batches; whatever is left is picked up by the next run.
+ * </p>
+ * <p>
+ * Each batch is committed to the archive before it is deleted from the hot table, as the two
+ * tables may live in different databases (see the {@code sharded} profile). A batch whose
+ * delete fails stays in both tables until the next run, which replaces the copies that already
+ * exist and retries the delete; reads return such a transaction only once.
+ * </p>
+ * <p>
+ * The batch is read outside any transaction, so a row is only deleted from the hot table if it
+ * still has the version that was copied and has not been deleted in the meantime. The copies
+ * of rows that were updated or deleted concurrently are dropped again: an updated transaction
+ * is archived with its new values by a later batch, and a deleted one stays deleted.
+ * </p>
+ * <p>
+ * The archiver needs the relational backend and is therefore not active under the
+ * {@code memory} profile. It can be switched off with {@code money.archive.enabled=false}.
+ * </p>
+ */
+@Component
+@Lazy(false)
+@Profile("!memory")
+@ConditionalOnProperty(prefix = "money.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionArchiver.class);
+
+    private final TransactionRepository repository;
+    private final TransactionArchiveRepository archiveRepository;
+    private final BusinessClock businessClock;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final int maxBatchesPerRun;
+
+    /**
+     * Constructs a new TransactionArchiver.
+     *
+     * @param repository the hot transaction repository
+     * @param archiveRepository the archive repository
+     * @param businessClock the source of the current business date
+     * @param transactionManager the transaction manager used to commit each batch to the archive
+     * @param retentionDays the number of days past the schedule date a transaction stays in the hot table
+     * @param batchSize the number of transactions moved per batch
+     * @param batchPause the pause between two batches
+     * @param maxBatchesPerRun the maximum number of batches moved by a single run
+     */
+    public TransactionArchiver(TransactionRepository repository,
+                               TransactionArchiveRepository archiveRepository,
+                               BusinessClock businessClock,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${money.archive.retention-days:90}") int retentionDays,
+                               @Value("${money.archive.batch-size:500}") int batchSize,
+                               @Value("${money.archive.batch-pause:200ms}") Duration batchPause,
+                               @Value("${money.archive.max-batches-per-run:200}") int maxBatchesPerRun) {
+        this.repository = repository;
+        this.archiveRepository = archiveRepository;
+        this.businessClock = businessClock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * Scheduled entry point, running every {@code money.archive.interval}.
+     */
+    @Scheduled(fixedDelayString = "${money.archive.interval:PT1H}",
+            initialDelayString = "${money.archive.initial-delay:PT5M}")
+    public void run() {
+        archiveDueTransactions();
+    }
+
+    /**
+     * Moves transactions scheduled before the retention horizon to the archive.
+     *
+     * @return the number of transactions archived by this run
+     */
+    public long archiveDueTransactions() {
+        BatchJobEvent event = BatchJobEvent.start("archive");
+        LocalDate horizon = businessClock.today().minusDays(retentionDays);
+        long archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            BatchResult result = archiveBatch(horizon);
+            archived += result.moved();
+            if (result.selected() < batchSize || !pause()) {
+                break;
+            }
+        }
+        event.finish(archived);
+        if (archived > 0) {
+            log.info("Archived {} transactions scheduled before {}", archived, horizon);
+        }
+        return archived;
+    }
+
+    private BatchResult archiveBatch(LocalDate horizon) {
+        List<Transaction> batch = repository.findScheduledBefore(horizon, Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+        Instant now = businessClock.instant();
+        transactionTemplate.executeWithoutResult(status -> {
+            // Copies left behind by a failed delete may be older than the hot rows
+            List<Long> stale = archiveRepository.findIdsByIdIn(batch.stream().map(Transaction::getId).toList());
+            if (!stale.isEmpty()) {
+                archiveRepository.deleteAllByIdInBatch(stale);
+            }
+            archiveRepository.saveAll(batch.stream().map(t -> ArchivedTransaction.from(t, now)).toList());
+        });
+        // Only once the copies are committed, so no failure can lose a row from both tables
+        List<Long> changed = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Transaction transaction : batch) {
+                if (repository.deleteIfUnchanged(transaction.getId(), transaction.getVersion()) == 0) {
+                    changed.add(transaction.getId());
+                }
+            }
+            if (!changed.isEmpty()) {
+                archiveRepository.deleteAllByIdInBatch(changed);
+            }
+        });
+        if (!changed.isEmpty()) {
+            log.debug("Kept {} transactions changed while being archived in the hot table", changed.size());
+        }
+        return new BatchResult(batch.size(), batch.size() - changed.size());
+    }
+
+    /**
+     * Outcome of one batch.
+     *
+     * @param selected the number of transactions read from the hot table
+     * @param moved the number of them moved to the archive
+     */
+    private record BatchResult(int selected, int moved) {
+    }
+
+    private boolean pause() {
+        if (batchPause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.bank.money.service.bulk;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bank.money.domain.Transaction;
+import com.bank.money.repository.TransactionRepository;
+import com.bank.money.service.strategy.FeeStrategyFactory;
+
+/**
+ * Applies one chunk of a bulk operation in its own database transaction.
+ * <p>
+ * Kept apart from {@link BulkTransactionService} so that each call goes through the
+ * transactional proxy. Every chunk checks again that its transactions still belong to
+ * the selected account and date range, so rows changed since the selection was taken
+ * are skipped rather than overwritten. A row updated concurrently while its chunk is being
+ * rescheduled fails the chunk with an optimistic-locking conflict instead;
+ * {@link BulkTransactionService} retries such a chunk once and otherwise counts it as skipped.
+ * </p>
+ */
+@Component
+public class BulkChunkProcessor {
+
+    private final TransactionRepository repository;
+    private final FeeStrategyFactory feeStrategyFactory;
+
+    /**
+     * Constructs a new BulkChunkProcessor.
+     *
+     * @param repository the transaction repository
+     * @param feeStrategyFactory the factory selecting the fee strategy of a rescheduled transaction
+     */
+    public BulkChunkProcessor(TransactionRepository repository, FeeStrategyFactory feeStrategyFactory) {
+        this.repository = repository;
+        this.feeStrategyFactory = feeStrategyFactory;
+    }
+
+    /**
+     * Moves a chunk of transactions to their new schedule dates and recomputes their fees.
+     * <p>
+     * The chunk is loaded with a single query and written back as batched updates when the
+     * transaction commits. Transactions whose new date would fall before {@code today} are skipped.
+     * </p>
+     *
+     * @param ids the IDs of the chunk
+     * @param selection the account and date range the transactions must still match
+     * @param newScheduleDate computes the new schedule date from the current one
+     * @param today the business date the fees are priced at
+     * @return the number of transactions rescheduled
+     */
+    @Transactional
+    public int reschedule(List<Long> ids, Selection selection, UnaryOperator<LocalDate> newScheduleDate,
+                          LocalDate today) {
+        List<Transaction> changed = new ArrayList<>(ids.size());
+        for (Transaction transaction : repository.findAllById(ids)) {
+            if (!selection.matches(transaction)) {
+                continue;
+            }
+            LocalDate scheduleDate = newScheduleDate.apply(transaction.getScheduleDate());
+            if (scheduleDate.isBefore(today)) {
+                continue;
+            }
+            BigDecimal amount = transaction.getAmount();
+            long daysBetween = ChronoUnit.DAYS.between(today, scheduleDate);
+            transaction.setScheduleDate(scheduleDate);
+            transaction.setFee(feeStrategyFactory.getStrategy(amount, daysBetween).calculateFee(amount));
+            changed.add(transaction);
+        }
+        repository.saveAll(changed);
+        return changed.size();
+    }
+
+    /**
+     * Marks a chunk of transactions as deleted with a single statement.
+     *
+     * @param ids the IDs of the chunk
+     * @param selection the account and date range the transactions must still match
+     * @param deletedAt the deletion timestamp
+     * @return the number of transactions deleted
+     */
+    @Transactional
+    public int cancel(List<Long> ids, Selection selection, Instant deletedAt) {
+        return repository.markDeletedByIdInOriginDateRange(
+                ids, selection.accountOrigin(), selection.from(), selection.to(), deletedAt);
+    }
+
+    /**
+     * The transactions a bulk operation applies to.
+     *
+     * @param accountOrigin the origin account
+     * @param from the inclusive lower bound for the schedule date
+     * @param to the inclusive upper bound for the schedule date
+     */
+    public record Selection(String accountOrigin, LocalDate from, LocalDate to) {
+
+        boolean matches(Transaction transaction) {
+            LocalDate scheduleDate = transaction.getScheduleDate();
+            return accountOrigin.equals(transaction.getAccountOrigin())
+                    && !scheduleDate.isBefore(from)
+                    && !scheduleDate.isAfter(to);
+        }
+    }
+}
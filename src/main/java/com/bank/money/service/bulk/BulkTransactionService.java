@@ -0,0 +1,169 @@
+package com.bank.money.service.bulk;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import com.bank.money.dto.BulkOperationResultDTO;
+import com.bank.money.repository.TransactionRepository;
+import com.bank.money.service.bulk.BulkChunkProcessor.Selection;
+import com.bank.money.service.clock.BusinessClock;
+import com.bank.money.service.profiling.BatchJobEvent;
+
+/**
+ * Reschedules or cancels all pending transactions of an account within a date range.
+ * <p>
+ * The IDs of the selected transactions are read once, from the
+ * {@code (deleted_at, account_origin, schedule_date)} index, and then processed in chunks of
+ * {@code money.bulk.chunk-size}. Each chunk is one database transaction. A reschedule loads
+ * the chunk with one query, recomputes the fees in the same pass and writes the rows back as
+ * batched updates. A cancel marks the chunk as deleted with a single statement, leaving
+ * tombstones for the purger. A failure therefore only rolls back the chunk it happened in;
+ * the chunks before it stay applied.
+ * </p>
+ * <p>
+ * A chunk that loses an optimistic-locking race against a concurrent update is retried once
+ * with freshly loaded rows. If it conflicts again, its transactions are counted as skipped and
+ * the run continues with the next chunk.
+ * </p>
+ * <p>
+ * Only pending transactions are touched: the start of the range is moved up to the current
+ * business date.
+ * </p>
+ */
+@Service
+public class BulkTransactionService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkTransactionService.class);
+
+    private final TransactionRepository repository;
+    private final BulkChunkProcessor chunkProcessor;
+    private final BusinessClock businessClock;
+    private final int chunkSize;
+
+    /**
+     * Constructs a new BulkTransactionService.
+     *
+     * @param repository the transaction repository
+     * @param chunkProcessor the processor applying each chunk in its own transaction
+     * @param businessClock the source of the current business date
+     * @param chunkSize the number of transactions per chunk
+     */
+    public BulkTransactionService(TransactionRepository repository,
+                                  BulkChunkProcessor chunkProcessor,
+                                  BusinessClock businessClock,
+                                  @Value("${money.bulk.chunk-size:1000}") int chunkSize) {
+        this.repository = repository;
+        this.chunkProcessor = chunkProcessor;
+        this.businessClock = businessClock;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Shifts the schedule dates of the selected transactions by a number of days.
+     *
+     * @param accountOrigin the origin account
+     * @param from the inclusive lower bound for the schedule date
+     * @param to the inclusive upper bound for the schedule date
+     * @param days the number of days to move each transaction by; may be negative
+     * @return the report of the operation
+     */
+    public BulkOperationResultDTO shift(String accountOrigin, LocalDate from, LocalDate to, int days) {
+        return reschedule(accountOrigin, from, to, scheduleDate -> scheduleDate.plusDays(days));
+    }
+
+    /**
+     * Moves all selected transactions to the same schedule date.
+     *
+     * @param accountOrigin the origin account
+     * @param from the inclusive lower bound for the schedule date
+     * @param to the inclusive upper bound for the schedule date
+     * @param scheduleDate the new schedule date
+     * @return the report of the operation
+     */
+    public BulkOperationResultDTO moveTo(String accountOrigin, LocalDate from, LocalDate to, LocalDate scheduleDate) {
+        return reschedule(accountOrigin, from, to, ignored -> scheduleDate);
+    }
+
+    /**
+     * Cancels, i.e. deletes, the selected transactions.
+     *
+     * @param accountOrigin the origin account
+     * @param from the inclusive lower bound for the schedule date
+     * @param to the inclusive upper bound for the schedule date
+     * @return the report of the operation
+     */
+    public BulkOperationResultDTO cancel(String accountOrigin, LocalDate from, LocalDate to) {
+        Instant deletedAt = businessClock.instant();
+        return run("cancel", pending(accountOrigin, from, to),
+                (ids, selection) -> chunkProcessor.cancel(ids, selection, deletedAt));
+    }
+
+    private BulkOperationResultDTO reschedule(String accountOrigin, LocalDate from, LocalDate to,
+                                              UnaryOperator<LocalDate> newScheduleDate) {
+        LocalDate today = businessClock.today();
+        return run("reschedule", pending(accountOrigin, from, to),
+                (ids, selection) -> chunkProcessor.reschedule(ids, selection, newScheduleDate, today));
+    }
+
+    private Selection pending(String accountOrigin, LocalDate from, LocalDate to) {
+        LocalDate today = businessClock.today();
+        return new Selection(accountOrigin, from.isBefore(today) ? today : from, to);
+    }
+
+    private BulkOperationResultDTO run(String operation, Selection selection, ChunkOperation chunkOperation) {
+        BatchJobEvent event = BatchJobEvent.start("bulk-" + operation);
+        long start = System.nanoTime();
+        List<Long> ids = repository.findIdsByOriginInDateRange(
+                selection.accountOrigin(), selection.from(), selection.to());
+
+        int affected = 0;
+        int chunks = 0;
+        for (int offset = 0; offset < ids.size(); offset += chunkSize) {
+            List<Long> chunk = ids.subList(offset, Math.min(offset + chunkSize, ids.size()));
+            affected += applyWithRetry(operation, chunkOperation, chunk, selection);
+            chunks++;
+            log.debug("Bulk {} of account {}: {}/{} transactions processed",
+                    operation, selection.accountOrigin(), offset + chunk.size(), ids.size());
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        event.finish(affected);
+        log.info("Bulk {} of account {} between {} and {}: {} of {} transactions in {} chunks, {} ms",
+                operation, selection.accountOrigin(), selection.from(), selection.to(),
+                affected, ids.size(), chunks, elapsedMillis);
+        return new BulkOperationResultDTO(operation, selection.accountOrigin(), selection.from(), selection.to(),
+                ids.size(), affected, ids.size() - affected, chunks, elapsedMillis);
+    }
+
+    private int applyWithRetry(String operation, ChunkOperation chunkOperation, List<Long> chunk,
+                               Selection selection) {
+        try {
+            return chunkOperation.apply(chunk, selection);
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Bulk {} of account {}: chunk conflicted with a concurrent update, retrying",
+                    operation, selection.accountOrigin());
+        }
+        try {
+            return chunkOperation.apply(chunk, selection);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Bulk {} of account {}: skipping a chunk of {} transactions that conflicted twice with concurrent updates",
+                    operation, selection.accountOrigin(), chunk.size());
+            return 0;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkOperation {
+
+        int apply(List<Long> ids, Selection selection);
+    }
+}
@@ -0,0 +1,94 @@
+package com.bank.money.service.clock;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Source of the current business date.
+ * <p>
+ * Wraps a {@link Clock} in the configured business timezone and caches the current date
+ * together with the instants at which it starts and ends. Most calls therefore cost a
+ * single {@link Clock#millis()} read and a range check, and the timezone rules are only
+ * consulted when the day rolls over (or the clock is moved backwards).
+ * </p>
+ * <p>
+ * Callers that need the date more than once for a single operation, such as stamping the
+ * creation date and pricing the fee of a transaction, should read {@link #today()} once
+ * and pass the value along, so both use the same day even when the request straddles
+ * midnight. Tests and benchmarks freeze the date by supplying a {@link Clock#fixed fixed} clock.
+ * </p>
+ */
+@Component
+public class BusinessClock {
+
+    private final Clock clock;
+    private volatile CachedDay cachedDay;
+
+    /**
+     * Constructs a new BusinessClock.
+     *
+     * @param clock the underlying clock, whose zone is used as the business timezone
+     */
+    public BusinessClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the current business date.
+     *
+     * @return today's date in the business timezone
+     */
+    public LocalDate today() {
+        long now = clock.millis();
+        CachedDay day = cachedDay;
+        if (day == null || now < day.startMillis() || now >= day.endMillis()) {
+            day = CachedDay.containing(now, clock.getZone());
+            cachedDay = day;
+        }
+        return day.date();
+    }
+
+    /**
+     * Returns the current time of the underlying clock in epoch milliseconds.
+     *
+     * @return the current epoch milliseconds
+     */
+    public long millis() {
+        return clock.millis();
+    }
+
+    /**
+     * Returns the current instant of the underlying clock.
+     *
+     * @return the current instant
+     */
+    public Instant instant() {
+        return clock.instant();
+    }
+
+    /**
+     * Returns the business timezone.
+     *
+     * @return the zone used to derive the business date
+     */
+    public ZoneId getZone() {
+        return clock.getZone();
+    }
+
+    /**
+     * A business date and the half-open range of epoch milliseconds it covers.
+     */
+    private record CachedDay(LocalDate date, long startMillis, long endMillis) {
+
+        static CachedDay containing(long epochMillis, ZoneId zone) {
+            LocalDate date = Instant.ofEpochMilli(epochMillis).atZone(zone).toLocalDate();
+            long start = date.atStartOfDay(zone).toInstant().toEpochMilli();
+            long end = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            return new CachedDay(date, start, end);
+        }
+    }
+}
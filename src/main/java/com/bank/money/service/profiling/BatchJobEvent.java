@@ -0,0 +1,61 @@
+package com.bank.money.service.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event covering one run of a batch job, such as archiving or settlement.
+ * <p>
+ * Usage:
+ * </p>
+ * <pre>
+ * BatchJobEvent event = BatchJobEvent.start("archive");
+ * long items = ...;
+ * event.finish(items);
+ * </pre>
+ * <p>
+ * A run that ends with an exception is not recorded.
+ * </p>
+ */
+@Name("com.bank.money.BatchJob")
+@Label("Batch Job")
+@Category({"Money", "Jobs"})
+@Description("Run of a batch job")
+public class BatchJobEvent extends Event {
+
+    @Label("Job")
+    String job;
+
+    @Label("Items")
+    @Description("Number of items processed by the run")
+    long items;
+
+    /**
+     * Starts timing a run of a job.
+     *
+     * @param job the name of the job
+     * @return the started event
+     */
+    public static BatchJobEvent start(String job) {
+        BatchJobEvent event = new BatchJobEvent();
+        event.job = job;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the run and commits the event if it is being recorded.
+     *
+     * @param items the number of items processed
+     */
+    public void finish(long items) {
+        end();
+        if (shouldCommit()) {
+            this.items = items;
+            commit();
+        }
+    }
+}
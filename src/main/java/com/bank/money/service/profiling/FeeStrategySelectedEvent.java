@@ -0,0 +1,47 @@
+package com.bank.money.service.profiling;
+
+import java.math.BigDecimal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering the selection of a fee strategy.
+ */
+@Name("com.bank.money.FeeStrategySelected")
+@Label("Fee Strategy Selected")
+@Category({"Money", "Fees"})
+@Description("Selection of the fee strategy that applies to a transaction")
+@StackTrace(false)
+public class FeeStrategySelectedEvent extends Event {
+
+    @Label("Amount")
+    double amount;
+
+    @Label("Days Between")
+    long daysBetween;
+
+    @Label("Strategy")
+    String strategy;
+
+    /**
+     * Ends the event and commits it if it is being recorded.
+     *
+     * @param amount the transaction amount
+     * @param daysBetween the number of days between creation and schedule date
+     * @param strategy the name of the selected strategy
+     */
+    public void commit(BigDecimal amount, long daysBetween, String strategy) {
+        end();
+        if (shouldCommit()) {
+            this.amount = amount.doubleValue();
+            this.daysBetween = daysBetween;
+            this.strategy = strategy;
+            commit();
+        }
+    }
+}
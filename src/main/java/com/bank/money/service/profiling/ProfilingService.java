@@ -0,0 +1,214 @@
+package com.bank.money.service.profiling;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.bank.money.dto.RecordingStatusDTO;
+import com.bank.money.exception.RecordingStateException;
+import com.bank.money.service.clock.BusinessClock;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Controls an on-demand Java Flight Recorder recording of the running node.
+ * <p>
+ * At most one recording runs at a time. It is bounded in three ways: it stops by itself
+ * after the requested duration, capped at {@code money.profiling.max-duration}, and keeps at
+ * most {@code money.profiling.max-size} bytes and {@code money.profiling.max-age} of data.
+ * When it stops, the recording is written to {@code money.profiling.output-dir}; a dump
+ * writes a snapshot of the data recorded so far without stopping it.
+ * </p>
+ * <p>
+ * Besides the JDK events selected by the settings, the recording contains the application
+ * events of this package. The service is only active with {@code money.profiling.enabled=true}.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "money.profiling", name = "enabled", havingValue = "true")
+public class ProfilingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfilingService.class);
+
+    /**
+     * Predefined JFR event settings shipped with the JDK.
+     */
+    public enum Settings {
+        /** Low overhead settings, suitable for continuous use. */
+        DEFAULT("default"),
+        /** More detailed settings, e.g. more frequent method sampling, with higher overhead. */
+        PROFILE("profile");
+
+        private final String configurationName;
+
+        Settings(String configurationName) {
+            this.configurationName = configurationName;
+        }
+    }
+
+    private final BusinessClock businessClock;
+    private final Path outputDirectory;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final Duration maxAge;
+
+    private Recording recording;
+    private Settings settings;
+
+    /**
+     * Constructs a new ProfilingService.
+     *
+     * @param businessClock the clock used to name recording files
+     * @param outputDirectory the directory recordings and dumps are written to
+     * @param maxDuration the longest a recording may run
+     * @param maxSize the maximum amount of data kept by a recording
+     * @param maxAge the maximum age of the data kept by a recording
+     */
+    public ProfilingService(BusinessClock businessClock,
+                            @Value("${money.profiling.output-dir:recordings}") String outputDirectory,
+                            @Value("${money.profiling.max-duration:PT10M}") Duration maxDuration,
+                            @Value("${money.profiling.max-size:100MB}") DataSize maxSize,
+                            @Value("${money.profiling.max-age:PT10M}") Duration maxAge) {
+        this.businessClock = businessClock;
+        this.outputDirectory = Path.of(outputDirectory);
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Starts a new recording.
+     *
+     * @param settings the event settings to record with
+     * @param duration the time after which the recording stops by itself, or null for the maximum
+     * @return the state of the started recording
+     * @throws RecordingStateException if a recording is already running
+     */
+    public synchronized RecordingStatusDTO start(Settings settings, Duration duration) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new RecordingStateException("Recording " + recording.getId() + " is already running");
+        }
+        close();
+
+        Recording started;
+        try {
+            Files.createDirectories(outputDirectory);
+            started = new Recording(Configuration.getConfiguration(settings.configurationName));
+            started.setDestination(file("recording"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Cannot read JFR settings " + settings.configurationName, e);
+        }
+        started.setName("money-" + started.getId());
+        started.setToDisk(true);
+        started.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        started.setMaxSize(maxSize.toBytes());
+        started.setMaxAge(maxAge);
+        started.start();
+
+        recording = started;
+        this.settings = settings;
+        log.info("Started flight recording {} with {} settings for {}",
+                started.getId(), settings, started.getDuration());
+        return status(started.getDestination());
+    }
+
+    /**
+     * Stops the current recording and writes it to its file.
+     *
+     * @return the state of the stopped recording
+     * @throws RecordingStateException if no recording was started
+     */
+    public synchronized RecordingStatusDTO stop() {
+        requireRecording();
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped flight recording {}, written to {}", recording.getId(), recording.getDestination());
+        }
+        return status(recording.getDestination());
+    }
+
+    /**
+     * Writes the data recorded so far to a new file, leaving the recording running.
+     *
+     * @return the state of the recording, with the path of the dump
+     * @throws RecordingStateException if no recording is running
+     */
+    public synchronized RecordingStatusDTO dump() {
+        requireRecording();
+        if (recording.getState() != RecordingState.RUNNING) {
+            throw new RecordingStateException("Recording " + recording.getId() + " is not running");
+        }
+        Path file = file("dump");
+        try {
+            recording.dump(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Dumped flight recording {} to {}", recording.getId(), file);
+        return status(file);
+    }
+
+    /**
+     * Returns the state of the current or last recording.
+     *
+     * @return the state of the recording
+     * @throws RecordingStateException if no recording was started
+     */
+    public synchronized RecordingStatusDTO status() {
+        requireRecording();
+        return status(recording.getDestination());
+    }
+
+    private void requireRecording() {
+        if (recording == null) {
+            throw new RecordingStateException("No recording has been started");
+        }
+    }
+
+    private RecordingStatusDTO status(Path file) {
+        return new RecordingStatusDTO(
+                recording.getId(),
+                recording.getState().name(),
+                settings.name(),
+                recording.getStartTime(),
+                recording.getDuration(),
+                recording.getMaxAge(),
+                recording.getMaxSize(),
+                recording.getSize(),
+                file.toString());
+    }
+
+    private Path file(String kind) {
+        return outputDirectory.resolve(kind + "-" + businessClock.millis() + ".jfr");
+    }
+
+    /**
+     * Releases the current recording, e.g. on shutdown. A running recording is stopped and
+     * written to its file first.
+     */
+    @PreDestroy
+    synchronized void close() {
+        if (recording != null) {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            recording.close();
+            recording = null;
+        }
+    }
+}
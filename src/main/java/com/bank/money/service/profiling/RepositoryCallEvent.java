@@ -0,0 +1,32 @@
+package com.bank.money.service.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering one call to a Spring Data repository.
+ * <p>
+ * For methods returning a {@link java.util.stream.Stream}, only opening the stream is
+ * covered, not consuming it.
+ * </p>
+ */
+@Name("com.bank.money.RepositoryCall")
+@Label("Repository Call")
+@Category({"Money", "Persistence"})
+@Description("Call to a repository method")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,46 @@
+package com.bank.money.service.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering the handling of one HTTP request.
+ */
+@Name("com.bank.money.Request")
+@Label("HTTP Request")
+@Category({"Money", "Web"})
+@Description("Handling of an HTTP request, from the servlet filter chain to the response")
+@StackTrace(false)
+public class RequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    @Description("Matched handler pattern, or the request URI when no handler matched")
+    String path;
+
+    @Label("Status")
+    int status;
+
+    /**
+     * Ends the event and commits it if it is being recorded.
+     *
+     * @param method the HTTP method
+     * @param path the matched handler pattern, or the request URI
+     * @param status the response status code
+     */
+    public void commit(String method, String path, int status) {
+        end();
+        if (shouldCommit()) {
+            this.method = method;
+            this.path = path;
+            this.status = status;
+            commit();
+        }
+    }
+}
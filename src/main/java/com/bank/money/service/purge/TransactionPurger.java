@@ -0,0 +1,189 @@
+package com.bank.money.service.purge;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.bank.money.dto.PurgeStatusDTO;
+import com.bank.money.exception.PurgeInProgressException;
+import com.bank.money.repository.TransactionRepository;
+import com.bank.money.service.clock.BusinessClock;
+import com.bank.money.service.profiling.BatchJobEvent;
+
+/**
+ * Background job that physically removes deleted transactions.
+ * <p>
+ * A delete only leaves a tombstone ({@code deleted_at}), which keeps the request path free of
+ * index maintenance and leaves a trace for auditors. Tombstones older than
+ * {@code money.purge.retention} are removed in batches of {@code money.purge.batch-size} rows,
+ * oldest first, each with a single statement in its own database transaction, with a pause of
+ * {@code money.purge.batch-pause} between batches. A single run removes at most
+ * {@code money.purge.max-batches-per-run} batches; whatever is left is picked up by the next run.
+ * </p>
+ * <p>
+ * Runs follow {@code money.purge.cron}, by default every ten minutes between 01:00 and 05:59
+ * in the business timezone, so the deletes stay out of peak hours. The purger works with every
+ * storage backend and can be switched off with {@code money.purge.enabled=false}.
+ * </p>
+ * <p>
+ * Only one run is active at a time: a scheduled run is skipped while another is active, and a
+ * run requested explicitly is rejected with {@link PurgeInProgressException}.
+ * </p>
+ */
+@Component
+@Lazy(false)
+@ConditionalOnProperty(prefix = "money.purge", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionPurger.class);
+
+    private final TransactionRepository repository;
+    private final BusinessClock businessClock;
+    private final Duration retention;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final int maxBatchesPerRun;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong totalPurged = new AtomicLong();
+    private volatile Instant lastRunAt;
+    private volatile long lastRunPurged;
+
+    /**
+     * Constructs a new TransactionPurger.
+     *
+     * @param repository the transaction repository
+     * @param businessClock the source of the current time
+     * @param retention how long a deleted transaction is kept before it is purged
+     * @param batchSize the number of transactions removed per batch
+     * @param batchPause the pause between two batches
+     * @param maxBatchesPerRun the maximum number of batches removed by a single run
+     */
+    public TransactionPurger(TransactionRepository repository,
+                             BusinessClock businessClock,
+                             @Value("${money.purge.retention:P7D}") Duration retention,
+                             @Value("${money.purge.batch-size:500}") int batchSize,
+                             @Value("${money.purge.batch-pause:200ms}") Duration batchPause,
+                             @Value("${money.purge.max-batches-per-run:200}") int maxBatchesPerRun) {
+        this.repository = repository;
+        this.businessClock = businessClock;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * Scheduled entry point, running on {@code money.purge.cron}.
+     */
+    @Scheduled(cron = "${money.purge.cron:0 */10 1-5 * * *}", zone = "${money.business.zone:}")
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Skipping scheduled purge, the previous run is still active");
+            return;
+        }
+        try {
+            purge();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Removes the tombstones older than the retention period on the calling thread.
+     *
+     * @return the number of transactions removed by this run
+     * @throws PurgeInProgressException if another run is active
+     */
+    public long purgeDeletedTransactions() {
+        acquire();
+        try {
+            return purge();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Starts a run on a background thread and returns at once.
+     *
+     * @throws PurgeInProgressException if another run is active
+     */
+    public void startPurge() {
+        acquire();
+        try {
+            Thread.ofPlatform().name("transaction-purge").daemon().start(() -> {
+                try {
+                    purge();
+                } catch (RuntimeException e) {
+                    log.error("Purge of deleted transactions failed", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    private void acquire() {
+        if (!running.compareAndSet(false, true)) {
+            throw new PurgeInProgressException("A purge of deleted transactions is already running");
+        }
+    }
+
+    private long purge() {
+        BatchJobEvent event = BatchJobEvent.start("purge");
+        Instant cutoff = businessClock.instant().minus(retention);
+        long purged = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int removed = repository.purgeDeletedBefore(cutoff, batchSize);
+            purged += removed;
+            if (removed < batchSize || !pause()) {
+                break;
+            }
+        }
+        event.finish(purged);
+        totalPurged.addAndGet(purged);
+        lastRunPurged = purged;
+        lastRunAt = businessClock.instant();
+        if (purged > 0) {
+            log.info("Purged {} transactions deleted before {}, {} tombstones left", purged, cutoff,
+                    repository.countDeleted());
+        }
+        return purged;
+    }
+
+    /**
+     * Reports the size of the tombstone backlog and the progress of the purger.
+     *
+     * @return the current purge status
+     */
+    public PurgeStatusDTO status() {
+        Instant cutoff = businessClock.instant().minus(retention);
+        return new PurgeStatusDTO(running.get(), repository.countDeleted(), repository.countDeletedBefore(cutoff),
+                retention, lastRunAt, lastRunPurged, totalPurged.get());
+    }
+
+    private boolean pause() {
+        if (batchPause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package com.bank.money.service.settlement;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.bank.money.dto.TransactionSummaryDTO;
+
+/**
+ * Computes bilateral net positions from a stream of gross transfers.
+ * <p>
+ * The input is read once and never materialized as objects, but it is not aggregated while it
+ * is read: the primitive columns of every chunk (24 bytes per transfer) are kept until the
+ * second phase, so memory grows linearly with the number of transfers netted.
+ * </p>
+ * <p>
+ * Netting runs in two phases, both on the given fork/join pool:
+ * </p>
+ * <ol>
+ *   <li>The input is read sequentially in chunks of {@value #CHUNK_SIZE} rows and each chunk
+ *       is handed to a worker, so the reading thread only iterates the stream. A worker
+ *       interns the account numbers to {@code int} IDs, converts amounts and fees to
+ *       {@code long} units of 1/10,000 and sorts the chunk into partitions by hashing its
+ *       (unordered) account pair. Only a bounded number of chunks is in flight at a time.</li>
+ *   <li>The partitions are aggregated in parallel. Every pair lives in exactly one partition,
+ *       so each task fills its own open-addressing table of primitive accumulators from the
+ *       matching segment of every chunk, without any synchronization.</li>
+ * </ol>
+ * <p>
+ * Amounts are kept exactly; fees are rounded half-even to four decimal places before
+ * they are summed. All conversions and sums are checked, so a value or a total outside the
+ * range of a {@code long} of units fails the run with an {@link ArithmeticException} instead of
+ * wrapping around.
+ * </p>
+ */
+public final class NettingEngine {
+
+    /** Decimal places kept by the {@code long} accumulators. */
+    static final int SCALE = 4;
+
+    /** Number of rows handed to a worker at a time. */
+    static final int CHUNK_SIZE = 16_384;
+
+    private final ForkJoinPool pool;
+    private final int partitions;
+
+    /**
+     * Constructs a new NettingEngine.
+     *
+     * @param pool the pool running both phases
+     * @param partitions the number of partitions, rounded up to a power of two
+     */
+    public NettingEngine(ForkJoinPool pool, int partitions) {
+        this.pool = pool;
+        this.partitions = Integer.highestOneBit(Math.max(1, partitions - 1)) << 1;
+    }
+
+    /**
+     * Nets a stream of transfers.
+     *
+     * @param transfers the gross transfers of one settlement date
+     * @return the net positions and totals
+     * @throws ArithmeticException if an amount, a fee or a per-pair sum exceeds the range of the accumulators
+     */
+    public NettingResult net(Stream<TransactionSummaryDTO> transfers) {
+        AccountDictionary accounts = new AccountDictionary();
+        List<Chunk> chunks = new ArrayList<>();
+        Deque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>();
+        int maxInFlight = 2 * pool.getParallelism();
+
+        TransactionSummaryDTO[] rows = new TransactionSummaryDTO[CHUNK_SIZE];
+        int size = 0;
+        Iterator<TransactionSummaryDTO> iterator = transfers.iterator();
+        while (iterator.hasNext()) {
+            rows[size++] = iterator.next();
+            if (size == CHUNK_SIZE) {
+                submit(rows, size, accounts, inFlight);
+                rows = new TransactionSummaryDTO[CHUNK_SIZE];
+                size = 0;
+                while (inFlight.size() > maxInFlight) {
+                    chunks.add(inFlight.poll().join());
+                }
+            }
+        }
+        if (size > 0) {
+            submit(rows, size, accounts, inFlight);
+        }
+        while (!inFlight.isEmpty()) {
+            chunks.add(inFlight.poll().join());
+        }
+
+        PairTable[] tables = new PairTable[partitions];
+        pool.invoke(new AggregateTask(chunks, tables, 0, partitions));
+        long count = 0;
+        for (Chunk chunk : chunks) {
+            count += chunk.size();
+        }
+        return new NettingResult(accounts.names(), tables, count);
+    }
+
+    private void submit(TransactionSummaryDTO[] rows, int size, AccountDictionary accounts,
+                        Deque<ForkJoinTask<Chunk>> inFlight) {
+        inFlight.add(pool.submit(() -> partition(rows, size, accounts)));
+    }
+
+    /**
+     * Converts a chunk of rows to primitive columns sorted by partition.
+     */
+    private Chunk partition(TransactionSummaryDTO[] rows, int size, AccountDictionary accounts) {
+        int mask = partitions - 1;
+        long[] pairs = new long[size];
+        long[] amounts = new long[size];
+        long[] fees = new long[size];
+        int[] partitionOf = new int[size];
+        int[] offsets = new int[partitions + 1];
+
+        for (int i = 0; i < size; i++) {
+            TransactionSummaryDTO transfer = rows[i];
+            int origin = accounts.idOf(transfer.accountOrigin());
+            int destination = accounts.idOf(transfer.accountDestination());
+            long amount = toUnits(transfer.amount());
+            if (origin <= destination) {
+                pairs[i] = pairKey(origin, destination);
+                amounts[i] = amount;
+            } else {
+                pairs[i] = pairKey(destination, origin);
+                amounts[i] = Math.negateExact(amount);
+            }
+            fees[i] = transfer.fee() == null ? 0 : toUnits(transfer.fee());
+            partitionOf[i] = spread(pairs[i]) & mask;
+            offsets[partitionOf[i] + 1]++;
+        }
+        for (int p = 0; p < partitions; p++) {
+            offsets[p + 1] += offsets[p];
+        }
+
+        int[] next = Arrays.copyOf(offsets, partitions);
+        long[] sortedPairs = new long[size];
+        long[] sortedAmounts = new long[size];
+        long[] sortedFees = new long[size];
+        for (int i = 0; i < size; i++) {
+            int target = next[partitionOf[i]]++;
+            sortedPairs[target] = pairs[i];
+            sortedAmounts[target] = amounts[i];
+            sortedFees[target] = fees[i];
+        }
+        return new Chunk(sortedPairs, sortedAmounts, sortedFees, offsets);
+    }
+
+    static long toUnits(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.HALF_EVEN).movePointRight(SCALE).longValueExact();
+    }
+
+    static BigDecimal fromUnits(long units) {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    private static long pairKey(int low, int high) {
+        return ((long) low << 32) | (high & 0xFFFFFFFFL);
+    }
+
+    private static int spread(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Outcome of a netting run.
+     */
+    public static final class NettingResult {
+
+        private final String[] accounts;
+        private final PairTable[] tables;
+        private final long transfers;
+
+        private NettingResult(String[] accounts, PairTable[] tables, long transfers) {
+            this.accounts = accounts;
+            this.tables = tables;
+            this.transfers = transfers;
+        }
+
+        /**
+         * @return the number of gross transfers netted
+         */
+        public long transfers() {
+            return transfers;
+        }
+
+        /**
+         * @return the number of distinct accounts involved
+         */
+        public int accounts() {
+            return accounts.length;
+        }
+
+        /**
+         * @return the number of account pairs, i.e. of net positions
+         */
+        public int pairs() {
+            int pairs = 0;
+            for (PairTable table : tables) {
+                pairs += table.size;
+            }
+            return pairs;
+        }
+
+        /**
+         * @return the sum of all transfer amounts
+         * @throws ArithmeticException if the sum exceeds the range of the accumulators
+         */
+        public BigDecimal grossAmount() {
+            long total = 0;
+            for (PairTable table : tables) {
+                total = Math.addExact(total, table.total(table.gross));
+            }
+            return fromUnits(total);
+        }
+
+        /**
+         * @return the sum of all net amounts, i.e. the value that actually has to move
+         * @throws ArithmeticException if the sum exceeds the range of the accumulators
+         */
+        public BigDecimal netAmount() {
+            long total = 0;
+            for (PairTable table : tables) {
+                for (int slot = 0; slot < table.keys.length; slot++) {
+                    if (table.keys[slot] != PairTable.EMPTY) {
+                        total = Math.addExact(total, Math.absExact(table.net[slot]));
+                    }
+                }
+            }
+            return fromUnits(total);
+        }
+
+        /**
+         * @return the sum of all fees
+         * @throws ArithmeticException if the sum exceeds the range of the accumulators
+         */
+        public BigDecimal fees() {
+            long total = 0;
+            for (PairTable table : tables) {
+                total = Math.addExact(total, table.total(table.fees));
+            }
+            return fromUnits(total);
+        }
+
+        /**
+         * Visits every net position, grouped by partition.
+         *
+         * @param consumer the visitor
+         */
+        public void forEachPosition(Consumer<SettlementPosition> consumer) {
+            for (PairTable table : tables) {
+                for (int slot = 0; slot < table.keys.length; slot++) {
+                    long key = table.keys[slot];
+                    if (key == PairTable.EMPTY) {
+                        continue;
+                    }
+                    String low = accounts[(int) (key >>> 32)];
+                    String high = accounts[(int) key];
+                    long net = table.net[slot];
+                    consumer.accept(new SettlementPosition(
+                            net >= 0 ? low : high,
+                            net >= 0 ? high : low,
+                            fromUnits(Math.absExact(net)),
+                            table.counts[slot],
+                            fromUnits(table.gross[slot]),
+                            fromUnits(table.fees[slot])));
+                }
+            }
+        }
+    }
+
+    /**
+     * Fork/join task aggregating a range of partitions.
+     */
+    private static final class AggregateTask extends RecursiveAction {
+
+        private final List<Chunk> chunks;
+        private final PairTable[] tables;
+        private final int from;
+        private final int to;
+
+        AggregateTask(List<Chunk> chunks, PairTable[] tables, int from, int to) {
+            this.chunks = chunks;
+            this.tables = tables;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                int expected = 0;
+                for (Chunk chunk : chunks) {
+                    expected += chunk.offsets[from + 1] - chunk.offsets[from];
+                }
+                PairTable table = new PairTable(expected);
+                for (Chunk chunk : chunks) {
+                    for (int i = chunk.offsets[from]; i < chunk.offsets[from + 1]; i++) {
+                        table.add(chunk.pairs[i], chunk.amounts[i], chunk.fees[i]);
+                    }
+                }
+                tables[from] = table;
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new AggregateTask(chunks, tables, from, middle),
+                    new AggregateTask(chunks, tables, middle, to));
+        }
+    }
+
+    /**
+     * Converted chunk of transfers in primitive columns, sorted by partition: the transfers
+     * of partition {@code p} are at indexes {@code offsets[p]} (inclusive) to
+     * {@code offsets[p + 1]} (exclusive).
+     */
+    private record Chunk(long[] pairs, long[] amounts, long[] fees, int[] offsets) {
+
+        int size() {
+            return pairs.length;
+        }
+    }
+
+    /**
+     * Open-addressing hash table from account pair to primitive accumulators.
+     */
+    private static final class PairTable {
+
+        static final long EMPTY = -1L;
+
+        long[] keys;
+        long[] net;
+        long[] gross;
+        long[] fees;
+        long[] counts;
+        int size;
+
+        PairTable(int expected) {
+            allocate(Integer.highestOneBit(Math.max(16, expected) * 2 - 1) << 1);
+        }
+
+        void add(long key, long signedAmount, long fee) {
+            if (size * 2 >= keys.length) {
+                grow();
+            }
+            int slot = slotOf(key);
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                size++;
+            }
+            if ((int) (key >>> 32) != (int) key) {
+                // A transfer to the same account moves no money between parties.
+                net[slot] = Math.addExact(net[slot], signedAmount);
+            }
+            gross[slot] = Math.addExact(gross[slot], Math.absExact(signedAmount));
+            fees[slot] = Math.addExact(fees[slot], fee);
+            counts[slot]++;
+        }
+
+        long total(long[] column) {
+            long total = 0;
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != EMPTY) {
+                    total = Math.addExact(total, column[slot]);
+                }
+            }
+            return total;
+        }
+
+        private int slotOf(long key) {
+            int mask = keys.length - 1;
+            int slot = spread(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            net = new long[capacity];
+            gross = new long[capacity];
+            fees = new long[capacity];
+            counts = new long[capacity];
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldNet = net;
+            long[] oldGross = gross;
+            long[] oldFees = fees;
+            long[] oldCounts = counts;
+            allocate(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = slotOf(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    net[slot] = oldNet[i];
+                    gross[slot] = oldGross[i];
+                    fees[slot] = oldFees[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Interns account numbers to dense {@code int} IDs; safe for concurrent use.
+     */
+    private static final class AccountDictionary {
+
+        private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+        private final AtomicInteger nextId = new AtomicInteger();
+
+        int idOf(String account) {
+            Integer id = ids.get(account);
+            return id != null ? id : ids.computeIfAbsent(account, key -> nextId.getAndIncrement());
+        }
+
+        String[] names() {
+            String[] names = new String[ids.size()];
+            ids.forEach((account, id) -> names[id] = account);
+            return names;
+        }
+    }
+}
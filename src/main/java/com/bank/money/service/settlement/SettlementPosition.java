@@ -0,0 +1,27 @@
+package com.bank.money.service.settlement;
+
+import java.math.BigDecimal;
+
+/**
+ * Bilateral net position of an account pair for one settlement date.
+ * <p>
+ * All transfers between the two accounts, in both directions, are collapsed into a single
+ * payment from {@code payer} to {@code payee}. When the transfers cancel out exactly,
+ * the net amount is zero and the order of the two accounts is arbitrary.
+ * </p>
+ *
+ * @param payer the account that pays the net amount
+ * @param payee the account that receives the net amount
+ * @param netAmount the amount to settle, never negative
+ * @param transfers the number of gross transfers between the two accounts
+ * @param grossAmount the sum of all transfer amounts between the two accounts, in both directions
+ * @param fees the sum of the fees of those transfers
+ */
+public record SettlementPosition(
+        String payer,
+        String payee,
+        BigDecimal netAmount,
+        long transfers,
+        BigDecimal grossAmount,
+        BigDecimal fees) {
+}
@@ -0,0 +1,188 @@
+package com.bank.money.service.settlement;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bank.money.dto.SettlementSummaryDTO;
+import com.bank.money.domain.ArchivedTransaction;
+import com.bank.money.dto.TransactionSummaryDTO;
+import com.bank.money.exception.SettlementOverflowException;
+import com.bank.money.repository.TransactionArchiveRepository;
+import com.bank.money.repository.TransactionRepository;
+import com.bank.money.service.profiling.BatchJobEvent;
+import com.bank.money.service.settlement.NettingEngine.NettingResult;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Settles the transactions of one schedule date into bilateral net positions.
+ * <p>
+ * The day's transactions are streamed from the hot table and then from the archive into a
+ * {@link NettingEngine}, so a date is settled the same way before and after it is archived. The engine
+ * aggregates them per account pair on a dedicated fork/join pool of
+ * {@code money.settlement.parallelism} workers (0 = one per available processor). The entities
+ * are not kept, but the engine holds about 24 bytes per transfer until it aggregates, so
+ * memory grows with the size of the day.
+ * The resulting positions are written as a gzip-compressed CSV file named
+ * {@code settlement-<date>.csv.gz} under {@code money.settlement.output-dir}, with one line per
+ * account pair: {@code payer,payee,net_amount,transfers,gross_amount,fees}. The file follows
+ * RFC 4180: lines end with CRLF, and account numbers containing a comma, a double quote or a
+ * line break are enclosed in double quotes, with embedded double quotes doubled.
+ * </p>
+ * <p>
+ * The file is written to a temporary file and moved into place, so a reader never sees a
+ * partial settlement. Settling the same date again replaces the previous file.
+ * </p>
+ */
+@Service
+public class SettlementService {
+
+    private static final Logger log = LoggerFactory.getLogger(SettlementService.class);
+
+    static final String HEADER = "payer,payee,net_amount,transfers,gross_amount,fees";
+
+    private static final String LINE_BREAK = "\r\n";
+
+    private final TransactionRepository repository;
+    private final Optional<TransactionArchiveRepository> archiveRepository;
+    private final Path outputDirectory;
+    private final ForkJoinPool pool;
+    private final NettingEngine engine;
+
+    /**
+     * Constructs a new SettlementService.
+     *
+     * @param repository the hot transaction repository
+     * @param archiveRepository the archive tier, or empty when the storage backend has none
+     * @param outputDirectory the directory settlement files are written to
+     * @param parallelism the number of netting workers, or 0 for one per available processor
+     * @param partitions the number of account-pair partitions the netting work is split into
+     */
+    public SettlementService(TransactionRepository repository,
+                             Optional<TransactionArchiveRepository> archiveRepository,
+                             @Value("${money.settlement.output-dir:settlements}") String outputDirectory,
+                             @Value("${money.settlement.parallelism:0}") int parallelism,
+                             @Value("${money.settlement.partitions:256}") int partitions) {
+        this.repository = repository;
+        this.archiveRepository = archiveRepository;
+        this.outputDirectory = Path.of(outputDirectory);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.engine = new NettingEngine(pool, partitions);
+    }
+
+    /**
+     * Settles all transactions scheduled on the given date and writes the settlement file.
+     *
+     * @param scheduleDate the schedule date to settle
+     * @return the summary of the run
+     * @throws SettlementOverflowException if an amount, a fee or a total exceeds the range of the accumulators
+     */
+    @Transactional(readOnly = true)
+    public SettlementSummaryDTO settle(LocalDate scheduleDate) {
+        BatchJobEvent event = BatchJobEvent.start("settlement");
+        long start = System.nanoTime();
+        SettlementSummaryDTO summary;
+        try {
+            NettingResult result;
+            try (Stream<TransactionSummaryDTO> transfers = Stream.concat(
+                    repository.streamByScheduleDate(scheduleDate), archived(scheduleDate))) {
+                result = engine.net(transfers);
+            }
+            Path file = write(scheduleDate, result);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            summary = new SettlementSummaryDTO(
+                    scheduleDate,
+                    result.transfers(),
+                    result.accounts(),
+                    result.pairs(),
+                    result.grossAmount(),
+                    result.netAmount(),
+                    result.fees(),
+                    file.toString(),
+                    elapsedMillis);
+        } catch (ArithmeticException e) {
+            throw new SettlementOverflowException("Transfers scheduled on " + scheduleDate
+                    + " are too large to be netted");
+        }
+        event.finish(summary.transfers());
+        log.info("Settled {} transfers scheduled on {} into {} positions in {} ms",
+                summary.transfers(), scheduleDate, summary.positions(), summary.elapsedMillis());
+        return summary;
+    }
+
+    private Stream<TransactionSummaryDTO> archived(LocalDate scheduleDate) {
+        return archiveRepository
+                .map(archive -> archive.streamByScheduleDate(ArchivedTransaction.partitionOf(scheduleDate), scheduleDate))
+                .orElseGet(Stream::empty);
+    }
+
+    private Path write(LocalDate scheduleDate, NettingResult result) {
+        Path file = outputDirectory.resolve("settlement-" + scheduleDate + ".csv.gz");
+        try {
+            Files.createDirectories(outputDirectory);
+            Path temp = Files.createTempFile(outputDirectory, file.getFileName().toString(), ".tmp");
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp), 1 << 16), StandardCharsets.UTF_8), 1 << 16)) {
+                out.write(HEADER);
+                out.write(LINE_BREAK);
+                result.forEachPosition(position -> {
+                    try {
+                        out.write(field(position.payer()));
+                        out.write(',');
+                        out.write(field(position.payee()));
+                        out.write(',');
+                        out.write(position.netAmount().toPlainString());
+                        out.write(',');
+                        out.write(Long.toString(position.transfers()));
+                        out.write(',');
+                        out.write(position.grossAmount().toPlainString());
+                        out.write(',');
+                        out.write(position.fees().toPlainString());
+                        out.write(LINE_BREAK);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write settlement file " + file, e);
+        }
+        return file;
+    }
+
+    /**
+     * Quotes a CSV field if it contains a separator, a quote or a line break.
+     */
+    static String field(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\r') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,50 @@
+package com.bank.money.service.simulation;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.bank.money.dto.FeeSimulationRequestDTO;
+import com.bank.money.service.strategy.ConfigurableFeeStrategy;
+import com.bank.money.service.strategy.FeeStrategy;
+
+/**
+ * A candidate set of fee rules for the {@link FeeSimulator}.
+ * <p>
+ * Strategies are checked in order and the first applicable one prices a transaction, as in
+ * {@link com.bank.money.service.strategy.FeeStrategyFactory}. When none applies the fee is zero.
+ * </p>
+ *
+ * @param name the name of the rule set
+ * @param strategies the fee strategies, in order of precedence
+ */
+public record FeeRuleSet(String name, List<FeeStrategy> strategies) {
+
+    /**
+     * Builds a rule set from its API representation.
+     *
+     * @param ruleSet the rule set of a simulation request
+     * @return the rule set with one {@link ConfigurableFeeStrategy} per rule
+     */
+    public static FeeRuleSet of(FeeSimulationRequestDTO.RuleSet ruleSet) {
+        return new FeeRuleSet(ruleSet.getName(), ruleSet.getRules().stream()
+                .<FeeStrategy>map(rule -> new ConfigurableFeeStrategy(rule.getAmountAbove(), rule.getAmountUpTo(),
+                        rule.getMinDays(), rule.getMaxDays(), rule.getPercentage(), rule.getFlatFee()))
+                .toList());
+    }
+
+    /**
+     * Prices a transaction under this rule set.
+     *
+     * @param amount the transaction amount
+     * @param daysBetween the number of days between creation and schedule date
+     * @return the fee, or zero if no rule applies
+     */
+    public BigDecimal calculateFee(BigDecimal amount, long daysBetween) {
+        for (FeeStrategy strategy : strategies) {
+            if (strategy.isApplicable(amount, daysBetween)) {
+                return strategy.calculateFee(amount);
+            }
+        }
+        return BigDecimal.ZERO;
+    }
+}
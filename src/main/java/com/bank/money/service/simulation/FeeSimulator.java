@@ -0,0 +1,269 @@
+package com.bank.money.service.simulation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bank.money.domain.ArchivedTransaction;
+import com.bank.money.dto.FeeSimulationResultDTO;
+import com.bank.money.dto.TransactionResponseDTO;
+import com.bank.money.exception.FeeSimulationOverflowException;
+import com.bank.money.repository.TransactionArchiveRepository;
+import com.bank.money.repository.TransactionRepository;
+import com.bank.money.service.profiling.BatchJobEvent;
+import com.bank.money.service.strategy.FeeStrategyFactory;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Prices historical transactions with candidate fee rule sets to estimate their revenue impact.
+ * <p>
+ * All candidates are evaluated in a single scan over the transactions scheduled in the
+ * requested range, first in the hot table and then in the archive. The rows are streamed from
+ * the database and handed to a dedicated fork/join pool of {@code money.simulation.parallelism}
+ * workers (0 = one per available processor) in chunks of {@value #CHUNK_SIZE}. Each chunk is
+ * tallied into its own primitive accumulators, which are merged as the chunks complete. At
+ * most twice as many chunks as there are workers are in flight, so memory use does not depend
+ * on the number of rows.
+ * </p>
+ * <p>
+ * Each transaction is priced with the days between its creation and schedule dates, as it
+ * was when it was created, and compared with the fee actually stored on it.
+ * </p>
+ */
+@Service
+public class FeeSimulator {
+
+    private static final Logger log = LoggerFactory.getLogger(FeeSimulator.class);
+
+    /** Number of rows handed to a worker at a time. */
+    static final int CHUNK_SIZE = 8_192;
+
+    /** Decimal places kept by the {@code long} accumulators. */
+    private static final int SCALE = 4;
+    private static final long UNIT = 10_000L;
+
+    private static final String[] HISTOGRAM_RANGES = {
+            "< -100", "[-100, -10)", "[-10, -1)", "[-1, 0)", "0", "(0, 1]", "(1, 10]", "(10, 100]", "> 100"
+    };
+
+    private final TransactionRepository repository;
+    private final Optional<TransactionArchiveRepository> archiveRepository;
+    private final FeeStrategyFactory feeStrategyFactory;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new FeeSimulator.
+     *
+     * @param repository the hot transaction repository
+     * @param archiveRepository the archive tier, or empty when the storage backend has none
+     * @param feeStrategyFactory the built-in fee strategies, used to bucket transactions
+     * @param parallelism the number of workers, or 0 for one per available processor
+     */
+    public FeeSimulator(TransactionRepository repository,
+                        Optional<TransactionArchiveRepository> archiveRepository,
+                        FeeStrategyFactory feeStrategyFactory,
+                        @Value("${money.simulation.parallelism:0}") int parallelism) {
+        this.repository = repository;
+        this.archiveRepository = archiveRepository;
+        this.feeStrategyFactory = feeStrategyFactory;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Simulates the candidate rule sets over the transactions scheduled within a date range.
+     *
+     * @param from the inclusive lower bound for the schedule date
+     * @param to the inclusive upper bound for the schedule date
+     * @param candidates the rule sets to evaluate
+     * @return the revenue of each candidate compared with the fees actually charged
+     * @throws FeeSimulationOverflowException if a fee or a revenue total exceeds the range of the accumulators
+     */
+    @Transactional(readOnly = true)
+    public FeeSimulationResultDTO simulate(LocalDate from, LocalDate to, List<FeeRuleSet> candidates) {
+        BatchJobEvent event = BatchJobEvent.start("fee-simulation");
+        long start = System.nanoTime();
+        FeeRuleSet[] rules = candidates.toArray(FeeRuleSet[]::new);
+        Tally total = new Tally(rules.length);
+
+        try {
+            try (Stream<TransactionResponseDTO> hot = repository.streamResponsesScheduledBetween(from, to)) {
+                scan(hot, rules, total);
+            }
+            if (archiveRepository.isPresent()) {
+                try (Stream<TransactionResponseDTO> archived = archiveRepository.get().streamResponsesScheduledBetween(
+                        ArchivedTransaction.partitionOf(from), ArchivedTransaction.partitionOf(to), from, to)) {
+                    scan(archived, rules, total);
+                }
+            }
+
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            FeeSimulationResultDTO result = total.toResult(from, to, rules, elapsedMillis);
+            event.finish(total.transactions);
+            log.info("Simulated {} fee rule sets over {} transactions scheduled between {} and {} in {} ms",
+                    rules.length, total.transactions, from, to, elapsedMillis);
+            return result;
+        } catch (ArithmeticException e) {
+            throw new FeeSimulationOverflowException("Simulated fees between " + from + " and " + to
+                    + " are too large to be summed");
+        }
+    }
+
+    private void scan(Stream<TransactionResponseDTO> rows, FeeRuleSet[] rules, Tally total) {
+        Deque<ForkJoinTask<Tally>> inFlight = new ArrayDeque<>();
+        int maxInFlight = 2 * pool.getParallelism();
+        TransactionResponseDTO[] chunk = new TransactionResponseDTO[CHUNK_SIZE];
+        int size = 0;
+
+        Iterator<TransactionResponseDTO> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            chunk[size++] = iterator.next();
+            if (size == CHUNK_SIZE) {
+                submit(chunk, size, rules, inFlight);
+                chunk = new TransactionResponseDTO[CHUNK_SIZE];
+                size = 0;
+                while (inFlight.size() > maxInFlight) {
+                    total.merge(inFlight.poll().join());
+                }
+            }
+        }
+        if (size > 0) {
+            submit(chunk, size, rules, inFlight);
+        }
+        while (!inFlight.isEmpty()) {
+            total.merge(inFlight.poll().join());
+        }
+    }
+
+    private void submit(TransactionResponseDTO[] chunk, int size, FeeRuleSet[] rules,
+                        Deque<ForkJoinTask<Tally>> inFlight) {
+        inFlight.add(pool.submit(() -> tally(chunk, size, rules)));
+    }
+
+    private Tally tally(TransactionResponseDTO[] chunk, int size, FeeRuleSet[] rules) {
+        Tally tally = new Tally(rules.length);
+        for (int i = 0; i < size; i++) {
+            TransactionResponseDTO transaction = chunk[i];
+            BigDecimal amount = transaction.amount();
+            long daysBetween = ChronoUnit.DAYS.between(transaction.creationDate(), transaction.scheduleDate());
+            String bucket = feeStrategyFactory.getStrategy(amount, daysBetween).getClass().getSimpleName();
+            long baseline = transaction.fee() == null ? 0 : toUnits(transaction.fee());
+
+            long[] sums = tally.bucket(bucket);
+            sums[0]++;
+            sums[1] = Math.addExact(sums[1], baseline);
+            for (int c = 0; c < rules.length; c++) {
+                long fee = toUnits(rules[c].calculateFee(amount, daysBetween));
+                sums[2 + c] = Math.addExact(sums[2 + c], fee);
+                tally.histograms[c][binOf(Math.subtractExact(fee, baseline))]++;
+            }
+        }
+        tally.transactions = size;
+        return tally;
+    }
+
+    private static int binOf(long delta) {
+        if (delta == 0) {
+            return 4;
+        }
+        long magnitude = Math.abs(delta);
+        int order = magnitude <= UNIT ? 0 : magnitude <= 10 * UNIT ? 1 : magnitude <= 100 * UNIT ? 2 : 3;
+        return delta > 0 ? 5 + order : 3 - order;
+    }
+
+    private static long toUnits(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.HALF_EVEN).movePointRight(SCALE).longValueExact();
+    }
+
+    private static BigDecimal fromUnits(long units) {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Primitive accumulators of a chunk, or of the whole scan once merged.
+     */
+    private static final class Tally {
+
+        /** Per bucket: transaction count, baseline revenue, then the revenue of each candidate. */
+        final Map<String, long[]> buckets = new HashMap<>();
+        final long[][] histograms;
+        final int candidates;
+        long transactions;
+
+        Tally(int candidates) {
+            this.candidates = candidates;
+            this.histograms = new long[candidates][HISTOGRAM_RANGES.length];
+        }
+
+        long[] bucket(String name) {
+            return buckets.computeIfAbsent(name, key -> new long[2 + candidates]);
+        }
+
+        void merge(Tally other) {
+            transactions += other.transactions;
+            other.buckets.forEach((name, sums) -> {
+                long[] target = bucket(name);
+                for (int i = 0; i < sums.length; i++) {
+                    target[i] = Math.addExact(target[i], sums[i]);
+                }
+            });
+            for (int c = 0; c < candidates; c++) {
+                for (int bin = 0; bin < HISTOGRAM_RANGES.length; bin++) {
+                    histograms[c][bin] += other.histograms[c][bin];
+                }
+            }
+        }
+
+        FeeSimulationResultDTO toResult(LocalDate from, LocalDate to, FeeRuleSet[] rules, long elapsedMillis) {
+            Map<String, long[]> sorted = new TreeMap<>(buckets);
+            long baseline = 0;
+            for (long[] sums : sorted.values()) {
+                baseline = Math.addExact(baseline, sums[1]);
+            }
+
+            List<FeeSimulationResultDTO.Candidate> results = new ArrayList<>(rules.length);
+            for (int c = 0; c < rules.length; c++) {
+                List<FeeSimulationResultDTO.Bucket> bucketResults = new ArrayList<>(sorted.size());
+                long revenue = 0;
+                for (Map.Entry<String, long[]> entry : sorted.entrySet()) {
+                    long[] sums = entry.getValue();
+                    revenue = Math.addExact(revenue, sums[2 + c]);
+                    bucketResults.add(new FeeSimulationResultDTO.Bucket(entry.getKey(), sums[0],
+                            fromUnits(sums[1]), fromUnits(sums[2 + c]), fromUnits(Math.subtractExact(sums[2 + c], sums[1]))));
+                }
+                List<FeeSimulationResultDTO.HistogramBin> histogram = new ArrayList<>(HISTOGRAM_RANGES.length);
+                for (int bin = 0; bin < HISTOGRAM_RANGES.length; bin++) {
+                    histogram.add(new FeeSimulationResultDTO.HistogramBin(HISTOGRAM_RANGES[bin], histograms[c][bin]));
+                }
+                results.add(new FeeSimulationResultDTO.Candidate(rules[c].name(), fromUnits(revenue),
+                        fromUnits(Math.subtractExact(revenue, baseline)), bucketResults, histogram));
+            }
+            return new FeeSimulationResultDTO(from, to, transactions, fromUnits(baseline), results, elapsedMillis);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.bank.money.service.strategy;
+
+import java.math.BigDecimal;
+
+/**
+ * Fee strategy whose band and rates are given at construction time.
+ * <p>
+ * Used to describe candidate fee rules, e.g. for the fee simulator, in the same terms as the
+ * built-in strategies: it applies to amounts above {@code amountAbove} and up to
+ * {@code amountUpTo}, scheduled between {@code minDays} and {@code maxDays} days ahead, all
+ * bounds inclusive except {@code amountAbove}. A {@code null} bound is open.
+ * </p>
+ * <p>
+ * Fee: {@code percentage} of the amount + {@code flatFee}
+ * </p>
+ */
+public class ConfigurableFeeStrategy implements FeeStrategy {
+
+    private final BigDecimal amountAbove;
+    private final BigDecimal amountUpTo;
+    private final Long minDays;
+    private final Long maxDays;
+    private final BigDecimal percentage;
+    private final BigDecimal flatFee;
+
+    /**
+     * Constructs a new ConfigurableFeeStrategy.
+     *
+     * @param amountAbove the exclusive lower bound of the amount, or null for none
+     * @param amountUpTo the inclusive upper bound of the amount, or null for none
+     * @param minDays the inclusive lower bound of the days ahead, or null for none
+     * @param maxDays the inclusive upper bound of the days ahead, or null for none
+     * @param percentage the share of the amount charged, e.g. {@code 0.03} for 3%
+     * @param flatFee the fixed amount added to the fee, or null for none
+     */
+    public ConfigurableFeeStrategy(BigDecimal amountAbove, BigDecimal amountUpTo, Long minDays, Long maxDays,
+                                   BigDecimal percentage, BigDecimal flatFee) {
+        this.amountAbove = amountAbove;
+        this.amountUpTo = amountUpTo;
+        this.minDays = minDays;
+        this.maxDays = maxDays;
+        this.percentage = percentage;
+        this.flatFee = flatFee == null ? BigDecimal.ZERO : flatFee;
+    }
+
+    @Override
+    public BigDecimal calculateFee(BigDecimal amount) {
+        return amount.multiply(percentage).add(flatFee);
+    }
+
+    @Override
+    public boolean isApplicable(BigDecimal amount, long daysBetween) {
+        return (amountAbove == null || amount.compareTo(amountAbove) > 0)
+            && (amountUpTo == null || amount.compareTo(amountUpTo) <= 0)
+            && (minDays == null || daysBetween >= minDays)
+            && (maxDays == null || daysBetween <= maxDays);
+    }
+}
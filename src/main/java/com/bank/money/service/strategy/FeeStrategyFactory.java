@@ -6,6 +6,8 @@ import java.util.List;
 
 import org.springframework.stereotype.Component;
 
+import com.bank.money.service.profiling.FeeStrategySelectedEvent;
+
 /**
  * Factory for creating appropriate fee calculation strategies.
  * <p>
@@ -48,9 +50,13 @@ public class FeeStrategyFactory {
      * @return the appropriate FeeStrategy implementation
      */
     public FeeStrategy getStrategy(BigDecimal amount, long daysBetween) {
-        return strategies.stream()
+        FeeStrategySelectedEvent event = new FeeStrategySelectedEvent();
+        event.begin();
+        FeeStrategy selected = strategies.stream()
             .filter(strategy -> strategy.isApplicable(amount, daysBetween))
             .findFirst()
             .orElse(new NoFeeStrategy()); // Fallback, though NoFeeStrategy should always match
+        event.commit(amount, daysBetween, selected.getClass().getSimpleName());
+        return selected;
     }
 }
@@ -0,0 +1,118 @@
+package com.bank.money.service.velocity;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free sliding-window counter of transfers and amounts.
+ * <p>
+ * The window is split into a ring of equally wide buckets. Each slot holds an immutable
+ * {@link Bucket} tagged with the bucket epoch ({@code epochMillis / bucketMillis}) it counts;
+ * updates replace the slot with compare-and-set, so the count and the amount of a bucket always
+ * change together. A slot whose epoch has fallen out of the window is simply overwritten by the
+ * next update that maps to it, and ignored by reads until then.
+ * </p>
+ * <p>
+ * The window slides with bucket granularity: a transfer stops counting between
+ * {@code window - bucketWidth} and {@code window} after it was recorded.
+ * </p>
+ */
+final class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    /**
+     * Constructs a new SlidingWindowCounter.
+     *
+     * @param window the length of the window
+     * @param bucketCount the number of buckets the window is split into
+     */
+    SlidingWindowCounter(Duration window, int bucketCount) {
+        this.bucketMillis = window.toMillis() / bucketCount;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    /**
+     * Adds to the bucket covering the given instant.
+     * <p>
+     * If the slot already holds a newer bucket, because the caller was delayed or the clock
+     * went backwards, the values are added to that newer bucket instead of discarding it.
+     * </p>
+     *
+     * @param epochMillis the instant to record at
+     * @param count the number of transfers to add
+     * @param amount the amount to add
+     * @return the epoch of the bucket the values were added to, for {@link #subtract}
+     */
+    long add(long epochMillis, long count, long amount) {
+        long epoch = Math.floorDiv(epochMillis, bucketMillis);
+        int slot = Math.floorMod(epoch, buckets.length());
+        while (true) {
+            Bucket current = buckets.get(slot);
+            Bucket next = current != null && current.epoch() >= epoch
+                    ? new Bucket(current.epoch(), current.count() + count, current.amount() + amount)
+                    : new Bucket(epoch, count, amount);
+            if (buckets.compareAndSet(slot, current, next)) {
+                return next.epoch();
+            }
+        }
+    }
+
+    /**
+     * Takes back values previously {@link #add added}.
+     * <p>
+     * Nothing is subtracted once the bucket has been recycled, since the values no longer
+     * count towards the window at that point.
+     * </p>
+     *
+     * @param epoch the bucket epoch returned by {@link #add}
+     * @param count the number of transfers to subtract
+     * @param amount the amount to subtract
+     */
+    void subtract(long epoch, long count, long amount) {
+        int slot = Math.floorMod(epoch, buckets.length());
+        while (true) {
+            Bucket current = buckets.get(slot);
+            if (current == null || current.epoch() != epoch) {
+                return;
+            }
+            Bucket next = new Bucket(epoch, current.count() - count, current.amount() - amount);
+            if (buckets.compareAndSet(slot, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sums the buckets inside the window ending at the given instant.
+     *
+     * @param epochMillis the end of the window
+     * @return the number of transfers and the amount in the window
+     */
+    Totals totals(long epochMillis) {
+        long oldest = Math.floorDiv(epochMillis, bucketMillis) - buckets.length();
+        long count = 0;
+        long amount = 0;
+        for (int slot = 0; slot < buckets.length(); slot++) {
+            Bucket bucket = buckets.get(slot);
+            if (bucket != null && bucket.epoch() > oldest) {
+                count += bucket.count();
+                amount += bucket.amount();
+            }
+        }
+        return new Totals(count, amount);
+    }
+
+    /**
+     * Number of transfers and amount of one window.
+     *
+     * @param count the number of transfers
+     * @param amount the amount, in the caller's units
+     */
+    record Totals(long count, long amount) {
+    }
+
+    private record Bucket(long epoch, long count, long amount) {
+    }
+}
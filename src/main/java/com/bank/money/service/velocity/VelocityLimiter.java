@@ -0,0 +1,315 @@
+package com.bank.money.service.velocity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.bank.money.dto.OriginTotalsDTO;
+import com.bank.money.exception.VelocityLimitExceededException;
+import com.bank.money.repository.TransactionRepository;
+import com.bank.money.service.clock.BusinessClock;
+import com.bank.money.service.profiling.BatchJobEvent;
+import com.bank.money.service.velocity.SlidingWindowCounter.Totals;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Enforces per-account velocity limits on transaction creation.
+ * <p>
+ * Each origin account has one {@link SlidingWindowCounter} per {@link Window}, counting the
+ * transactions it created and their total amount. Limits are configured with
+ * {@code money.velocity.<window>.max-count} and {@code money.velocity.<window>.max-amount};
+ * a value of 0 disables that limit. Amounts are counted in {@code long} units of 0.0001, and an
+ * amount above {@link #MAX_UNITS} counts as that cap, so that no single transaction can
+ * overflow a counter.
+ * </p>
+ * <p>
+ * {@link #acquire} first records the new transaction and then checks the windows, taking the
+ * transaction back out if a limit is exceeded. Concurrent requests of the same account can
+ * therefore only be rejected too eagerly, never let through past a limit. Nothing on this path
+ * takes a lock; the account map is only locked when an account is first seen or evicted.
+ * </p>
+ * <p>
+ * Accounts idle for longer than the longest window are evicted every
+ * {@code money.velocity.eviction-interval}. On startup the day window is warm-started from the
+ * transactions created on the current business date. Creation dates carry no time of day, so
+ * those transactions are placed at the start of the day, and the minute and hour windows
+ * start empty.
+ * </p>
+ * <p>
+ * The limiter can be switched off with {@code money.velocity.enabled=false}.
+ * </p>
+ */
+@Component
+@Lazy(false)
+@ConditionalOnProperty(prefix = "money.velocity", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class VelocityLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(VelocityLimiter.class);
+
+    /** Decimal places kept by the {@code long} amount counters. */
+    private static final int SCALE = 4;
+
+    /**
+     * Largest number of units a single amount counts as, about 879 million. A window can sum
+     * more than a million capped amounts before it could overflow.
+     */
+    private static final long MAX_UNITS = Long.MAX_VALUE >> 20;
+
+    private static final Window[] WINDOWS = Window.values();
+
+    private final TransactionRepository repository;
+    private final BusinessClock businessClock;
+    private final long[] maxCounts = new long[WINDOWS.length];
+    private final long[] maxAmounts = new long[WINDOWS.length];
+    private final ConcurrentHashMap<String, AccountWindows> accounts = new ConcurrentHashMap<>();
+
+    /**
+     * The sliding windows limits apply to.
+     */
+    public enum Window {
+
+        /** The last minute, in 1-second buckets. */
+        MINUTE(Duration.ofMinutes(1), 60),
+        /** The last hour, in 1-minute buckets. */
+        HOUR(Duration.ofHours(1), 60),
+        /** The last 24 hours, in 15-minute buckets. */
+        DAY(Duration.ofDays(1), 96);
+
+        private final Duration length;
+        private final int buckets;
+
+        Window(Duration length, int buckets) {
+            this.length = length;
+            this.buckets = buckets;
+        }
+    }
+
+    /**
+     * Constructs a new VelocityLimiter.
+     *
+     * @param repository the transaction repository used to warm up the day window
+     * @param businessClock the source of the current time and business date
+     * @param minuteMaxCount the maximum number of transactions per account per minute
+     * @param minuteMaxAmount the maximum total amount per account per minute
+     * @param hourMaxCount the maximum number of transactions per account per hour
+     * @param hourMaxAmount the maximum total amount per account per hour
+     * @param dayMaxCount the maximum number of transactions per account per day
+     * @param dayMaxAmount the maximum total amount per account per day
+     */
+    public VelocityLimiter(TransactionRepository repository,
+                           BusinessClock businessClock,
+                           @Value("${money.velocity.minute.max-count:0}") long minuteMaxCount,
+                           @Value("${money.velocity.minute.max-amount:0}") BigDecimal minuteMaxAmount,
+                           @Value("${money.velocity.hour.max-count:0}") long hourMaxCount,
+                           @Value("${money.velocity.hour.max-amount:0}") BigDecimal hourMaxAmount,
+                           @Value("${money.velocity.day.max-count:0}") long dayMaxCount,
+                           @Value("${money.velocity.day.max-amount:0}") BigDecimal dayMaxAmount) {
+        this.repository = repository;
+        this.businessClock = businessClock;
+        limit(Window.MINUTE, minuteMaxCount, minuteMaxAmount);
+        limit(Window.HOUR, hourMaxCount, hourMaxAmount);
+        limit(Window.DAY, dayMaxCount, dayMaxAmount);
+    }
+
+    private void limit(Window window, long maxCount, BigDecimal maxAmount) {
+        maxCounts[window.ordinal()] = maxCount;
+        maxAmounts[window.ordinal()] = toUnits(maxAmount);
+    }
+
+    /**
+     * Records a new transaction of an account, unless it would exceed a velocity limit.
+     *
+     * @param accountOrigin the origin account of the transaction
+     * @param amount the amount of the transaction
+     * @return a permit that takes the transaction back out if it is not persisted after all
+     * @throws VelocityLimitExceededException if the transaction would exceed a limit
+     */
+    public Permit acquire(String accountOrigin, BigDecimal amount) {
+        long now = businessClock.millis();
+        long units = toUnits(amount);
+        AccountWindows windows = activeWindows(accountOrigin, now);
+
+        long[] epochs = new long[WINDOWS.length];
+        for (Window window : WINDOWS) {
+            epochs[window.ordinal()] = windows.counters[window.ordinal()].add(now, 1, units);
+        }
+        Permit permit = new Permit(windows, epochs, units);
+        for (Window window : WINDOWS) {
+            int i = window.ordinal();
+            Totals totals = windows.counters[i].totals(now);
+            if (maxCounts[i] > 0 && totals.count() > maxCounts[i]) {
+                permit.release();
+                throw new VelocityLimitExceededException("Account " + accountOrigin + " exceeded "
+                        + maxCounts[i] + " transactions per " + window.name().toLowerCase());
+            }
+            if (maxAmounts[i] > 0 && totals.amount() > maxAmounts[i]) {
+                permit.release();
+                throw new VelocityLimitExceededException("Account " + accountOrigin + " exceeded an amount of "
+                        + fromUnits(maxAmounts[i]).stripTrailingZeros().toPlainString()
+                        + " per " + window.name().toLowerCase());
+            }
+        }
+        return permit;
+    }
+
+    /**
+     * Returns the number of transactions and the amount an account has in a window.
+     *
+     * @param accountOrigin the origin account
+     * @param window the window
+     * @return the number of transactions and their amount, or zeros for an unknown account
+     */
+    public Usage usage(String accountOrigin, Window window) {
+        AccountWindows windows = accounts.get(accountOrigin);
+        if (windows == null) {
+            return new Usage(0, BigDecimal.ZERO.setScale(SCALE));
+        }
+        Totals totals = windows.counters[window.ordinal()].totals(businessClock.millis());
+        return new Usage(totals.count(), fromUnits(totals.amount()));
+    }
+
+    /**
+     * Warm-starts the day window from the transactions created on the current business date.
+     */
+    @PostConstruct
+    void warmUp() {
+        LocalDate today = businessClock.today();
+        long startOfDay = today.atStartOfDay(businessClock.getZone()).toInstant().toEpochMilli();
+        List<OriginTotalsDTO> totals = repository.findCreationTotalsByOrigin(today);
+        for (OriginTotalsDTO origin : totals) {
+            AccountWindows windows = activeWindows(origin.accountOrigin(), startOfDay);
+            windows.counters[Window.DAY.ordinal()].add(startOfDay, origin.count(), toUnits(origin.amount()));
+        }
+        if (!totals.isEmpty()) {
+            log.info("Warmed up velocity counters of {} accounts from transactions created on {}", totals.size(), today);
+        }
+    }
+
+    /**
+     * Scheduled entry point, running every {@code money.velocity.eviction-interval}.
+     */
+    @Scheduled(fixedDelayString = "${money.velocity.eviction-interval:PT5M}",
+            initialDelayString = "${money.velocity.eviction-interval:PT5M}")
+    public void run() {
+        BatchJobEvent event = BatchJobEvent.start("velocity-eviction");
+        event.finish(evictIdleAccounts());
+    }
+
+    /**
+     * Drops the counters of accounts that created no transaction within the longest window.
+     *
+     * @return the number of accounts evicted
+     */
+    public int evictIdleAccounts() {
+        long idleBefore = businessClock.millis() - Window.DAY.length.toMillis();
+        int[] evicted = new int[1];
+        for (String account : accounts.keySet()) {
+            accounts.computeIfPresent(account, (key, windows) -> {
+                if (windows.lastSeen >= idleBefore) {
+                    return windows;
+                }
+                // Pairs with the lastSeen write and evicted read in activeWindows(): either
+                // a concurrent caller sees the eviction and retries, or it is seen here.
+                windows.evicted = true;
+                if (windows.lastSeen >= idleBefore) {
+                    windows.evicted = false;
+                    return windows;
+                }
+                evicted[0]++;
+                return null;
+            });
+        }
+        return evicted[0];
+    }
+
+    /**
+     * @return the number of accounts currently tracked
+     */
+    public int trackedAccounts() {
+        return accounts.size();
+    }
+
+    private AccountWindows activeWindows(String accountOrigin, long now) {
+        while (true) {
+            AccountWindows windows = accounts.computeIfAbsent(accountOrigin, key -> new AccountWindows());
+            if (windows.lastSeen < now) {
+                windows.lastSeen = now;
+            }
+            if (!windows.evicted) {
+                return windows;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static long toUnits(BigDecimal value) {
+        BigDecimal units = value.setScale(SCALE, RoundingMode.HALF_EVEN).movePointRight(SCALE);
+        return units.compareTo(BigDecimal.valueOf(MAX_UNITS)) > 0 ? MAX_UNITS : units.longValueExact();
+    }
+
+    private static BigDecimal fromUnits(long units) {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    /**
+     * Number of transactions and amount of an account in one window.
+     *
+     * @param count the number of transactions
+     * @param amount their total amount
+     */
+    public record Usage(long count, BigDecimal amount) {
+    }
+
+    /**
+     * A transaction recorded by {@link #acquire}.
+     */
+    public static final class Permit {
+
+        private final AccountWindows windows;
+        private final long[] epochs;
+        private final long amount;
+
+        private Permit(AccountWindows windows, long[] epochs, long amount) {
+            this.windows = windows;
+            this.epochs = epochs;
+            this.amount = amount;
+        }
+
+        /**
+         * Takes the transaction back out of the windows, e.g. because it could not be saved.
+         */
+        public void release() {
+            for (Window window : WINDOWS) {
+                windows.counters[window.ordinal()].subtract(epochs[window.ordinal()], 1, amount);
+            }
+        }
+    }
+
+    /**
+     * The counters of one account.
+     */
+    private static final class AccountWindows {
+
+        final SlidingWindowCounter[] counters = new SlidingWindowCounter[WINDOWS.length];
+        volatile long lastSeen;
+        volatile boolean evicted;
+
+        AccountWindows() {
+            for (Window window : WINDOWS) {
+                counters[window.ordinal()] = new SlidingWindowCounter(window.length, window.buckets);
+            }
+        }
+    }
+}
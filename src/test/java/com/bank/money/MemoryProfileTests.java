@@ -0,0 +1,67 @@
+package com.bank.money;
+
+import com.bank.money.domain.Transaction;
+import com.bank.money.repository.TransactionRepository;
+import com.bank.money.repository.memory.InMemoryTransactionRepository;
+import com.bank.money.service.TransactionService;
+import com.bank.money.service.bulk.BulkTransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("memory")
+class MemoryProfileTests {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Autowired
+	private TransactionRepository repository;
+
+	@Autowired
+	private TransactionService service;
+
+	@Autowired
+	private BulkTransactionService bulkService;
+
+	@Test
+	void shouldRunWithoutRelationalDatabase() {
+		assertThat(repository).isInstanceOf(InMemoryTransactionRepository.class);
+		assertThat(context.getBeanNamesForType(DataSource.class)).isEmpty();
+
+		Transaction transaction = new Transaction();
+		transaction.setAccountOrigin("123");
+		transaction.setAccountDestination("456");
+		transaction.setScheduleDate(LocalDate.now());
+		transaction.setAmount(new BigDecimal("500"));
+
+		Transaction saved = service.save(transaction);
+
+		assertThat(service.findResponseById(saved.getId())).isPresent();
+	}
+
+	@Test
+	void shouldRunBulkOperationsWithoutTransactionManager() {
+		LocalDate date = LocalDate.now().plusDays(5);
+		Transaction transaction = new Transaction();
+		transaction.setAccountOrigin("789");
+		transaction.setAccountDestination("456");
+		transaction.setScheduleDate(date);
+		transaction.setAmount(new BigDecimal("500"));
+		service.save(transaction);
+
+		assertThat(bulkService.shift("789", date, date, 1).affected()).isEqualTo(1);
+		assertThat(bulkService.cancel("789", date.plusDays(1), date.plusDays(1)).affected()).isEqualTo(1);
+		assertThat(repository.countByOriginInDateRange("789", date, date.plusDays(1))).isZero();
+	}
+
+}
@@ -0,0 +1,129 @@
+package com.bank.money;
+
+import com.bank.money.domain.Transaction;
+import com.bank.money.dto.TransactionResponseDTO;
+import com.bank.money.repository.TransactionRepository;
+import com.bank.money.repository.sharding.ShardedTransactionRepository;
+import com.bank.money.service.TransactionService;
+import com.bank.money.service.bulk.BulkTransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "money.sharding.url=jdbc:h2:mem:sharded-profile-{index};DB_CLOSE_DELAY=-1")
+@ActiveProfiles("sharded")
+@AutoConfigureMockMvc
+class ShardedProfileTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TransactionRepository repository;
+
+	@Autowired
+	private TransactionService service;
+
+	@Autowired
+	private BulkTransactionService bulkService;
+
+	@Test
+	void shouldSpreadTransactionsOverShards() {
+		assertThat(repository).isInstanceOf(ShardedTransactionRepository.class);
+		ShardedTransactionRepository sharded = (ShardedTransactionRepository) repository;
+
+		for (String origin : List.of("100", "101", "102", "103")) {
+			Transaction saved = service.save(transaction(origin, LocalDate.now()));
+			assertThat(sharded.shardIndexOf(saved.getId())).isEqualTo(sharded.shardIndexOf(origin));
+			assertThat(service.findResponseById(saved.getId())).isPresent();
+		}
+
+		List<Long> ids = service.findResponsesAfter(0L, 10).stream().map(TransactionResponseDTO::id).toList();
+		assertThat(ids).hasSizeGreaterThanOrEqualTo(4).isSorted();
+	}
+
+	@Test
+	void shouldRunBulkOperationsOnOneShard() {
+		LocalDate date = LocalDate.now().plusDays(5);
+		service.save(transaction("789", date));
+
+		assertThat(bulkService.shift("789", date, date, 1).affected()).isEqualTo(1);
+		assertThat(bulkService.cancel("789", date.plusDays(1), date.plusDays(1)).affected()).isEqualTo(1);
+		assertThat(repository.countByOriginInDateRange("789", date, date.plusDays(1))).isZero();
+	}
+
+	@Test
+	void shouldRejectOriginChangeAsUnprocessable() throws Exception {
+		ShardedTransactionRepository sharded = (ShardedTransactionRepository) repository;
+		Transaction saved = service.save(transaction("200", LocalDate.now()));
+		String origin = "201";
+		while (sharded.shardIndexOf(origin) == sharded.shardIndexOf("200")) {
+			origin += "1";
+		}
+		String json = """
+				{
+				  "accountOrigin": "%s",
+				  "accountDestination": "456",
+				  "scheduleDate": "%s",
+				  "amount": 500
+				}
+				""".formatted(origin, LocalDate.now());
+
+		mockMvc.perform(put("/api/transactions/" + saved.getId())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(json))
+				.andExpect(status().isUnprocessableEntity());
+		assertThat(service.findResponseById(saved.getId())).map(TransactionResponseDTO::accountOrigin).contains("200");
+	}
+
+	@Test
+	void shouldChangeListEtagWhenDeleteAndInsertKeepCountAndMaxId() throws Exception {
+		ShardedTransactionRepository sharded = (ShardedTransactionRepository) repository;
+		String busy = "300";
+		String quiet = "301";
+		while (sharded.shardIndexOf(quiet) == sharded.shardIndexOf(busy)) {
+			quiet += "1";
+		}
+		Transaction deleted = service.save(transaction(quiet, LocalDate.now()));
+		for (int i = 0; i < 3; i++) {
+			service.save(transaction(busy, LocalDate.now()));
+		}
+		String etag = mockMvc.perform(get("/api/transactions"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader("ETag");
+
+		// The quiet shard's next ID is below the global maximum, so count and maximum ID stay the same
+		service.delete(deleted.getId());
+		Transaction inserted = service.save(transaction(quiet, LocalDate.now()));
+		assertThat(inserted.getId()).isLessThan(service.findResponsesAfter(0L, 1000).getLast().id());
+
+		mockMvc.perform(get("/api/transactions").header("If-None-Match", etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", not(etag)));
+	}
+
+	private static Transaction transaction(String accountOrigin, LocalDate scheduleDate) {
+		Transaction transaction = new Transaction();
+		transaction.setAccountOrigin(accountOrigin);
+		transaction.setAccountDestination("456");
+		transaction.setScheduleDate(scheduleDate);
+		transaction.setAmount(new BigDecimal("500"));
+		return transaction;
+	}
+
+}
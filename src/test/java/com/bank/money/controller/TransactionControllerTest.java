@@ -1,6 +1,11 @@
 package com.bank.money.controller;
 
 import com.bank.money.domain.Transaction;
+import com.bank.money.dto.TransactionResponseDTO;
+import com.bank.money.dto.VersionStampDTO;
+import com.bank.money.exception.TransactionConflictException;
+import com.bank.money.exception.TransactionNotFoundException;
+import com.bank.money.exception.VelocityLimitExceededException;
 import com.bank.money.service.TransactionService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,10 +16,19 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TransactionController.class)
@@ -66,4 +80,161 @@ class TransactionControllerTest {
                 .content(json))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void shouldReturnUnprocessableEntity_WhenVelocityLimitIsExceeded() throws Exception {
+        when(service.save(any(Transaction.class)))
+                .thenThrow(new VelocityLimitExceededException("Account 123 exceeded 20 transactions per minute"));
+
+        String json = """
+        {
+          "accountOrigin": "123",
+          "accountDestination": "456",
+          "scheduleDate": "%s",
+          "amount": 500
+        }
+        """.formatted(LocalDate.now());
+
+        mockMvc.perform(post("/api/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void shouldReturnConflict_WhenUpdateIsBasedOnStaleVersion() throws Exception {
+        when(service.update(eq(7L), any(Transaction.class)))
+                .thenThrow(new TransactionConflictException("Transaction 7 was changed concurrently"));
+        when(service.update(eq(8L), any(Transaction.class)))
+                .thenThrow(new TransactionNotFoundException("Transaction not found"));
+
+        String json = """
+        {
+          "accountOrigin": "123",
+          "accountDestination": "456",
+          "scheduleDate": "%s",
+          "amount": 500
+        }
+        """.formatted(LocalDate.now());
+
+        mockMvc.perform(put("/api/transactions/7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/api/transactions/8")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturnNotFoundOrConflict_WhenDeleteMatchesNoHotTransaction() throws Exception {
+        doThrow(new TransactionNotFoundException("Transaction not found")).when(service).delete(8L);
+        doThrow(new TransactionConflictException("Transaction 9 is archived and can no longer be deleted"))
+                .when(service).delete(9L);
+
+        mockMvc.perform(delete("/api/transactions/7"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/transactions/8"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/transactions/9"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldReturnTransactionById() throws Exception {
+        TransactionResponseDTO response = new TransactionResponseDTO(7L, "123", "456",
+                LocalDate.of(2026, 1, 21), LocalDate.of(2026, 1, 22),
+                new BigDecimal("500.00"), new BigDecimal("18.00"));
+
+        when(service.findVersionById(7L)).thenReturn(Optional.of(3L));
+        when(service.findResponseById(7L)).thenReturn(Optional.of(response));
+
+        mockMvc.perform(get("/api/transactions/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"7-3\""))
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.accountOrigin").value("123"))
+                .andExpect(jsonPath("$.creationDate").value("2026-01-21"))
+                .andExpect(jsonPath("$.scheduleDate").value("2026-01-22"))
+                .andExpect(jsonPath("$.fee").value(18.00));
+    }
+
+    @Test
+    void shouldReturnNotFound_WhenTransactionDoesNotExist() throws Exception {
+        when(service.findVersionById(7L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/transactions/7"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturnAllTransactions() throws Exception {
+        when(service.findVersionStamp()).thenReturn(new VersionStampDTO(2L, 0x2aL));
+        when(service.findAllResponses()).thenReturn(List.of(
+                new TransactionResponseDTO(1L, "123", "456", LocalDate.of(2026, 1, 21),
+                        LocalDate.of(2026, 1, 21), new BigDecimal("500.00"), new BigDecimal("18.00")),
+                new TransactionResponseDTO(2L, "123", "456", LocalDate.of(2026, 1, 21),
+                        LocalDate.of(2026, 1, 26), new BigDecimal("1500.00"), new BigDecimal("135.00"))));
+
+        mockMvc.perform(get("/api/transactions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].id").value(2))
+                .andExpect(jsonPath("$[1].amount").value(1500.00));
+    }
+
+    @Test
+    void shouldReturnPageWithNextLink() throws Exception {
+        when(service.findVersionStamp()).thenReturn(new VersionStampDTO(2L, 0x9aL));
+        when(service.findResponsesAfter(5L, 2)).thenReturn(List.of(
+                new TransactionResponseDTO(6L, "123", "456", LocalDate.of(2026, 1, 21),
+                        LocalDate.of(2026, 1, 21), new BigDecimal("500.00"), new BigDecimal("18.00")),
+                new TransactionResponseDTO(9L, "123", "456", LocalDate.of(2026, 1, 21),
+                        LocalDate.of(2026, 1, 26), new BigDecimal("1500.00"), new BigDecimal("135.00"))));
+
+        mockMvc.perform(get("/api/transactions").param("after", "5").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().string("ETag", "W/\"2-9a\""))
+                .andExpect(header().string("Link", "</api/transactions?after=9&limit=2>; rel=\"next\""));
+
+        mockMvc.perform(get("/api/transactions").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        verify(service, never()).findAllResponses();
+    }
+
+    @Test
+    void shouldReturnNotModified_WhenPageEtagMatches() throws Exception {
+        when(service.findVersionStamp()).thenReturn(new VersionStampDTO(2L, 0x9aL));
+
+        mockMvc.perform(get("/api/transactions").param("after", "5").param("limit", "2")
+                        .header("If-None-Match", "W/\"2-9a\""))
+                .andExpect(status().isNotModified());
+        verify(service, never()).findResponsesAfter(5L, 2);
+    }
+
+    @Test
+    void shouldReturnNotModified_WhenTransactionEtagMatches() throws Exception {
+        when(service.findVersionById(7L)).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/api/transactions/7").header("If-None-Match", "W/\"7-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"7-3\""))
+                .andExpect(content().string(""));
+        verify(service, never()).findResponseById(7L);
+    }
+
+    @Test
+    void shouldReturnNotModified_WhenListEtagMatches() throws Exception {
+        when(service.findVersionStamp()).thenReturn(new VersionStampDTO(2L, 0x59L));
+
+        mockMvc.perform(get("/api/transactions").header("If-None-Match", "W/\"2-59\""))
+                .andExpect(status().isNotModified());
+        verify(service, never()).findAllResponses();
+
+        mockMvc.perform(get("/api/transactions").header("If-None-Match", "W/\"2-49\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"2-59\""));
+    }
 }
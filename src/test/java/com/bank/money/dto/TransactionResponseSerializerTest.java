@@ -0,0 +1,45 @@
+package com.bank.money.dto;
+
+import com.bank.money.domain.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JsonTest
+class TransactionResponseSerializerTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldProduceSameJsonAsEntity() throws Exception {
+        Transaction transaction = new Transaction(3L, "123456789", "987654321",
+                LocalDate.of(2026, 1, 21), LocalDate.of(2026, 1, 21),
+                new BigDecimal("500.00"), new BigDecimal("18.0000"), 2L, null);
+
+        // The version is sent as the ETag header rather than in the body, and deleted
+        // transactions are never returned
+        String fromEntity = objectMapper.writeValueAsString(transaction)
+                .replace(",\"version\":2", "")
+                .replace(",\"deletedAt\":null", "");
+        String fromResponse = objectMapper.writeValueAsString(TransactionResponseDTO.from(transaction));
+
+        assertThat(fromResponse).isEqualTo(fromEntity);
+    }
+
+    @Test
+    void shouldWriteNullsForMissingValues() throws Exception {
+        TransactionResponseDTO response = new TransactionResponseDTO(null, "123", "456",
+                null, LocalDate.of(2026, 1, 21), new BigDecimal("10"), null);
+
+        assertThat(objectMapper.writeValueAsString(response)).isEqualTo(
+                "{\"id\":null,\"accountOrigin\":\"123\",\"accountDestination\":\"456\","
+                        + "\"creationDate\":null,\"scheduleDate\":\"2026-01-21\",\"amount\":10,\"fee\":null}");
+    }
+}
@@ -1,22 +1,43 @@
 package com.bank.money.repository;
 
 import com.bank.money.domain.Transaction;
+import com.bank.money.dto.TransactionResponseDTO;
+import com.bank.money.dto.TransactionSummaryDTO;
+import com.bank.money.dto.VersionStampDTO;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.bank.money.repository.TransactionRepositoryTest$CapturingStatementInspector")
 class TransactionRepositoryTest {
 
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 21);
+
     @Autowired
     private TransactionRepository repository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
     @Test
     void shouldPersistAndRetrieveTransaction() {
         Transaction transaction = new Transaction();
@@ -34,4 +55,181 @@ class TransactionRepositoryTest {
         Transaction found = repository.findById(saved.getId()).orElseThrow();
         assertThat(found.getAmount()).isEqualByComparingTo("1000");
     }
+
+    @Test
+    void shouldProjectResponsesWithoutLoadingEntities() {
+        persist("123", TODAY);
+        persist("456", TODAY.plusDays(1));
+
+        List<TransactionResponseDTO> all = repository.findAllResponses();
+
+        assertThat(all).extracting(TransactionResponseDTO::accountOrigin).containsExactly("123", "456");
+        TransactionResponseDTO byId = repository.findResponseById(all.get(1).id()).orElseThrow();
+        assertThat(byId.scheduleDate()).isEqualTo(TODAY.plusDays(1));
+        assertThat(byId.creationDate()).isEqualTo(TODAY);
+        assertThat(repository.findResponseById(-1L)).isEmpty();
+    }
+
+    @Test
+    void shouldFindDueTransactionsOrderedByScheduleDate() {
+        persist("123", TODAY.plusDays(2));
+        persist("123", TODAY.minusDays(1));
+        persist("456", TODAY);
+        persist("456", TODAY.plusDays(10));
+
+        List<TransactionSummaryDTO> due = repository.findDueOnOrBefore(TODAY.plusDays(2));
+
+        assertThat(due).extracting(TransactionSummaryDTO::scheduleDate)
+                .containsExactly(TODAY.minusDays(1), TODAY, TODAY.plusDays(2));
+        assertThat(repository.countDueOnOrBefore(TODAY.plusDays(2))).isEqualTo(3);
+    }
+
+    @Test
+    void shouldFindOriginTransactionsInDateRange() {
+        persist("123", TODAY);
+        persist("123", TODAY.plusDays(5));
+        persist("123", TODAY.plusDays(30));
+        persist("456", TODAY.plusDays(5));
+
+        List<TransactionSummaryDTO> found = repository.findByOriginInDateRange("123", TODAY, TODAY.plusDays(10));
+
+        assertThat(found).extracting(TransactionSummaryDTO::accountOrigin).containsOnly("123");
+        assertThat(found).extracting(TransactionSummaryDTO::scheduleDate)
+                .containsExactly(TODAY, TODAY.plusDays(5));
+        assertThat(repository.countByOriginInDateRange("123", TODAY, TODAY.plusDays(10))).isEqualTo(2);
+    }
+
+    @Test
+    void shouldStreamTransactionsOfOneScheduleDate() {
+        persist("123", TODAY);
+        persist("456", TODAY.plusDays(1));
+        persist("789", TODAY);
+
+        try (Stream<TransactionSummaryDTO> stream = repository.streamByScheduleDate(TODAY)) {
+            assertThat(stream.map(TransactionSummaryDTO::accountOrigin)).containsExactly("123", "789");
+        }
+    }
+
+    @Test
+    void dueDateQueriesShouldUseScheduleDateIndex() {
+        repository.findDueOnOrBefore(TODAY);
+        assertUsesIndex("idx_transactions_live_schedule_date_id", TODAY);
+
+        repository.countDueOnOrBefore(TODAY);
+        assertUsesIndex("idx_transactions_live_schedule_date_id", TODAY);
+
+        repository.findScheduledBefore(TODAY, Limit.of(10));
+        assertUsesIndex("idx_transactions_live_schedule_date_id", TODAY, 10);
+
+        try (Stream<TransactionSummaryDTO> stream = repository.streamByScheduleDate(TODAY)) {
+            stream.forEach(summary -> { });
+        }
+        assertUsesIndex("idx_transactions_live_schedule_date_id", TODAY);
+    }
+
+    @Test
+    void originRangeQueriesShouldUseOriginIndex() {
+        repository.findByOriginInDateRange("123", TODAY, TODAY.plusDays(10));
+        assertUsesIndex("idx_transactions_live_origin_schedule_date", "123", TODAY, TODAY.plusDays(10));
+
+        repository.countByOriginInDateRange("123", TODAY, TODAY.plusDays(10));
+        assertUsesIndex("idx_transactions_live_origin_schedule_date", "123", TODAY, TODAY.plusDays(10));
+    }
+
+    @Test
+    void purgeQueriesShouldFindTombstonesThroughIndex() {
+        Instant cutoff = Instant.parse("2026-01-21T00:00:00Z");
+
+        repository.countDeletedBefore(cutoff);
+        assertUsesIndex("idx_transactions_live_", cutoff);
+
+        repository.purgeDeletedBefore(cutoff, 10);
+        assertUsesIndex("idx_transactions_live_", cutoff, 10);
+    }
+
+    @Test
+    void shouldHideDeletedTransactions() {
+        persist("123", TODAY);
+        persist("123", TODAY);
+        Transaction deleted = repository.findAll().get(0);
+
+        assertThat(repository.markDeleted(deleted.getId(), Instant.parse("2026-01-21T10:00:00Z"))).isEqualTo(1);
+
+        assertThat(repository.findById(deleted.getId())).isEmpty();
+        assertThat(repository.findResponseById(deleted.getId())).isEmpty();
+        assertThat(repository.countByOriginInDateRange("123", TODAY, TODAY)).isEqualTo(1);
+        assertThat(repository.countDeleted()).isEqualTo(1);
+        assertThat(repository.purgeDeletedBefore(Instant.parse("2026-01-22T00:00:00Z"), 10)).isEqualTo(1);
+        assertThat(repository.countDeleted()).isZero();
+    }
+
+    /**
+     * Runs EXPLAIN on the last SQL statement Hibernate generated and checks the plan
+     * reads through the expected index instead of scanning the whole table.
+     */
+    private void assertUsesIndex(String indexName, Object... parameters) {
+        List<String> statements = CapturingStatementInspector.STATEMENTS;
+        assertThat(statements).isNotEmpty();
+        String sql = statements.get(statements.size() - 1);
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+
+        assertThat(plan).containsIgnoringCase(indexName);
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void shouldPageResponsesByIdAfterCursor() {
+        persist("123", TODAY.plusDays(2));
+        persist("456", TODAY);
+        persist("789", TODAY.plusDays(1));
+
+        List<TransactionResponseDTO> first = repository.findResponsesAfter(0L, Limit.of(2));
+        List<TransactionResponseDTO> second = repository.findResponsesAfter(first.get(1).id(), Limit.of(2));
+
+        assertThat(first).extracting(TransactionResponseDTO::accountOrigin).containsExactly("123", "456");
+        assertThat(second).extracting(TransactionResponseDTO::accountOrigin).containsExactly("789");
+    }
+
+    @Test
+    void shouldTrackVersionsForConditionalRequests() {
+        persist("123", TODAY);
+        persist("456", TODAY);
+        Transaction first = repository.findAll().get(0);
+        assertThat(repository.findVersionById(first.getId())).contains(0L);
+
+        first.setAmount(new BigDecimal("2000"));
+        repository.saveAndFlush(first);
+
+        assertThat(repository.findVersionById(first.getId())).contains(1L);
+        assertThat(repository.findVersionById(-1L)).isEmpty();
+        VersionStampDTO stamp = repository.findVersionStamp();
+        assertThat(stamp.count()).isEqualTo(2);
+        assertThat(stamp.checksum()).isEqualTo(VersionStampDTO.hash(first.getId(), 1) + VersionStampDTO.hash(first.getId() + 1, 0));
+    }
+
+    private void persist(String accountOrigin, LocalDate scheduleDate) {
+        Transaction transaction = new Transaction();
+        transaction.setAccountOrigin(accountOrigin);
+        transaction.setAccountDestination("999");
+        transaction.setAmount(new BigDecimal("1000"));
+        transaction.setScheduleDate(scheduleDate);
+        transaction.setCreationDate(TODAY);
+        transaction.setFee(BigDecimal.ZERO);
+        repository.save(transaction);
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares so it can be explained afterwards.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
 }
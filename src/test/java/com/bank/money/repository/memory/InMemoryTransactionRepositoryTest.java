@@ -0,0 +1,231 @@
+package com.bank.money.repository.memory;
+
+import com.bank.money.domain.Transaction;
+import com.bank.money.dto.TransactionResponseDTO;
+import com.bank.money.dto.TransactionSummaryDTO;
+import com.bank.money.dto.VersionStampDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryTransactionRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 21);
+
+    private InMemoryTransactionRepository repository;
+
+    @BeforeEach
+    void setup() {
+        repository = new InMemoryTransactionRepository("");
+    }
+
+    @Test
+    void shouldAssignIdsAndReturnDetachedCopies() {
+        Transaction saved = repository.save(transaction("123", TODAY));
+
+        assertThat(saved.getId()).isEqualTo(1L);
+
+        Transaction found = repository.findById(saved.getId()).orElseThrow();
+        found.setAmount(new BigDecimal("999"));
+        assertThat(repository.findById(saved.getId()).orElseThrow().getAmount()).isEqualByComparingTo("1000");
+    }
+
+    @Test
+    void shouldKeepIndexesInStepWithReschedules() {
+        Transaction saved = repository.save(transaction("123", TODAY));
+        repository.save(transaction("456", TODAY.plusDays(3)));
+
+        saved.setScheduleDate(TODAY.plusDays(20));
+        repository.save(saved);
+
+        assertThat(repository.findDueOnOrBefore(TODAY.plusDays(5)))
+                .extracting(TransactionSummaryDTO::accountOrigin).containsExactly("456");
+        assertThat(repository.countByOriginInDateRange("123", TODAY, TODAY.plusDays(10))).isZero();
+        assertThat(repository.findByOriginInDateRange("123", TODAY, TODAY.plusDays(30)))
+                .extracting(TransactionSummaryDTO::scheduleDate).containsExactly(TODAY.plusDays(20));
+    }
+
+    @Test
+    void shouldRemoveDeletedTransactionsFromIndexes() {
+        Transaction saved = repository.save(transaction("123", TODAY));
+
+        repository.deleteById(saved.getId());
+
+        assertThat(repository.existsById(saved.getId())).isFalse();
+        assertThat(repository.countDueOnOrBefore(TODAY)).isZero();
+        assertThat(repository.countByOriginInDateRange("123", TODAY, TODAY)).isZero();
+    }
+
+    @Test
+    void shouldHideTombstonesUntilPurged() {
+        Transaction deleted = repository.save(transaction("123", TODAY));
+        Transaction kept = repository.save(transaction("123", TODAY));
+        Instant deletedAt = Instant.parse("2026-01-21T10:00:00Z");
+
+        assertThat(repository.markDeleted(deleted.getId(), deletedAt)).isEqualTo(1);
+        assertThat(repository.markDeleted(deleted.getId(), deletedAt)).isZero();
+
+        assertThat(repository.findById(deleted.getId())).isEmpty();
+        assertThat(repository.findAll()).extracting(Transaction::getId).containsExactly(kept.getId());
+        assertThat(repository.countByOriginInDateRange("123", TODAY, TODAY)).isEqualTo(1);
+        assertThat(repository.findVersionStamp()).isEqualTo(new VersionStampDTO(1L, VersionStampDTO.hash(kept.getId(), 0)));
+        assertThatThrownBy(() -> repository.save(deleted)).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(repository.countDeleted()).isEqualTo(1);
+
+        assertThat(repository.purgeDeletedBefore(deletedAt, 10)).isZero();
+        assertThat(repository.purgeDeletedBefore(deletedAt.plusSeconds(1), 10)).isEqualTo(1);
+        assertThat(repository.countDeleted()).isZero();
+    }
+
+    @Test
+    void shouldFindOldestTransactionsScheduledBeforeHorizon() {
+        repository.save(transaction("123", TODAY.minusDays(1)));
+        repository.save(transaction("456", TODAY.minusDays(3)));
+        repository.save(transaction("789", TODAY));
+
+        assertThat(repository.findScheduledBefore(TODAY, Limit.of(1)))
+                .extracting(Transaction::getAccountOrigin).containsExactly("456");
+        assertThat(repository.findScheduledBefore(TODAY, Limit.unlimited())).hasSize(2);
+    }
+
+    @Test
+    void shouldPageResponsesByIdAfterCursor() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(transaction("123", TODAY.plusDays(5 - i)));
+        }
+
+        assertThat(repository.findResponsesAfter(0L, Limit.of(2)))
+                .extracting(TransactionResponseDTO::id).containsExactly(1L, 2L);
+        assertThat(repository.findResponsesAfter(2L, Limit.of(2)))
+                .extracting(TransactionResponseDTO::id).containsExactly(3L, 4L);
+        assertThat(repository.findResponsesAfter(4L, Limit.of(2)))
+                .extracting(TransactionResponseDTO::id).containsExactly(5L);
+    }
+
+    @Test
+    void shouldRestoreContentsFromSnapshot(@TempDir Path dir) {
+        String file = dir.resolve("transactions.snapshot").toString();
+        InMemoryTransactionRepository first = new InMemoryTransactionRepository(file);
+        first.save(first.save(transaction("123", TODAY)));
+        first.save(transaction("456", TODAY.plusDays(1)));
+        first.markDeleted(first.save(transaction("789", TODAY)).getId(), Instant.parse("2026-01-21T10:00:00Z"));
+        first.writeSnapshot();
+
+        InMemoryTransactionRepository second = new InMemoryTransactionRepository(file);
+        second.loadSnapshot();
+
+        assertThat(second.findAllResponses()).isEqualTo(first.findAllResponses());
+        assertThat(second.findVersionStamp()).isEqualTo(first.findVersionStamp());
+        assertThat(second.countDeleted()).isEqualTo(1);
+        assertThat(second.save(transaction("789", TODAY)).getId()).isEqualTo(4L);
+    }
+
+    @Test
+    void shouldAcceptConcurrentWriters() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8_000; i++) {
+            String origin = "acc-" + (i % 16);
+            LocalDate scheduleDate = TODAY.plusDays(i % 30);
+            executor.execute(() -> repository.save(transaction(origin, scheduleDate)));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        List<Long> ids = repository.findAll().stream().map(Transaction::getId).toList();
+        assertThat(ids).hasSize(8_000).doesNotHaveDuplicates();
+        assertThat(repository.countDueOnOrBefore(TODAY.plusDays(29))).isEqualTo(8_000);
+    }
+
+    @Test
+    void shouldIncrementVersionsAndRejectStaleCopies() {
+        Transaction saved = repository.save(transaction("123", TODAY));
+        Transaction stale = repository.findById(saved.getId()).orElseThrow();
+        assertThat(saved.getVersion()).isZero();
+
+        saved.setAmount(new BigDecimal("2000"));
+        repository.save(saved);
+
+        assertThat(saved.getVersion()).isEqualTo(1L);
+        assertThat(repository.findVersionById(saved.getId())).contains(1L);
+        assertThat(repository.findVersionStamp()).isEqualTo(new VersionStampDTO(1L, VersionStampDTO.hash(saved.getId(), 1)));
+        assertThatThrownBy(() -> repository.save(stale)).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(repository.findById(saved.getId()).orElseThrow().getAmount()).isEqualByComparingTo("2000");
+    }
+
+    @Test
+    void shouldSortByRequestedProperties() {
+        Transaction a = repository.save(transaction("123", TODAY.plusDays(2)));
+        Transaction b = repository.save(transaction("456", TODAY));
+        Transaction c = repository.save(transaction("123", TODAY));
+
+        assertThat(repository.findAll(Sort.by("accountOrigin", "scheduleDate")))
+                .extracting(Transaction::getId).containsExactly(c.getId(), a.getId(), b.getId());
+        assertThat(repository.findAll(Sort.by(Sort.Direction.DESC, "scheduleDate")))
+                .extracting(Transaction::getId).containsExactly(a.getId(), b.getId(), c.getId());
+
+        Page<Transaction> page = repository.findAll(PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "id")));
+        assertThat(page.getContent()).extracting(Transaction::getId).containsExactly(a.getId());
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThatThrownBy(() -> repository.findAll(Sort.by("unknown"))).isInstanceOf(PropertyReferenceException.class);
+    }
+
+    @Test
+    void shouldQueryByExample() {
+        Transaction a = repository.save(transaction("123", TODAY));
+        Transaction b = repository.save(transaction("1234", TODAY.plusDays(1)));
+        repository.save(transaction("456", TODAY));
+        repository.markDeleted(repository.save(transaction("123", TODAY)).getId(), Instant.now());
+
+        Transaction probe = new Transaction();
+        probe.setAccountOrigin("123");
+        probe.setAmount(new BigDecimal("1000.00"));
+        Example<Transaction> exact = Example.of(probe);
+        Example<Transaction> prefix = Example.of(probe, ExampleMatcher.matching()
+                .withStringMatcher(ExampleMatcher.StringMatcher.STARTING));
+
+        assertThat(repository.findAll(exact)).extracting(Transaction::getId).containsExactly(a.getId());
+        assertThat(repository.findOne(exact)).map(Transaction::getId).contains(a.getId());
+        assertThat(repository.count(prefix)).isEqualTo(2);
+        assertThat(repository.findAll(prefix, Sort.by(Sort.Direction.DESC, "scheduleDate")))
+                .extracting(Transaction::getId).containsExactly(b.getId(), a.getId());
+        assertThatThrownBy(() -> repository.findOne(prefix)).isInstanceOf(IncorrectResultSizeDataAccessException.class);
+        TransactionResponseDTO first = repository.findBy(prefix, query -> query
+                .sortBy(Sort.by("accountOrigin").descending())
+                .as(TransactionResponseDTO.class)
+                .firstValue());
+        assertThat(first.id()).isEqualTo(b.getId());
+        assertThat(repository.exists(Example.of(transaction("789", TODAY)))).isFalse();
+    }
+
+    private static Transaction transaction(String accountOrigin, LocalDate scheduleDate) {
+        Transaction transaction = new Transaction();
+        transaction.setAccountOrigin(accountOrigin);
+        transaction.setAccountDestination("999");
+        transaction.setCreationDate(TODAY);
+        transaction.setScheduleDate(scheduleDate);
+        transaction.setAmount(new BigDecimal("1000"));
+        transaction.setFee(BigDecimal.ZERO);
+        return transaction;
+    }
+}
@@ -0,0 +1,234 @@
+package com.bank.money.repository.sharding;
+
+import com.bank.money.domain.Transaction;
+import com.bank.money.dto.TransactionResponseDTO;
+import com.bank.money.dto.TransactionSummaryDTO;
+import com.bank.money.dto.VersionStampDTO;
+import com.bank.money.exception.OriginAccountChangeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardedTransactionRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 21);
+
+    // With three shards, origin "A" lives on shard 2, "B" on shard 0 and "C" on shard 1
+    private static final int SHARDS = 3;
+
+    private ShardedTransactionRepository repository;
+
+    @BeforeEach
+    void setup() {
+        JpaProperties jpaProperties = new JpaProperties();
+        jpaProperties.getProperties().put("hibernate.globally_quoted_identifiers", "true");
+        repository = new ShardedTransactionRepository(SHARDS,
+                "jdbc:h2:mem:" + UUID.randomUUID() + "-{index};DB_CLOSE_DELAY=-1", "sa", "",
+                jpaProperties, new HibernateProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.shutdown();
+    }
+
+    @Test
+    void shouldEncodeShardOfOriginInIds() {
+        Transaction a = repository.save(transaction("A", TODAY));
+        Transaction b = repository.save(transaction("B", TODAY));
+        Transaction c = repository.save(transaction("C", TODAY));
+        Transaction a2 = repository.save(transaction("A", TODAY));
+
+        assertThat(List.of(a, b, c, a2)).allSatisfy(saved ->
+                assertThat(repository.shardIndexOf(saved.getId())).isEqualTo(repository.shardIndexOf(saved.getAccountOrigin())));
+        assertThat(List.of(a.getId(), b.getId(), c.getId(), a2.getId())).doesNotHaveDuplicates();
+        assertThat(repository.findById(c.getId())).map(Transaction::getAccountOrigin).contains("C");
+        assertThat(repository.findResponseById(a2.getId())).isPresent();
+        assertThat(repository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldUpdateInPlaceAndRejectOriginChange() {
+        Transaction saved = repository.save(transaction("A", TODAY));
+
+        saved.setAmount(new BigDecimal("2000"));
+        repository.save(saved);
+        saved.setAccountOrigin("B");
+
+        assertThat(repository.findVersionById(saved.getId())).contains(1L);
+        assertThatThrownBy(() -> repository.save(saved)).isInstanceOf(OriginAccountChangeException.class);
+        assertThat(repository.findById(saved.getId()).orElseThrow().getAccountOrigin()).isEqualTo("A");
+    }
+
+    @Test
+    void shouldTranslateStaleUpdates() {
+        Transaction saved = repository.save(transaction("A", TODAY));
+        Transaction stale = repository.findById(saved.getId()).orElseThrow();
+
+        saved.setAmount(new BigDecimal("2000"));
+        repository.save(saved);
+        stale.setAmount(new BigDecimal("3000"));
+
+        assertThatThrownBy(() -> repository.save(stale)).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void shouldSortAndQueryByExampleAcrossShards() {
+        Transaction a = repository.save(transaction("A", TODAY.plusDays(2)));
+        Transaction b = repository.save(transaction("B", TODAY));
+        Transaction c = repository.save(transaction("C", TODAY.plusDays(1)));
+        Transaction b2 = repository.save(transaction("B", TODAY.plusDays(3)));
+
+        assertThat(repository.findAll(Sort.by(Sort.Direction.DESC, "scheduleDate")))
+                .extracting(Transaction::getId).containsExactly(b2.getId(), a.getId(), c.getId(), b.getId());
+        Page<Transaction> page = repository.findAll(PageRequest.of(1, 2, Sort.by("accountOrigin", "scheduleDate")));
+        assertThat(page.getContent()).extracting(Transaction::getId).containsExactly(b2.getId(), c.getId());
+        assertThat(page.getTotalElements()).isEqualTo(4);
+
+        Transaction probe = new Transaction();
+        probe.setAccountDestination("999");
+        Example<Transaction> all = Example.of(probe);
+        probe = new Transaction();
+        probe.setAccountOrigin("b");
+        Example<Transaction> originB = Example.of(probe, ExampleMatcher.matching().withIgnoreCase());
+
+        assertThat(repository.count(all)).isEqualTo(4);
+        assertThat(repository.findAll(all, Sort.by("scheduleDate")))
+                .extracting(Transaction::getId).containsExactly(b.getId(), c.getId(), a.getId(), b2.getId());
+        assertThat(repository.findAll(originB, PageRequest.of(0, 1)).getContent())
+                .extracting(Transaction::getId).containsExactly(b.getId());
+        assertThat(repository.exists(originB)).isTrue();
+        List<Transaction> latest = repository.findBy(all,
+                query -> query.sortBy(Sort.by("scheduleDate").descending()).limit(2).all());
+        assertThat(latest).extracting(Transaction::getId).containsExactly(b2.getId(), a.getId());
+        probe = new Transaction();
+        probe.setAccountOrigin("C");
+        assertThat(repository.findOne(Example.of(probe))).map(Transaction::getId).contains(c.getId());
+    }
+
+    @Test
+    void shouldMergeListsAcrossShardsInSingleDatabaseOrder() {
+        repository.saveAll(List.of(
+                transaction("A", TODAY.plusDays(3)),
+                transaction("B", TODAY.plusDays(1)),
+                transaction("C", TODAY.minusDays(2)),
+                transaction("B", TODAY.minusDays(1)),
+                transaction("C", TODAY.plusDays(9))));
+
+        List<Long> ids = repository.findAllResponses().stream().map(TransactionResponseDTO::id).toList();
+        assertThat(ids).hasSize(5).isSorted();
+        assertThat(repository.findDueOnOrBefore(TODAY.plusDays(3)))
+                .extracting(TransactionSummaryDTO::scheduleDate)
+                .containsExactly(TODAY.minusDays(2), TODAY.minusDays(1), TODAY.plusDays(1), TODAY.plusDays(3));
+        assertThat(repository.countDueOnOrBefore(TODAY)).isEqualTo(2);
+        assertThat(repository.findScheduledBefore(TODAY.plusDays(5), Limit.of(2)))
+                .extracting(Transaction::getAccountOrigin).containsExactly("C", "B");
+        assertThat(repository.findVersionStamp()).isEqualTo(new VersionStampDTO(5L,
+                ids.stream().mapToLong(id -> VersionStampDTO.hash(id, 0)).sum()));
+    }
+
+    @Test
+    void shouldChangeVersionStampWhenDeleteAndInsertKeepCountAndMaxId() {
+        Transaction deleted = repository.save(transaction("B", TODAY));
+        repository.save(transaction("A", TODAY));
+        repository.save(transaction("A", TODAY));
+        Transaction highest = repository.save(transaction("A", TODAY));
+        VersionStampDTO before = repository.findVersionStamp();
+
+        repository.markDeleted(deleted.getId(), Instant.parse("2026-01-21T10:00:00Z"));
+        Transaction inserted = repository.save(transaction("B", TODAY));
+
+        assertThat(inserted.getId()).isLessThan(highest.getId());
+        assertThat(repository.findVersionStamp().count()).isEqualTo(before.count());
+        assertThat(repository.findVersionStamp()).isNotEqualTo(before);
+    }
+
+    @Test
+    void shouldPageByIdAcrossShards() {
+        for (int i = 0; i < 7; i++) {
+            repository.save(transaction(String.valueOf((char) ('A' + i % 3)), TODAY));
+        }
+        List<Long> all = repository.findAllResponses().stream().map(TransactionResponseDTO::id).toList();
+
+        List<TransactionResponseDTO> first = repository.findResponsesAfter(0L, Limit.of(3));
+        List<TransactionResponseDTO> second = repository.findResponsesAfter(first.get(2).id(), Limit.of(3));
+        List<TransactionResponseDTO> third = repository.findResponsesAfter(second.get(2).id(), Limit.of(3));
+
+        assertThat(Stream.of(first, second, third).flatMap(List::stream).map(TransactionResponseDTO::id))
+                .containsExactlyElementsOf(all);
+        assertThat(third).hasSize(1);
+    }
+
+    @Test
+    void shouldMergeStreamsOfAllShards() {
+        repository.save(transaction("A", TODAY));
+        repository.save(transaction("B", TODAY));
+        repository.save(transaction("C", TODAY));
+        repository.save(transaction("B", TODAY.plusDays(1)));
+
+        try (Stream<TransactionSummaryDTO> stream = repository.streamByScheduleDate(TODAY)) {
+            assertThat(stream.map(TransactionSummaryDTO::id).toList()).hasSize(3).isSorted();
+        }
+        try (Stream<TransactionResponseDTO> stream = repository.streamResponsesScheduledBetween(TODAY, TODAY.plusDays(1))) {
+            assertThat(stream.count()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void shouldRouteOriginQueriesAndBatchDeletes() {
+        Transaction a = repository.save(transaction("A", TODAY));
+        Transaction b = repository.save(transaction("B", TODAY));
+        repository.save(transaction("B", TODAY.plusDays(2)));
+
+        assertThat(repository.findIdsByOriginInDateRange("B", TODAY, TODAY.plusDays(2))).hasSize(2);
+        assertThat(repository.findCreationTotalsByOrigin(TODAY)).hasSize(2);
+
+        repository.deleteAllInBatch(List.of(a, b));
+
+        assertThat(repository.findAll()).extracting(Transaction::getScheduleDate).containsExactly(TODAY.plusDays(2));
+    }
+
+    @Test
+    void shouldPurgeTombstonesOfAllShards() {
+        Instant deletedAt = Instant.parse("2026-01-21T10:00:00Z");
+        for (String origin : List.of("A", "B", "C")) {
+            repository.markDeleted(repository.save(transaction(origin, TODAY)).getId(), deletedAt);
+        }
+        Transaction kept = repository.save(transaction("A", TODAY));
+
+        assertThat(repository.findAll()).extracting(Transaction::getId).containsExactly(kept.getId());
+        assertThat(repository.countDeleted()).isEqualTo(3);
+        assertThat(repository.purgeDeletedBefore(deletedAt.plusSeconds(1), 10)).isEqualTo(3);
+        assertThat(repository.countDeleted()).isZero();
+    }
+
+    private static Transaction transaction(String accountOrigin, LocalDate scheduleDate) {
+        Transaction transaction = new Transaction();
+        transaction.setAccountOrigin(accountOrigin);
+        transaction.setAccountDestination("999");
+        transaction.setCreationDate(TODAY);
+        transaction.setScheduleDate(scheduleDate);
+        transaction.setAmount(new BigDecimal("1000"));
+        transaction.setFee(BigDecimal.ZERO);
+        return transaction;
+    }
+}
@@ -1,7 +1,11 @@
 package com.bank.money.service;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -10,14 +14,24 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import org.mockito.Mockito;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import com.bank.money.domain.ArchivedTransaction;
 import com.bank.money.domain.Transaction;
 import com.bank.money.exception.BusinessException;
+import com.bank.money.exception.TransactionConflictException;
+import com.bank.money.exception.TransactionNotFoundException;
+import com.bank.money.exception.VelocityLimitExceededException;
+import com.bank.money.repository.TransactionArchiveRepository;
 import com.bank.money.repository.TransactionRepository;
+import com.bank.money.service.clock.BusinessClock;
 import com.bank.money.service.strategy.FeeStrategyFactory;
+import com.bank.money.service.velocity.VelocityLimiter;
 
 class TransactionServiceTest {
 
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 21);
+
     private TransactionRepository repository;
     private FeeStrategyFactory feeStrategyFactory;
     private TransactionService service;
@@ -26,14 +40,15 @@ class TransactionServiceTest {
     void setup() {
         repository = Mockito.mock(TransactionRepository.class);
         feeStrategyFactory = new FeeStrategyFactory();
-        service = new TransactionService(repository, feeStrategyFactory);
+        service = new TransactionService(repository, feeStrategyFactory, frozenAt(TODAY), Optional.empty(),
+                Optional.empty());
     }
 
     @Test
     void shouldCalculateFee_TaxaA_SameDay() {
         Transaction transaction = new Transaction();
         transaction.setAmount(new BigDecimal("500"));
-        transaction.setScheduleDate(LocalDate.now());
+        transaction.setScheduleDate(TODAY);
 
         Mockito.when(repository.save(any(Transaction.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
@@ -48,7 +63,7 @@ class TransactionServiceTest {
     void shouldCalculateFee_TaxaB_1To10Days() {
         Transaction transaction = new Transaction();
         transaction.setAmount(new BigDecimal("1500"));
-        transaction.setScheduleDate(LocalDate.now().plusDays(5));
+        transaction.setScheduleDate(TODAY.plusDays(5));
 
         Mockito.when(repository.save(any(Transaction.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
@@ -62,7 +77,7 @@ class TransactionServiceTest {
     void shouldCalculateFee_TaxaC_Over2000_21To30Days() {
         Transaction transaction = new Transaction();
         transaction.setAmount(new BigDecimal("3000"));
-        transaction.setScheduleDate(LocalDate.now().plusDays(25));
+        transaction.setScheduleDate(TODAY.plusDays(25));
 
         Mockito.when(repository.save(any(Transaction.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
@@ -76,7 +91,7 @@ class TransactionServiceTest {
     void shouldReturnZeroFee_WhenNoRuleMatches() {
         Transaction transaction = new Transaction();
         transaction.setAmount(new BigDecimal("500"));
-        transaction.setScheduleDate(LocalDate.now().plusDays(3));
+        transaction.setScheduleDate(TODAY.plusDays(3));
 
         Mockito.when(repository.save(any(Transaction.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
@@ -95,4 +110,124 @@ class TransactionServiceTest {
         assertThrows(BusinessException.class,
                 () -> service.update(1L, transaction));
     }
+
+    @Test
+    void shouldThrowConflict_WhenUpdatingStaleVersion() {
+        Transaction existing = new Transaction(1L, "123", "456", TODAY, TODAY,
+                new BigDecimal("500"), new BigDecimal("18.00"), 3L, null);
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(existing));
+        Mockito.when(repository.save(any(Transaction.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Transaction.class, 1L));
+
+        Transaction transaction = new Transaction();
+        transaction.setAmount(new BigDecimal("700"));
+        transaction.setScheduleDate(TODAY);
+
+        assertThrows(TransactionConflictException.class,
+                () -> service.update(1L, transaction));
+    }
+
+    @Test
+    void shouldUseSameBusinessDateForCreationAndFee_WhenRequestStraddlesMidnight() {
+        Instant beforeMidnight = TODAY.atTime(23, 59, 59, 999_000_000).toInstant(ZoneOffset.UTC);
+        Clock straddling = new Clock() {
+            private int reads;
+
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Instant instant() {
+                return reads++ == 0 ? beforeMidnight : beforeMidnight.plusSeconds(1);
+            }
+        };
+        service = new TransactionService(repository, feeStrategyFactory, new BusinessClock(straddling),
+                Optional.empty(), Optional.empty());
+
+        Transaction transaction = new Transaction();
+        transaction.setAmount(new BigDecimal("500"));
+        transaction.setScheduleDate(TODAY);
+
+        Mockito.when(repository.save(any(Transaction.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Transaction saved = service.save(transaction);
+
+        assertEquals(TODAY, saved.getCreationDate());
+        assertEquals(0, new BigDecimal("18.00").compareTo(saved.getFee()));
+    }
+
+    @Test
+    void shouldFallThroughToArchive_WhenTransactionIsNotInHotTable() {
+        TransactionArchiveRepository archive = Mockito.mock(TransactionArchiveRepository.class);
+        service = new TransactionService(repository, feeStrategyFactory, frozenAt(TODAY), Optional.of(archive),
+                Optional.empty());
+
+        Transaction transaction = new Transaction(9L, "123", "456", TODAY.minusDays(100),
+                TODAY.minusDays(95), new BigDecimal("100"), BigDecimal.ZERO, null, null);
+        Mockito.when(repository.findById(9L)).thenReturn(Optional.empty());
+        Mockito.when(archive.findById(9L))
+                .thenReturn(Optional.of(ArchivedTransaction.from(transaction, Instant.EPOCH)));
+
+        assertEquals(Optional.of(transaction), service.findById(9L));
+    }
+
+    @Test
+    void shouldRejectDelete_WhenTransactionIsMissingOrArchived() {
+        TransactionArchiveRepository archive = Mockito.mock(TransactionArchiveRepository.class);
+        service = new TransactionService(repository, feeStrategyFactory, frozenAt(TODAY), Optional.of(archive),
+                Optional.empty());
+        Mockito.when(repository.markDeleted(any(), any())).thenReturn(0);
+        Mockito.when(repository.markDeleted(Mockito.eq(7L), any())).thenReturn(1);
+        Mockito.when(archive.findVersionById(9L)).thenReturn(Optional.of(1L));
+
+        service.delete(7L);
+        assertThrows(TransactionNotFoundException.class, () -> service.delete(8L));
+        assertThrows(TransactionConflictException.class, () -> service.delete(9L));
+    }
+
+    @Test
+    void shouldRejectTransaction_WhenVelocityLimitIsExceeded() {
+        BusinessClock clock = frozenAt(TODAY);
+        VelocityLimiter limiter = new VelocityLimiter(repository, clock, 2, BigDecimal.ZERO,
+                0, BigDecimal.ZERO, 0, BigDecimal.ZERO);
+        service = new TransactionService(repository, feeStrategyFactory, clock, Optional.empty(), Optional.of(limiter));
+        Mockito.when(repository.save(any(Transaction.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.save(new Transaction(null, "123", "456", null, TODAY, new BigDecimal("500"), null, null, null));
+        service.save(new Transaction(null, "123", "456", null, TODAY, new BigDecimal("500"), null, null, null));
+
+        assertThrows(VelocityLimitExceededException.class, () ->
+                service.save(new Transaction(null, "123", "456", null, TODAY, new BigDecimal("500"), null, null, null)));
+        assertEquals(2, limiter.usage("123", VelocityLimiter.Window.MINUTE).count());
+    }
+
+    @Test
+    void shouldReleaseVelocityPermit_WhenSaveFails() {
+        BusinessClock clock = frozenAt(TODAY);
+        VelocityLimiter limiter = new VelocityLimiter(repository, clock, 1, BigDecimal.ZERO,
+                0, BigDecimal.ZERO, 0, BigDecimal.ZERO);
+        service = new TransactionService(repository, feeStrategyFactory, clock, Optional.empty(), Optional.of(limiter));
+        Mockito.when(repository.save(any(Transaction.class)))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Transaction transaction = new Transaction(null, "123", "456", null, TODAY, new BigDecimal("500"), null, null, null);
+        assertThrows(IllegalStateException.class, () -> service.save(transaction));
+
+        service.save(transaction);
+        assertEquals(1, limiter.usage("123", VelocityLimiter.Window.MINUTE).count());
+    }
+
+    private static BusinessClock frozenAt(LocalDate date) {
+        return new BusinessClock(Clock.fixed(date.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC));
+    }
 }
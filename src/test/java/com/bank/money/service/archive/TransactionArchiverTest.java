@@ -0,0 +1,158 @@
+package com.bank.money.service.archive;
+
+import com.bank.money.domain.ArchivedTransaction;
+import com.bank.money.domain.Transaction;
+import com.bank.money.dto.TransactionResponseDTO;
+import com.bank.money.repository.TransactionArchiveRepository;
+import com.bank.money.repository.TransactionRepository;
+import com.bank.money.service.TransactionService;
+import com.bank.money.service.clock.BusinessClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest(properties = {
+        "money.archive.retention-days=30",
+        "money.archive.batch-size=2",
+        "money.archive.batch-pause=0ms"
+})
+class TransactionArchiverTest {
+
+    @Autowired
+    private TransactionArchiver archiver;
+
+    @Autowired
+    private TransactionRepository repository;
+
+    @Autowired
+    private TransactionArchiveRepository archiveRepository;
+
+    @Autowired
+    private TransactionService service;
+
+    @Autowired
+    private BusinessClock businessClock;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanup() {
+        repository.deleteAll();
+        archiveRepository.deleteAll();
+    }
+
+    @Test
+    void shouldMoveTransactionsPastRetentionHorizonInBatches() {
+        LocalDate today = businessClock.today();
+        for (int i = 0; i < 5; i++) {
+            persist(today.minusDays(31 + i));
+        }
+        Transaction recent = persist(today.minusDays(30));
+
+        long archived = archiver.archiveDueTransactions();
+
+        assertThat(archived).isEqualTo(5);
+        assertThat(repository.findAll()).extracting(Transaction::getId).containsExactly(recent.getId());
+        assertThat(archiveRepository.count()).isEqualTo(5);
+        assertThat(archiveRepository.countByArchivePartition(
+                ArchivedTransaction.partitionOf(today.minusDays(31)))).isPositive();
+    }
+
+    @Test
+    void shouldFallThroughToArchiveOnReads() {
+        LocalDate today = businessClock.today();
+        Transaction old = persist(today.minusDays(60));
+        Transaction recent = persist(today);
+
+        archiver.archiveDueTransactions();
+
+        assertThat(repository.existsById(old.getId())).isFalse();
+        assertThat(service.findById(old.getId())).isPresent();
+        assertThat(service.findResponseById(old.getId()))
+                .map(TransactionResponseDTO::scheduleDate).contains(today.minusDays(60));
+        assertThat(service.findAllResponses()).extracting(TransactionResponseDTO::id)
+                .containsExactly(old.getId(), recent.getId());
+    }
+
+    @Test
+    void shouldFinishBatchLeftInBothTablesByFailedDelete() {
+        LocalDate today = businessClock.today();
+        Transaction old = persist(today.minusDays(60));
+        Transaction recent = persist(today);
+        archiveRepository.save(ArchivedTransaction.from(old, businessClock.instant()));
+
+        assertThat(service.findAllResponses()).extracting(TransactionResponseDTO::id)
+                .containsExactly(old.getId(), recent.getId());
+        assertThat(service.findResponsesAfter(0L, 10)).extracting(TransactionResponseDTO::id)
+                .containsExactly(old.getId(), recent.getId());
+
+        assertThat(archiver.archiveDueTransactions()).isEqualTo(1);
+
+        assertThat(repository.existsById(old.getId())).isFalse();
+        assertThat(archiveRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepTransactionsUpdatedOrDeletedWhileBeingArchived() {
+        LocalDate today = businessClock.today();
+        Transaction updated = persist(today.minusDays(40));
+        Transaction deleted = persist(today.minusDays(41));
+        Transaction untouched = persist(today.minusDays(42));
+        long tombstones = repository.countDeleted();
+
+        // Another request commits an update and a delete while the copies are being written
+        TransactionArchiveRepository racingArchive = mock(TransactionArchiveRepository.class, delegatesTo(archiveRepository));
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> {
+                Transaction current = repository.findById(updated.getId()).orElseThrow();
+                current.setAmount(new BigDecimal("250"));
+                repository.save(current);
+                repository.markDeleted(deleted.getId(), businessClock.instant());
+            }).join();
+            return archiveRepository.saveAll(invocation.getArgument(0));
+        }).when(racingArchive).saveAll(anyList());
+        TransactionArchiver racingArchiver = new TransactionArchiver(repository, racingArchive, businessClock,
+                transactionManager, 30, 10, Duration.ZERO, 10);
+
+        assertThat(racingArchiver.archiveDueTransactions()).isEqualTo(1);
+
+        assertThat(archiveRepository.findIdsByIdIn(List.of(updated.getId(), deleted.getId(), untouched.getId())))
+                .containsExactly(untouched.getId());
+        Transaction hot = repository.findById(updated.getId()).orElseThrow();
+        assertThat(hot.getAmount()).isEqualByComparingTo("250");
+        assertThat(service.findById(deleted.getId())).isEmpty();
+        assertThat(repository.countDeleted()).isEqualTo(tombstones + 1);
+
+        // The update is archived with its new values by the next run; the deleted one stays deleted
+        assertThat(archiver.archiveDueTransactions()).isEqualTo(1);
+        assertThat(service.findResponseById(updated.getId()))
+                .hasValueSatisfying(response -> assertThat(response.amount()).isEqualByComparingTo("250"));
+        assertThat(service.findById(deleted.getId())).isEmpty();
+    }
+
+    private Transaction persist(LocalDate scheduleDate) {
+        Transaction transaction = new Transaction();
+        transaction.setAccountOrigin("123");
+        transaction.setAccountDestination("456");
+        transaction.setCreationDate(scheduleDate);
+        transaction.setScheduleDate(scheduleDate);
+        transaction.setAmount(new BigDecimal("100"));
+        transaction.setFee(BigDecimal.ZERO);
+        return repository.save(transaction);
+    }
+}
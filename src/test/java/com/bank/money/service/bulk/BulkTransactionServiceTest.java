@@ -0,0 +1,153 @@
+package com.bank.money.service.bulk;
+
+import com.bank.money.domain.Transaction;
+import com.bank.money.dto.BulkOperationResultDTO;
+import com.bank.money.repository.TransactionRepository;
+import com.bank.money.service.clock.BusinessClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(properties = "money.bulk.chunk-size=2")
+class BulkTransactionServiceTest {
+
+    @Autowired
+    private BulkTransactionService service;
+
+    @Autowired
+    private TransactionRepository repository;
+
+    @Autowired
+    private BusinessClock businessClock;
+
+    @SpyBean
+    private BulkChunkProcessor chunkProcessor;
+
+    @AfterEach
+    void cleanup() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void shouldShiftPendingTransactionsAndRecalculateFees() {
+        LocalDate today = businessClock.today();
+        for (int i = 1; i <= 5; i++) {
+            persist("123", today.plusDays(i));
+        }
+        Transaction past = persist("123", today.minusDays(1));
+        Transaction other = persist("456", today.plusDays(1));
+
+        BulkOperationResultDTO result = service.shift("123", today.minusDays(5), today.plusDays(5), 10);
+
+        assertThat(result.from()).isEqualTo(today);
+        assertThat(result.matched()).isEqualTo(5);
+        assertThat(result.affected()).isEqualTo(5);
+        assertThat(result.chunks()).isEqualTo(3);
+        assertThat(repository.findByOriginInDateRange("123", today.plusDays(11), today.plusDays(15))).hasSize(5)
+                .allSatisfy(t -> assertThat(t.fee()).isEqualByComparingTo("246.00")); // 8.2% of 3000
+        assertThat(repository.findById(past.getId()).orElseThrow().getScheduleDate()).isEqualTo(today.minusDays(1));
+        assertThat(repository.findById(other.getId()).orElseThrow().getScheduleDate()).isEqualTo(today.plusDays(1));
+    }
+
+    @Test
+    void shouldSkipTransactionsThatWouldMoveIntoThePast() {
+        LocalDate today = businessClock.today();
+        persist("123", today.plusDays(1));
+        persist("123", today.plusDays(3));
+
+        BulkOperationResultDTO result = service.shift("123", today, today.plusDays(3), -2);
+
+        assertThat(result.affected()).isEqualTo(1);
+        assertThat(result.skipped()).isEqualTo(1);
+        assertThat(repository.findByOriginInDateRange("123", today, today.plusDays(3)))
+                .extracting(t -> t.scheduleDate())
+                .containsExactlyInAnyOrder(today.plusDays(1), today.plusDays(1));
+    }
+
+    @Test
+    void shouldMoveAllTransactionsToOneDate() {
+        LocalDate today = businessClock.today();
+        persist("123", today.plusDays(2));
+        persist("123", today.plusDays(4));
+
+        BulkOperationResultDTO result = service.moveTo("123", today, today.plusDays(10), today.plusDays(30));
+
+        assertThat(result.affected()).isEqualTo(2);
+        assertThat(repository.findByOriginInDateRange("123", today.plusDays(30), today.plusDays(30))).hasSize(2);
+    }
+
+    @Test
+    void shouldRetryChunkThatConflictedWithConcurrentUpdate() {
+        LocalDate today = businessClock.today();
+        for (int i = 1; i <= 4; i++) {
+            persist("123", today.plusDays(i));
+        }
+        doThrow(new OptimisticLockingFailureException("stale")).doCallRealMethod()
+                .when(chunkProcessor).reschedule(anyList(), any(), any(), any());
+
+        BulkOperationResultDTO result = service.shift("123", today, today.plusDays(4), 10);
+
+        assertThat(result.affected()).isEqualTo(4);
+        assertThat(result.skipped()).isZero();
+    }
+
+    @Test
+    void shouldSkipChunkThatConflictsTwiceAndContinue() {
+        LocalDate today = businessClock.today();
+        for (int i = 1; i <= 4; i++) {
+            persist("123", today.plusDays(i));
+        }
+        doThrow(new OptimisticLockingFailureException("stale"))
+                .doThrow(new OptimisticLockingFailureException("stale"))
+                .doCallRealMethod()
+                .when(chunkProcessor).reschedule(anyList(), any(), any(), any());
+
+        BulkOperationResultDTO result = service.shift("123", today, today.plusDays(4), 10);
+
+        assertThat(result.matched()).isEqualTo(4);
+        assertThat(result.affected()).isEqualTo(2);
+        assertThat(result.skipped()).isEqualTo(2);
+        assertThat(result.chunks()).isEqualTo(2);
+        assertThat(repository.findByOriginInDateRange("123", today.plusDays(1), today.plusDays(2))).hasSize(2);
+    }
+
+    @Test
+    void shouldCancelPendingTransactionsInRange() {
+        LocalDate today = businessClock.today();
+        for (int i = 0; i < 5; i++) {
+            persist("123", today.plusDays(i));
+        }
+        Transaction later = persist("123", today.plusDays(20));
+        Transaction past = persist("123", today.minusDays(1));
+        Transaction other = persist("456", today);
+
+        BulkOperationResultDTO result = service.cancel("123", today.minusDays(10), today.plusDays(10));
+
+        assertThat(result.matched()).isEqualTo(5);
+        assertThat(result.affected()).isEqualTo(5);
+        assertThat(repository.findAll()).extracting(Transaction::getId)
+                .containsExactlyInAnyOrder(later.getId(), past.getId(), other.getId());
+    }
+
+    private Transaction persist(String accountOrigin, LocalDate scheduleDate) {
+        Transaction transaction = new Transaction();
+        transaction.setAccountOrigin(accountOrigin);
+        transaction.setAccountDestination("999");
+        transaction.setAmount(new BigDecimal("3000"));
+        transaction.setScheduleDate(scheduleDate);
+        transaction.setCreationDate(businessClock.today());
+        transaction.setFee(BigDecimal.ZERO);
+        return repository.save(transaction);
+    }
+}
@@ -0,0 +1,69 @@
+package com.bank.money.service.clock;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class BusinessClockTest {
+
+    private static final ZoneId LISBON = ZoneId.of("Europe/Lisbon");
+    private static final ZoneId SAO_PAULO = ZoneId.of("America/Sao_Paulo");
+
+    @Test
+    void shouldRollOverAtMidnightInBusinessZone() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-21T23:59:59Z"), LISBON);
+        BusinessClock businessClock = new BusinessClock(clock);
+
+        assertEquals(LocalDate.of(2026, 1, 21), businessClock.today());
+
+        clock.now = Instant.parse("2026-01-22T00:00:00Z");
+        assertEquals(LocalDate.of(2026, 1, 22), businessClock.today());
+    }
+
+    @Test
+    void shouldUseConfiguredZoneRatherThanUtc() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-22T01:00:00Z"), SAO_PAULO);
+
+        assertEquals(LocalDate.of(2026, 1, 21), new BusinessClock(clock).today());
+    }
+
+    @Test
+    void shouldFollowClockMovedBackwards() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-22T10:00:00Z"), LISBON);
+        BusinessClock businessClock = new BusinessClock(clock);
+        assertEquals(LocalDate.of(2026, 1, 22), businessClock.today());
+
+        clock.now = Instant.parse("2026-01-21T10:00:00Z");
+        assertEquals(LocalDate.of(2026, 1, 21), businessClock.today());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+        private final ZoneId zone;
+
+        private MutableClock(Instant now, ZoneId zone) {
+            this.now = now;
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(now, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.bank.money.service.profiling;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.bank.money.dto.RecordingStatusDTO;
+import com.bank.money.exception.RecordingStateException;
+import com.bank.money.repository.TransactionRepository;
+import com.bank.money.repository.memory.InMemoryTransactionRepository;
+import com.bank.money.service.clock.BusinessClock;
+import com.bank.money.service.strategy.FeeStrategyFactory;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class ProfilingServiceTest {
+
+    @TempDir
+    Path outputDirectory;
+
+    private ProfilingService service;
+
+    @BeforeEach
+    void setup() {
+        service = new ProfilingService(new BusinessClock(Clock.systemUTC()), outputDirectory.toString(),
+                Duration.ofMinutes(5), DataSize.ofMegabytes(10), Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    void shouldRecordApplicationEvents() throws IOException {
+        service.start(ProfilingService.Settings.DEFAULT, Duration.ofMinutes(1));
+
+        new FeeStrategyFactory().getStrategy(new BigDecimal("100.00"), 0);
+        BatchJobEvent.start("test-job").finish(42);
+        Object repository = new RepositoryEventPostProcessor()
+                .postProcessAfterInitialization(new InMemoryTransactionRepository(""), "inMemoryTransactionRepository");
+        assertInstanceOf(InMemoryTransactionRepository.class, repository);
+        ((TransactionRepository) repository).count();
+
+        RecordingStatusDTO dump = service.dump();
+        assertEquals("RUNNING", dump.state());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(Path.of(dump.file()));
+        Set<String> types = events.stream().map(e -> e.getEventType().getName()).collect(Collectors.toSet());
+        assertTrue(types.containsAll(Set.of("com.bank.money.FeeStrategySelected", "com.bank.money.BatchJob",
+                "com.bank.money.RepositoryCall")), types.toString());
+
+        RecordedEvent fee = find(events, "com.bank.money.FeeStrategySelected");
+        assertEquals("SameDayFeeStrategy", fee.getString("strategy"));
+        RecordedEvent job = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.bank.money.BatchJob"))
+                .filter(e -> e.getString("job").equals("test-job"))
+                .findFirst().orElseThrow();
+        assertEquals(42, job.getLong("items"));
+        RecordedEvent call = find(events, "com.bank.money.RepositoryCall");
+        assertEquals("inMemoryTransactionRepository", call.getString("repository"));
+        assertEquals("count", call.getString("method"));
+
+        RecordingStatusDTO stopped = service.stop();
+        assertEquals("CLOSED", stopped.state());
+        assertTrue(Files.size(Path.of(stopped.file())) > 0);
+    }
+
+    @Test
+    void shouldCapDurationAndAllowOneRecordingAtATime() {
+        RecordingStatusDTO started = service.start(ProfilingService.Settings.PROFILE, Duration.ofHours(1));
+
+        assertEquals(Duration.ofMinutes(5), started.duration());
+        assertEquals(DataSize.ofMegabytes(10).toBytes(), started.maxSize());
+        assertThrows(RecordingStateException.class, () -> service.start(ProfilingService.Settings.DEFAULT, null));
+
+        service.stop();
+        assertEquals("RUNNING", service.start(ProfilingService.Settings.DEFAULT, null).state());
+    }
+
+    @Test
+    void shouldRejectOperationsWithoutRecording() {
+        assertThrows(RecordingStateException.class, service::status);
+        assertThrows(RecordingStateException.class, service::dump);
+        assertThrows(RecordingStateException.class, service::stop);
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String type) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(type)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,136 @@
+package com.bank.money.service.purge;
+
+import com.bank.money.domain.Transaction;
+import com.bank.money.dto.PurgeStatusDTO;
+import com.bank.money.dto.TransactionResponseDTO;
+import com.bank.money.dto.VersionStampDTO;
+import com.bank.money.exception.PurgeInProgressException;
+import com.bank.money.repository.TransactionRepository;
+import com.bank.money.service.TransactionService;
+import com.bank.money.service.clock.BusinessClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "money.purge.retention=P1D",
+        "money.purge.batch-size=2",
+        "money.purge.batch-pause=0ms"
+})
+class TransactionPurgerTest {
+
+    private static final Instant END_OF_TIME = Instant.parse("9999-01-01T00:00:00Z");
+
+    @Autowired
+    private TransactionPurger purger;
+
+    @Autowired
+    private TransactionRepository repository;
+
+    @Autowired
+    private TransactionService service;
+
+    @Autowired
+    private BusinessClock businessClock;
+
+    @BeforeEach
+    @AfterEach
+    void cleanup() {
+        repository.deleteAll();
+        repository.purgeDeletedBefore(END_OF_TIME, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void shouldHideDeletedTransactionsFromAllReads() {
+        Transaction deleted = persist(businessClock.today());
+        Transaction kept = persist(businessClock.today());
+        VersionStampDTO before = service.findVersionStamp();
+
+        service.delete(deleted.getId());
+
+        assertThat(service.findById(deleted.getId())).isEmpty();
+        assertThat(service.findVersionById(deleted.getId())).isEmpty();
+        assertThat(service.findAllResponses()).extracting(TransactionResponseDTO::id).containsExactly(kept.getId());
+        assertThat(repository.countDueOnOrBefore(businessClock.today())).isEqualTo(1);
+        assertThat(service.findVersionStamp()).isNotEqualTo(before);
+        assertThat(repository.countDeleted()).isEqualTo(1);
+        assertThat(repository.markDeleted(deleted.getId(), businessClock.instant())).isZero();
+    }
+
+    @Test
+    void shouldPurgeTombstonesPastRetentionInBatches() {
+        Instant old = businessClock.instant().minus(Duration.ofDays(2));
+        for (int i = 0; i < 5; i++) {
+            repository.markDeleted(persist(businessClock.today()).getId(), old);
+        }
+        service.delete(persist(businessClock.today()).getId());
+
+        assertThat(purger.status().due()).isEqualTo(5);
+
+        long purged = purger.purgeDeletedTransactions();
+
+        PurgeStatusDTO status = purger.status();
+        assertThat(purged).isEqualTo(5);
+        assertThat(status.backlog()).isEqualTo(1);
+        assertThat(status.due()).isZero();
+        assertThat(status.lastRunPurged()).isEqualTo(5);
+        assertThat(status.lastRunAt()).isNotNull();
+    }
+
+    @Test
+    void shouldRunOnePurgeAtATime() throws Exception {
+        TransactionRepository slow = Mockito.mock(TransactionRepository.class);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(slow.purgeDeletedBefore(any(), anyInt())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 0;
+        });
+        TransactionPurger single = new TransactionPurger(slow, businessClock, Duration.ofDays(1), 2, Duration.ZERO, 10);
+
+        single.startPurge();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(single.status().running()).isTrue();
+        assertThatThrownBy(single::startPurge).isInstanceOf(PurgeInProgressException.class);
+        assertThatThrownBy(single::purgeDeletedTransactions).isInstanceOf(PurgeInProgressException.class);
+        single.run();
+
+        release.countDown();
+        for (int i = 0; i < 500 && single.status().running(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(single.status().running()).isFalse();
+        assertThat(single.status().lastRunAt()).isNotNull();
+        verify(slow).purgeDeletedBefore(any(), anyInt());
+    }
+
+    private Transaction persist(LocalDate scheduleDate) {
+        Transaction transaction = new Transaction();
+        transaction.setAccountOrigin("123");
+        transaction.setAccountDestination("456");
+        transaction.setCreationDate(scheduleDate);
+        transaction.setScheduleDate(scheduleDate);
+        transaction.setAmount(new BigDecimal("100"));
+        transaction.setFee(BigDecimal.ZERO);
+        return repository.save(transaction);
+    }
+}
@@ -0,0 +1,178 @@
+package com.bank.money.service.settlement;
+
+import com.bank.money.domain.Transaction;
+import com.bank.money.dto.SettlementSummaryDTO;
+import com.bank.money.dto.TransactionSummaryDTO;
+import com.bank.money.exception.SettlementOverflowException;
+import com.bank.money.repository.TransactionArchiveRepository;
+import com.bank.money.repository.memory.InMemoryTransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SettlementServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 21);
+
+    @TempDir
+    Path outputDirectory;
+
+    private InMemoryTransactionRepository repository;
+    private SettlementService service;
+
+    @BeforeEach
+    void setup() {
+        repository = new InMemoryTransactionRepository("");
+        service = new SettlementService(repository, Optional.empty(), outputDirectory.toString(), 2, 8);
+    }
+
+    @Test
+    void shouldNetTransfersPerAccountPair() throws IOException {
+        save("A", "B", "100.00", "3.00", TODAY);
+        save("B", "A", "30.00", "1.50", TODAY);
+        save("A", "C", "50.00", "0", TODAY);
+        save("C", "A", "50.00", "0", TODAY);
+        save("A", "B", "999.00", "9.99", TODAY.plusDays(1));
+
+        SettlementSummaryDTO summary = service.settle(TODAY);
+
+        assertThat(summary.transfers()).isEqualTo(4);
+        assertThat(summary.accounts()).isEqualTo(3);
+        assertThat(summary.positions()).isEqualTo(2);
+        assertThat(summary.grossAmount()).isEqualByComparingTo("230.00");
+        assertThat(summary.netAmount()).isEqualByComparingTo("70.00");
+        assertThat(summary.fees()).isEqualByComparingTo("4.50");
+
+        List<String> lines = readSettlementFile(Path.of(summary.file()));
+        assertThat(lines.get(0)).isEqualTo(SettlementService.HEADER);
+        assertThat(lines.subList(1, lines.size())).containsExactlyInAnyOrder(
+                "A,B,70.0000,2,130.0000,4.5000",
+                "A,C,0.0000,2,100.0000,0.0000");
+    }
+
+    @Test
+    void shouldWriteEmptySettlementForDayWithoutTransfers() throws IOException {
+        SettlementSummaryDTO summary = service.settle(TODAY);
+
+        assertThat(summary.transfers()).isZero();
+        assertThat(summary.positions()).isZero();
+        assertThat(readSettlementFile(Path.of(summary.file()))).containsExactly(SettlementService.HEADER);
+    }
+
+    @Test
+    void shouldIncludeArchivedTransfers() throws IOException {
+        save("A", "B", "100.00", "3.00", TODAY);
+        TransactionArchiveRepository archiveRepository = mock(TransactionArchiveRepository.class);
+        when(archiveRepository.streamByScheduleDate(202601, TODAY)).thenReturn(Stream.of(
+                new TransactionSummaryDTO(7L, "B", "A", TODAY, new BigDecimal("30.00"), new BigDecimal("1.50"))));
+        service = new SettlementService(repository, Optional.of(archiveRepository), outputDirectory.toString(), 2, 8);
+
+        SettlementSummaryDTO summary = service.settle(TODAY);
+
+        assertThat(summary.transfers()).isEqualTo(2);
+        assertThat(summary.netAmount()).isEqualByComparingTo("70.00");
+        assertThat(readSettlementFile(Path.of(summary.file()))).containsExactly(
+                SettlementService.HEADER, "A,B,70.0000,2,130.0000,4.5000");
+    }
+
+    @Test
+    void shouldRejectDayWhoseTotalsOverflow() {
+        save("A", "B", "900000000000000.00", "0", TODAY);
+        save("C", "D", "900000000000000.00", "0", TODAY);
+
+        assertThatThrownBy(() -> service.settle(TODAY))
+                .isInstanceOf(SettlementOverflowException.class)
+                .hasMessageContaining(TODAY.toString());
+    }
+
+    @Test
+    void shouldRejectAmountBeyondAccumulatorRange() {
+        save("A", "B", "1000000000000000.00", "0", TODAY);
+
+        assertThatThrownBy(() -> service.settle(TODAY))
+                .isInstanceOf(SettlementOverflowException.class);
+    }
+
+    @Test
+    void shouldQuoteAccountNumbersPerRfc4180() throws IOException {
+        save("A,1", "B \"x\"", "10.00", "0", TODAY);
+
+        SettlementSummaryDTO summary = service.settle(TODAY);
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(Path.of(summary.file())))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(
+                    SettlementService.HEADER + "\r\n\"A,1\",\"B \"\"x\"\"\",10.0000,1,10.0000,0.0000\r\n");
+        }
+    }
+
+    @Test
+    void shouldMatchSequentialNettingOnRandomDay() {
+        Random random = new Random(42);
+        List<TransactionSummaryDTO> transfers = new ArrayList<>();
+        for (long id = 1; id <= 100_000; id++) {
+            String origin = "ACC" + random.nextInt(300);
+            String destination = "ACC" + random.nextInt(300);
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(1_000_000), 2);
+            BigDecimal fee = amount.multiply(new BigDecimal("0.047"));
+            transfers.add(new TransactionSummaryDTO(id, origin, destination, TODAY, amount, fee));
+        }
+
+        Map<String, BigDecimal> expected = new HashMap<>();
+        BigDecimal expectedFees = BigDecimal.ZERO;
+        for (TransactionSummaryDTO transfer : transfers) {
+            expected.merge(transfer.accountOrigin() + ">" + transfer.accountDestination(), transfer.amount(), BigDecimal::add);
+            expected.merge(transfer.accountDestination() + ">" + transfer.accountOrigin(), transfer.amount().negate(), BigDecimal::add);
+            expectedFees = expectedFees.add(transfer.fee().setScale(4, RoundingMode.HALF_EVEN));
+        }
+
+        NettingEngine.NettingResult result = new NettingEngine(ForkJoinPool.commonPool(), 64).net(transfers.stream());
+
+        Map<String, BigDecimal> actual = new HashMap<>();
+        result.forEachPosition(position -> actual.put(position.payer() + ">" + position.payee(), position.netAmount()));
+        assertThat(result.transfers()).isEqualTo(transfers.size());
+        assertThat(result.fees()).isEqualByComparingTo(expectedFees);
+        assertThat(actual).hasSize(result.pairs());
+        actual.forEach((pair, net) -> {
+            String[] accounts = pair.split(">");
+            BigDecimal owed = accounts[0].equals(accounts[1]) ? BigDecimal.ZERO : expected.get(pair);
+            assertThat(net).as(pair).isEqualByComparingTo(owed);
+        });
+    }
+
+    private void save(String origin, String destination, String amount, String fee, LocalDate scheduleDate) {
+        repository.save(new Transaction(null, origin, destination, TODAY, scheduleDate,
+                new BigDecimal(amount), new BigDecimal(fee), null, null));
+    }
+
+    private static List<String> readSettlementFile(Path file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.bank.money.service.simulation;
+
+import com.bank.money.domain.Transaction;
+import com.bank.money.dto.FeeSimulationResultDTO;
+import com.bank.money.exception.FeeSimulationOverflowException;
+import com.bank.money.repository.memory.InMemoryTransactionRepository;
+import com.bank.money.service.strategy.ConfigurableFeeStrategy;
+import com.bank.money.service.strategy.FeeStrategyFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeeSimulatorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 21);
+
+    private final FeeStrategyFactory feeStrategyFactory = new FeeStrategyFactory();
+    private InMemoryTransactionRepository repository;
+    private FeeSimulator simulator;
+
+    @BeforeEach
+    void setup() {
+        repository = new InMemoryTransactionRepository("");
+        simulator = new FeeSimulator(repository, Optional.empty(), feeStrategyFactory, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulator.shutdown();
+    }
+
+    @Test
+    void shouldCompareCandidatesWithChargedFeesPerBucket() {
+        save("100.00", TODAY, TODAY);
+        save("200.00", TODAY, TODAY);
+        save("5000.00", TODAY, TODAY.plusDays(15));
+        save("500.00", TODAY, TODAY.plusDays(20));
+
+        FeeRuleSet flat = new FeeRuleSet("flat", List.of(
+                new ConfigurableFeeStrategy(null, null, null, null, BigDecimal.ZERO, new BigDecimal("5.00"))));
+        FeeRuleSet sameDayOnly = new FeeRuleSet("same-day-only", List.of(
+                new ConfigurableFeeStrategy(null, null, 0L, 0L, new BigDecimal("0.10"), null)));
+
+        FeeSimulationResultDTO result = simulator.simulate(TODAY, TODAY.plusDays(20), List.of(flat, sameDayOnly));
+
+        BigDecimal charged = fee("100.00", 0).add(fee("200.00", 0)).add(fee("5000.00", 15));
+        assertThat(result.transactions()).isEqualTo(4);
+        assertThat(result.baselineRevenue()).isEqualByComparingTo(charged);
+
+        FeeSimulationResultDTO.Candidate flatResult = result.candidates().get(0);
+        assertThat(flatResult.name()).isEqualTo("flat");
+        assertThat(flatResult.revenue()).isEqualByComparingTo("20.00");
+        assertThat(flatResult.delta()).isEqualByComparingTo(new BigDecimal("20.00").subtract(charged));
+        assertThat(flatResult.buckets()).extracting(FeeSimulationResultDTO.Bucket::bucket)
+                .containsExactly("MediumTermFeeStrategy", "NoFeeStrategy", "SameDayFeeStrategy");
+        FeeSimulationResultDTO.Bucket noFee = flatResult.buckets().get(1);
+        assertThat(noFee.transactions()).isEqualTo(1);
+        assertThat(noFee.baselineRevenue()).isZero();
+        assertThat(noFee.delta()).isEqualByComparingTo("5.00");
+
+        FeeSimulationResultDTO.Candidate sameDayResult = result.candidates().get(1);
+        assertThat(sameDayResult.revenue()).isEqualByComparingTo("30.00");
+        assertThat(sameDayResult.buckets().get(2).revenue()).isEqualByComparingTo("30.00");
+        assertThat(sameDayResult.deltaHistogram()).extracting(FeeSimulationResultDTO.HistogramBin::transactions)
+                .containsExactly(1L, 0L, 0L, 0L, 1L, 0L, 1L, 1L, 0L);
+    }
+
+    @Test
+    void shouldRejectFeesTooLargeToSum() {
+        save("100.00", TODAY, TODAY);
+        FeeRuleSet huge = new FeeRuleSet("huge", List.of(
+                new ConfigurableFeeStrategy(null, null, null, null, BigDecimal.ZERO, new BigDecimal("1e20"))));
+
+        assertThatThrownBy(() -> simulator.simulate(TODAY, TODAY, List.of(huge)))
+                .isInstanceOf(FeeSimulationOverflowException.class);
+    }
+
+    @Test
+    void shouldIgnoreTransactionsOutsideRange() {
+        save("100.00", TODAY, TODAY.minusDays(1));
+        save("100.00", TODAY, TODAY.plusDays(1));
+
+        FeeSimulationResultDTO result = simulator.simulate(TODAY, TODAY, List.of(new FeeRuleSet("none", List.of())));
+
+        assertThat(result.transactions()).isZero();
+        assertThat(result.baselineRevenue()).isZero();
+        assertThat(result.candidates().get(0).buckets()).isEmpty();
+        assertThat(result.candidates().get(0).deltaHistogram()).hasSize(9)
+                .allSatisfy(bin -> assertThat(bin.transactions()).isZero());
+    }
+
+    @Test
+    void shouldMatchSequentialPricingAcrossChunks() {
+        Random random = new Random(42);
+        for (int i = 0; i < 3 * FeeSimulator.CHUNK_SIZE + 17; i++) {
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(300_000), 2);
+            save(amount.toPlainString(), TODAY, TODAY.plusDays(random.nextInt(60)));
+        }
+        FeeRuleSet candidate = new FeeRuleSet("tiered", List.of(
+                new ConfigurableFeeStrategy(null, new BigDecimal("1000"), null, 10L, new BigDecimal("0.025"), BigDecimal.ONE),
+                new ConfigurableFeeStrategy(new BigDecimal("1000"), null, 11L, null, new BigDecimal("0.015"), null)));
+
+        FeeSimulationResultDTO result = simulator.simulate(TODAY, TODAY.plusDays(60), List.of(candidate));
+
+        Map<String, BigDecimal> expectedDelta = new HashMap<>();
+        BigDecimal expectedRevenue = BigDecimal.ZERO;
+        for (Transaction transaction : repository.findAll()) {
+            long days = transaction.getScheduleDate().toEpochDay() - transaction.getCreationDate().toEpochDay();
+            BigDecimal fee = candidate.calculateFee(transaction.getAmount(), days).setScale(4, RoundingMode.HALF_EVEN);
+            expectedRevenue = expectedRevenue.add(fee);
+            expectedDelta.merge(feeStrategyFactory.getStrategy(transaction.getAmount(), days).getClass().getSimpleName(),
+                    fee.subtract(transaction.getFee().setScale(4, RoundingMode.HALF_EVEN)), BigDecimal::add);
+        }
+
+        FeeSimulationResultDTO.Candidate actual = result.candidates().get(0);
+        assertThat(result.transactions()).isEqualTo(repository.count());
+        assertThat(actual.revenue()).isEqualByComparingTo(expectedRevenue);
+        assertThat(actual.buckets()).hasSize(expectedDelta.size()).allSatisfy(bucket ->
+                assertThat(bucket.delta()).as(bucket.bucket()).isEqualByComparingTo(expectedDelta.get(bucket.bucket())));
+        assertThat(actual.deltaHistogram().stream().mapToLong(FeeSimulationResultDTO.HistogramBin::transactions).sum())
+                .isEqualTo(result.transactions());
+    }
+
+    private void save(String amount, LocalDate creationDate, LocalDate scheduleDate) {
+        BigDecimal value = new BigDecimal(amount);
+        long days = scheduleDate.toEpochDay() - creationDate.toEpochDay();
+        repository.save(new Transaction(null, "A", "B", creationDate, scheduleDate, value,
+                feeStrategyFactory.getStrategy(value, days).calculateFee(value), null, null));
+    }
+
+    private BigDecimal fee(String amount, long days) {
+        BigDecimal value = new BigDecimal(amount);
+        return feeStrategyFactory.getStrategy(value, days).calculateFee(value);
+    }
+}
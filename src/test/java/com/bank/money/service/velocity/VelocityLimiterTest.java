@@ -0,0 +1,173 @@
+package com.bank.money.service.velocity;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.bank.money.dto.OriginTotalsDTO;
+import com.bank.money.exception.VelocityLimitExceededException;
+import com.bank.money.repository.TransactionRepository;
+import com.bank.money.service.clock.BusinessClock;
+import com.bank.money.service.velocity.VelocityLimiter.Window;
+
+class VelocityLimiterTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-21T10:00:00Z");
+
+    private TransactionRepository repository;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setup() {
+        repository = Mockito.mock(TransactionRepository.class);
+        clock = new MutableClock(NOW, ZoneOffset.UTC);
+    }
+
+    @Test
+    void shouldRejectOverCountLimitUntilWindowSlides() {
+        VelocityLimiter limiter = limiter(2, "0", 0, "0", 0, "0");
+
+        limiter.acquire("123", new BigDecimal("10"));
+        limiter.acquire("123", new BigDecimal("10"));
+        assertThrows(VelocityLimitExceededException.class, () -> limiter.acquire("123", new BigDecimal("10")));
+        limiter.acquire("456", new BigDecimal("10"));
+
+        clock.advance(Duration.ofSeconds(61));
+        limiter.acquire("123", new BigDecimal("10"));
+        assertEquals(1, limiter.usage("123", Window.MINUTE).count());
+        assertEquals(3, limiter.usage("123", Window.HOUR).count());
+    }
+
+    @Test
+    void shouldRejectOverAmountLimit() {
+        VelocityLimiter limiter = limiter(0, "0", 0, "1000", 0, "0");
+
+        limiter.acquire("123", new BigDecimal("600.50"));
+        assertThrows(VelocityLimitExceededException.class, () -> limiter.acquire("123", new BigDecimal("400")));
+        limiter.acquire("123", new BigDecimal("399.50"));
+
+        assertEquals(0, new BigDecimal("1000").compareTo(limiter.usage("123", Window.HOUR).amount()));
+    }
+
+    @Test
+    void shouldCapAmountsTooLargeForTheCounters() {
+        VelocityLimiter unlimited = limiter(2, "0", 0, "0", 0, "0");
+        BigDecimal huge = new BigDecimal("1e30");
+
+        unlimited.acquire("123", huge);
+        unlimited.acquire("123", huge);
+        assertEquals(2, unlimited.usage("123", Window.MINUTE).count());
+        assertTrue(unlimited.usage("123", Window.MINUTE).amount().signum() > 0);
+
+        VelocityLimiter limited = limiter(0, "0", 0, "1000", 0, "0");
+        assertThrows(VelocityLimitExceededException.class, () -> limited.acquire("123", huge));
+        assertEquals(0, limited.usage("123", Window.HOUR).count());
+    }
+
+    @Test
+    void shouldWarmUpDayWindowFromTransactionsCreatedToday() {
+        Mockito.when(repository.findCreationTotalsByOrigin(NOW.atZone(ZoneOffset.UTC).toLocalDate()))
+                .thenReturn(List.of(new OriginTotalsDTO("123", 5L, new BigDecimal("2500"))));
+        VelocityLimiter limiter = limiter(0, "0", 0, "0", 5, "0");
+
+        limiter.warmUp();
+
+        assertEquals(5, limiter.usage("123", Window.DAY).count());
+        assertEquals(0, limiter.usage("123", Window.MINUTE).count());
+        assertThrows(VelocityLimitExceededException.class, () -> limiter.acquire("123", BigDecimal.ONE));
+
+        // Warm-started transactions are placed at midnight and leave the day window 24 hours later.
+        clock.advance(Duration.ofHours(14).plusMinutes(1));
+        limiter.acquire("123", BigDecimal.ONE);
+    }
+
+    @Test
+    void shouldEvictIdleAccounts() {
+        VelocityLimiter limiter = limiter(0, "0", 0, "0", 0, "0");
+        limiter.acquire("123", BigDecimal.ONE);
+        clock.advance(Duration.ofHours(12));
+        limiter.acquire("456", BigDecimal.ONE);
+
+        clock.advance(Duration.ofHours(13));
+
+        assertEquals(1, limiter.evictIdleAccounts());
+        assertEquals(1, limiter.trackedAccounts());
+        assertEquals(0, limiter.usage("123", Window.DAY).count());
+        assertEquals(1, limiter.usage("456", Window.DAY).count());
+    }
+
+    @Test
+    void shouldNeverAdmitMoreThanLimitUnderContention() throws InterruptedException {
+        VelocityLimiter limiter = limiter(1_000, "0", 0, "0", 0, "0");
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 4_000; i++) {
+            executor.execute(() -> {
+                try {
+                    limiter.acquire("123", BigDecimal.ONE);
+                    admitted.incrementAndGet();
+                } catch (VelocityLimitExceededException e) {
+                    // expected once the limit is reached
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertTrue(admitted.get() <= 1_000);
+        assertEquals(admitted.get(), limiter.usage("123", Window.MINUTE).count());
+    }
+
+    private VelocityLimiter limiter(long minuteCount, String minuteAmount, long hourCount, String hourAmount,
+                                    long dayCount, String dayAmount) {
+        return new VelocityLimiter(repository, new BusinessClock(clock),
+                minuteCount, new BigDecimal(minuteAmount),
+                hourCount, new BigDecimal(hourAmount),
+                dayCount, new BigDecimal(dayAmount));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+        private final ZoneId zone;
+
+        private MutableClock(Instant now, ZoneId zone) {
+            this.now = now;
+            this.zone = zone;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(now, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}